@@ -0,0 +1,42 @@
+package com.example.productmanagement.api.config;
+
+import com.example.productmanagement.api.limit.AdaptiveConcurrencyLimiter;
+import com.example.productmanagement.api.limit.ConcurrencyLimitInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adaptive concurrency limiting for the product endpoints, enabled unless
+ * {@code products.concurrency-limit.enabled=false}
+ */
+@Configuration
+@ConditionalOnProperty(name = "products.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration implements WebMvcConfigurer {
+
+    private final int retryAfterSeconds;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitConfiguration(
+            @Value("${products.concurrency-limit.initial:20}") int initialLimit,
+            @Value("${products.concurrency-limit.min:4}") int minLimit,
+            @Value("${products.concurrency-limit.max:200}") int maxLimit,
+            @Value("${products.concurrency-limit.write-share:0.75}") double writeShare,
+            @Value("${products.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, writeShare);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter productConcurrencyLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(limiter, retryAfterSeconds));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.productmanagement.api.config;
+
+import com.example.productmanagement.api.controller.ProductFieldsAdvice;
+import com.example.productmanagement.products.model.Product;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON configuration for product responses
+ */
+@Configuration
+public class ProductJsonConfiguration {
+
+    /**
+     * Registers the product fields filter; responses not asking for fields serialize every property
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer productFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(Product.class, ProductFieldsAdvice.ProductFilterMixin.class)
+                .filters(ProductFieldsAdvice.ALL_FIELDS);
+    }
+}
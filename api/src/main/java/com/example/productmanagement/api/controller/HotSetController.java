@@ -0,0 +1,27 @@
+package com.example.productmanagement.api.controller;
+
+import com.example.productmanagement.products.access.HotSet;
+import com.example.productmanagement.products.service.ProductService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller exposing the most frequently read products and categories
+ */
+@RestController
+@RequestMapping("/api/admin/hot-set")
+public class HotSetController {
+
+    private final ProductService productService;
+
+    public HotSetController(ProductService productService) {
+        this.productService = productService;
+    }
+
+    @GetMapping
+    public ResponseEntity<HotSet> getHotSet() {
+        return ResponseEntity.ok(productService.getHotSet());
+    }
+}
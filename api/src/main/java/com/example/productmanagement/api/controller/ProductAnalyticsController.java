@@ -0,0 +1,51 @@
+package com.example.productmanagement.api.controller;
+
+import com.example.productmanagement.products.analytics.InventoryValuation;
+import com.example.productmanagement.products.analytics.PriceBucket;
+import com.example.productmanagement.products.analytics.ProductAnalyticsService;
+import com.example.productmanagement.products.model.Product;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for catalog analytics
+ */
+@RestController
+@RequestMapping("/api/products/analytics")
+public class ProductAnalyticsController {
+
+    private static final int MAX_BUCKETS = 1000;
+
+    private final ProductAnalyticsService analyticsService;
+
+    public ProductAnalyticsController(ProductAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/valuation")
+    public ResponseEntity<InventoryValuation> getInventoryValuation() {
+        return ResponseEntity.ok(analyticsService.getInventoryValuation());
+    }
+
+    @GetMapping("/status-counts")
+    public ResponseEntity<Map<Product.ProductStatus, Long>> getStatusCounts() {
+        return ResponseEntity.ok(analyticsService.getStatusCounts());
+    }
+
+    @GetMapping("/price-histogram")
+    public ResponseEntity<List<PriceBucket>> getPriceHistogram(
+            @RequestParam(name = "bucketWidth", defaultValue = "10") BigDecimal bucketWidth,
+            @RequestParam(name = "buckets", defaultValue = "20") int buckets) {
+        if (bucketWidth.signum() <= 0 || buckets <= 0 || buckets > MAX_BUCKETS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analyticsService.getPriceHistogram(bucketWidth, buckets));
+    }
+}
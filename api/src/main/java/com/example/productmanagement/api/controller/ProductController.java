@@ -1,20 +1,36 @@
 package com.example.productmanagement.api.controller;
 
+import com.example.productmanagement.api.limit.ReadPriority;
 import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+import com.example.productmanagement.products.model.ProductPatch;
 import com.example.productmanagement.products.service.ProductService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 /**
  * REST Controller for products
+ * <p>
+ * Product responses can be limited to some fields with {@code ?fields=id,name,price},
+ * see {@link ProductFieldsAdvice}. Up to {@value #MAX_LOOKUP_IDS} products can be fetched in one
+ * request with {@code GET /api/products?ids=a,b,c} or by posting the IDs to {@code /api/products/lookup}.
+ * Mirrors stay in sync with {@code GET /api/products/changes?since=<token>}, which returns the
+ * products changed since the token of the previous call, or 410 Gone if they must start over.
+ * If changes are not tracked at all, the feed answers 404 Not Found.
  */
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
     
+    static final int MAX_LOOKUP_IDS = 1000;
+    static final int MAX_CHANGES = 10_000;
+    
     private final ProductService productService;
     
     public ProductController(ProductService productService) {
@@ -27,6 +43,34 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
     
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Product>> getProductsByIds(@RequestParam("ids") List<String> ids) {
+        return lookupProducts(ids);
+    }
+    
+    @ReadPriority
+    @PostMapping("/lookup")
+    public ResponseEntity<List<Product>> lookupProducts(@RequestBody List<String> ids) {
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+    
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChanges> getChanges(
+            @RequestParam(name = "since", required = false) String since,
+            @RequestParam(name = "limit", defaultValue = "1000") int limit) {
+        if (limit < 1 || limit > MAX_CHANGES) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean fromStart = since == null || since.isBlank();
+        return productService.getChangesSince(since, limit)
+                .map(ResponseEntity::ok)
+                // A sync from the start is always served while changes are tracked
+                .orElse(ResponseEntity.status(fromStart ? HttpStatus.NOT_FOUND : HttpStatus.GONE).build());
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable("id") String id) {
         return productService.getProductById(id)
@@ -42,15 +86,24 @@ public class ProductController {
     
     @PutMapping("/{id}")
     public ResponseEntity<Product> updateProduct(
-            @PathVariable String id, 
+            @PathVariable("id") String id, 
             @RequestBody Product product) {
         return productService.updateProduct(id, product)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @PatchMapping("/{id}")
+    public ResponseEntity<Product> patchProduct(
+            @PathVariable("id") String id, 
+            @RequestBody ProductPatch patch) {
+        return productService.patchProduct(id, patch)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProduct(@PathVariable String id) {
+    public ResponseEntity<Void> deleteProduct(@PathVariable("id") String id) {
         boolean deleted = productService.deleteProduct(id);
         return deleted 
                 ? ResponseEntity.noContent().build() 
@@ -58,8 +111,16 @@ public class ProductController {
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable("category") String category) {
         List<Product> products = productService.getProductsByCategory(category);
         return ResponseEntity.ok(products);
     }
+    
+    @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSnapshot() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.snapshot\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(productService::exportSnapshot);
+    }
 }
@@ -0,0 +1,97 @@
+package com.example.productmanagement.api.controller;
+
+import com.example.productmanagement.products.model.Product;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Limits product responses to the fields named in the {@code fields} request parameter
+ * <p>
+ * Products are serialized through a Jackson property filter, so unrequested properties are
+ * skipped while writing instead of being removed from an intermediate map or tree.
+ */
+@ControllerAdvice(assignableTypes = ProductController.class)
+public class ProductFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FILTER_ID = "productFields";
+    static final String FIELDS_PARAMETER = "fields";
+
+    /**
+     * Filters used when a request does not ask for specific fields
+     */
+    public static final FilterProvider ALL_FIELDS =
+            new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+    private final Set<String> productFields;
+
+    public ProductFieldsAdvice(ObjectMapper objectMapper) {
+        this.productFields = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(Product.class))
+                .findProperties().stream()
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER);
+            if (fields != null) {
+                bodyContainer.setFilters(filtersFor(fields));
+            }
+        }
+    }
+
+    /**
+     * Builds the filters serializing only the given product fields
+     *
+     * @param fields comma separated product property names
+     * @return the filters for the response
+     * @throws ResponseStatusException with status 400 if no or unknown fields are given
+     */
+    public FilterProvider filtersFor(String fields) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                requested.add(field.trim());
+            }
+        }
+        if (requested.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No product fields requested");
+        }
+        Set<String> unknown = new TreeSet<>(requested);
+        unknown.removeAll(productFields);
+        if (!unknown.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown product fields: " + unknown);
+        }
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(requested));
+    }
+
+    /**
+     * Mix-in attaching the {@link #FILTER_ID} filter to {@link Product}
+     */
+    @JsonFilter(FILTER_ID)
+    public interface ProductFilterMixin {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.productmanagement.api.controller;
+
+import com.example.productmanagement.products.importer.ImportFormat;
+import com.example.productmanagement.products.importer.ImportResult;
+import com.example.productmanagement.products.importer.ProductImporter;
+import com.example.productmanagement.products.importer.ProgressLoggingListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * REST Controller for bulk imports of products
+ * <p>
+ * {@code POST /api/products/import} streams an NDJSON ({@code application/x-ndjson}) or CSV
+ * ({@code text/csv}) body through the {@link ProductImporter} as it arrives, so feeds of any
+ * size can be uploaded. The response lists how many lines were read, imported and skipped, and
+ * why the first skipped lines were skipped; a CSV body without a valid header gets 400.
+ */
+@RestController
+@RequestMapping("/api/products/import")
+public class ProductImportController {
+
+    static final long LOG_INTERVAL = 100_000;
+
+    private final ProductImporter productImporter;
+
+    public ProductImportController(ProductImporter productImporter) {
+        this.productImporter = productImporter;
+    }
+
+    @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportResult> importProducts(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(value = "importedBy", defaultValue = "import") String importedBy) throws IOException {
+        ImportFormat format = ImportFormat.forContentType(contentType)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+        try {
+            return ResponseEntity.ok(productImporter.importProducts(body, format, importedBy,
+                    new ProgressLoggingListener("upload", LOG_INTERVAL)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.productmanagement.api.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limiter that adapts its limit to measured latency, following TCP Vegas
+ * <p>
+ * The lowest latency seen recently is taken as the latency without queueing. From each
+ * completed request the number of queued requests is estimated as
+ * {@code limit × (1 − minLatency / latency)}: while it stays small the limit grows, once it is
+ * large the limit shrinks. The minimum is re-measured periodically so that the limiter
+ * follows a backend that has become permanently slower or faster.
+ * <p>
+ * Writes may only use a share of the limit, so when the limit is reached they are rejected
+ * before reads.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        READ,
+        WRITE
+    }
+
+    // Re-measure the no-load latency after about this many samples per unit of limit
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double writeShare;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private long noLoadLatencyNanos;
+    private long samplesUntilProbe;
+
+    private final LongAdder rejectedReads = new LongAdder();
+    private final LongAdder rejectedWrites = new LongAdder();
+    private final LongAdder limitChanges = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double writeShare) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (writeShare <= 0 || writeShare > 1) {
+            throw new IllegalArgumentException("Write share must be in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.writeShare = writeShare;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.samplesUntilProbe = nextProbe(initialLimit);
+    }
+
+    /**
+     * Admits a request if the requests in flight stay within the limit for its priority
+     *
+     * @param priority the request priority
+     * @return true if admitted; the caller must then call {@link #release(long)} or {@link #releaseWithoutSample()}
+     */
+    public boolean tryAcquire(Priority priority) {
+        int current = limit;
+        int allowed = priority == Priority.WRITE ? Math.max(1, (int) (current * writeShare)) : current;
+        while (true) {
+            int active = inFlight.get();
+            if (active >= allowed) {
+                (priority == Priority.WRITE ? rejectedWrites : rejectedReads).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(active, active + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and feeds its latency into the limit
+     *
+     * @param latencyNanos the time the request took
+     */
+    public void release(long latencyNanos) {
+        int active = inFlight.getAndDecrement();
+        onSample(latencyNanos, active);
+    }
+
+    /**
+     * Releases an admitted request whose latency is not representative, such as a failed
+     * or streaming request
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return the current concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of admitted requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the number of rejected reads
+     */
+    public long getRejectedReads() {
+        return rejectedReads.sum();
+    }
+
+    /**
+     * @return the number of rejected writes
+     */
+    public long getRejectedWrites() {
+        return rejectedWrites.sum();
+    }
+
+    /**
+     * @return the number of times the limit has changed
+     */
+    public long getLimitChanges() {
+        return limitChanges.sum();
+    }
+
+    private synchronized void onSample(long latencyNanos, int active) {
+        if (latencyNanos <= 0) {
+            return;
+        }
+        if (--samplesUntilProbe <= 0) {
+            samplesUntilProbe = nextProbe(limit);
+            noLoadLatencyNanos = latencyNanos;
+            return;
+        }
+        if (noLoadLatencyNanos == 0 || latencyNanos < noLoadLatencyNanos) {
+            noLoadLatencyNanos = latencyNanos;
+            return;
+        }
+        // With few requests in flight latency says nothing about the limit
+        if (active * 2 < estimatedLimit) {
+            return;
+        }
+
+        double queued = Math.ceil(estimatedLimit * (1 - (double) noLoadLatencyNanos / latencyNanos));
+        double step = Math.max(1, Math.log10(estimatedLimit));
+        double alpha = 3 * step;
+        double beta = 6 * step;
+        double newLimit;
+        if (queued <= step) {
+            newLimit = estimatedLimit + beta;
+        } else if (queued < alpha) {
+            newLimit = estimatedLimit + step;
+        } else if (queued > beta) {
+            newLimit = estimatedLimit - step;
+        } else {
+            return;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        int rounded = (int) estimatedLimit;
+        if (rounded != limit) {
+            limit = rounded;
+            limitChanges.increment();
+        }
+    }
+
+    private static long nextProbe(int limit) {
+        return (long) PROBE_MULTIPLIER * limit;
+    }
+}
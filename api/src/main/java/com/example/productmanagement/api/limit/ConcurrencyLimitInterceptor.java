@@ -0,0 +1,84 @@
+package com.example.productmanagement.api.limit;
+
+import com.example.productmanagement.api.controller.ProductController;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits requests to {@link ProductController} through an {@link AdaptiveConcurrencyLimiter}
+ * <p>
+ * GET and HEAD requests and handlers annotated with {@link ReadPriority} are reads, everything
+ * else is a write. Requests over the limit are
+ * answered at once with 503 and a Retry-After header instead of queueing for a thread.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, int retryAfterSeconds) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // An async dispatch continues a request that was admitted already
+        if (!isLimited(handler) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!limiter.tryAcquire(priorityOf(request, (HandlerMethod) handler))) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return false;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // Streaming responses hold no request thread, and their duration depends on the client
+        if (request.getAttribute(START_ATTRIBUTE) != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            limiter.releaseWithoutSample();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        if (ex != null || response.getStatus() >= 500) {
+            limiter.releaseWithoutSample();
+        } else {
+            limiter.release(System.nanoTime() - (long) start);
+        }
+    }
+
+    private static boolean isLimited(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod
+                && ProductController.class.isAssignableFrom(handlerMethod.getBeanType());
+    }
+
+    private static AdaptiveConcurrencyLimiter.Priority priorityOf(HttpServletRequest request, HandlerMethod handler) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || handler.hasMethodAnnotation(ReadPriority.class)
+                ? AdaptiveConcurrencyLimiter.Priority.READ
+                : AdaptiveConcurrencyLimiter.Priority.WRITE;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.productmanagement.api.limit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method that only reads although it is not mapped to GET or HEAD, such as a
+ * lookup taking its IDs from a POST body, so that {@link ConcurrencyLimitInterceptor} admits it as a read
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadPriority {
+}
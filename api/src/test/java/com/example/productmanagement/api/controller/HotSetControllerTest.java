@@ -0,0 +1,41 @@
+package com.example.productmanagement.api.controller;
+
+import com.example.productmanagement.products.access.HeavyHitter;
+import com.example.productmanagement.products.access.HotSet;
+import com.example.productmanagement.products.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HotSetControllerTest {
+
+    @Mock
+    private ProductService productService;
+
+    @InjectMocks
+    private HotSetController hotSetController;
+
+    @Test
+    void getHotSet_ShouldReturnHeavyHitters() {
+        // Arrange
+        HotSet hotSet = new HotSet(List.of(new HeavyHitter("1", 42)), List.of(new HeavyHitter("Books", 7)));
+        when(productService.getHotSet()).thenReturn(hotSet);
+
+        // Act
+        ResponseEntity<HotSet> response = hotSetController.getHotSet();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(hotSet);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.productmanagement.api.controller;
+
+import com.example.productmanagement.products.analytics.CategoryValuation;
+import com.example.productmanagement.products.analytics.InventoryValuation;
+import com.example.productmanagement.products.analytics.PriceBucket;
+import com.example.productmanagement.products.analytics.ProductAnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductAnalyticsControllerTest {
+
+    @Mock
+    private ProductAnalyticsService analyticsService;
+
+    @InjectMocks
+    private ProductAnalyticsController analyticsController;
+
+    @Test
+    void getInventoryValuation_ShouldReturnValuation() {
+        // Arrange
+        InventoryValuation valuation = new InventoryValuation(2, 1500,
+                List.of(new CategoryValuation("Books", 2, 3, 1500)));
+        when(analyticsService.getInventoryValuation()).thenReturn(valuation);
+
+        // Act
+        ResponseEntity<InventoryValuation> response = analyticsController.getInventoryValuation();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(valuation);
+    }
+
+    @Test
+    void getPriceHistogram_ShouldReturnBuckets() {
+        // Arrange
+        BigDecimal width = new BigDecimal("10");
+        List<PriceBucket> buckets = List.of(new PriceBucket(BigDecimal.ZERO, null, 5));
+        when(analyticsService.getPriceHistogram(width, 1)).thenReturn(buckets);
+
+        // Act
+        ResponseEntity<List<PriceBucket>> response = analyticsController.getPriceHistogram(width, 1);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(buckets);
+    }
+
+    @Test
+    void getPriceHistogram_WithInvalidBuckets_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<List<PriceBucket>> response = analyticsController.getPriceHistogram(BigDecimal.ZERO, 10);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(analyticsService);
+    }
+}
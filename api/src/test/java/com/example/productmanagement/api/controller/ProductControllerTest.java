@@ -1,6 +1,9 @@
 package com.example.productmanagement.api.controller;
 
+import com.example.productmanagement.common.model.Money;
 import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+import com.example.productmanagement.products.model.ProductPatch;
 import com.example.productmanagement.products.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,15 +12,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,6 +63,80 @@ class ProductControllerTest {
         assertThat(response.getBody()).isEqualTo(expectedProducts);
     }
 
+    @Test
+    void getProductsByIds_ShouldReturnFoundProducts() {
+        // Arrange
+        when(productService.getProductsByIds(List.of(productId, "missing"))).thenReturn(List.of(testProduct));
+
+        // Act
+        ResponseEntity<List<Product>> response = productController.getProductsByIds(List.of(productId, "missing"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsExactly(testProduct);
+    }
+
+    @Test
+    void lookupProducts_WithTooManyIds_ShouldReturnBadRequest() {
+        // Arrange
+        List<String> ids = Collections.nCopies(ProductController.MAX_LOOKUP_IDS + 1, productId);
+
+        // Act
+        ResponseEntity<List<Product>> response = productController.lookupProducts(ids);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void getChanges_ShouldReturnChangesSinceToken() {
+        // Arrange
+        ProductChanges changes = new ProductChanges(List.of(testProduct), List.of("deleted-id"), "abc-7", false);
+        when(productService.getChangesSince("abc-3", 1000)).thenReturn(Optional.of(changes));
+
+        // Act
+        ResponseEntity<ProductChanges> response = productController.getChanges("abc-3", 1000);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(changes);
+    }
+
+    @Test
+    void getChanges_WithExpiredToken_ShouldReturnGone() {
+        // Arrange
+        when(productService.getChangesSince("old-3", 1000)).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<ProductChanges> response = productController.getChanges("old-3", 1000);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GONE);
+    }
+
+    @Test
+    void getChanges_WhenChangesAreNotTracked_ShouldReturnNotFound() {
+        // Arrange
+        when(productService.getChangesSince(null, 1000)).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<ProductChanges> response = productController.getChanges(null, 1000);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void getChanges_WithLimitOutOfRange_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<ProductChanges> response = productController.getChanges(null, ProductController.MAX_CHANGES + 1);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(productService);
+    }
+
     @Test
     void getProductById_WithExistingId_ShouldReturnProduct() {
         // Arrange
@@ -126,6 +208,35 @@ class ProductControllerTest {
         assertThat(response.getBody()).isNull();
     }
 
+    @Test
+    void patchProduct_WithExistingId_ShouldReturnPatchedProduct() {
+        // Arrange
+        ProductPatch patch = ProductPatch.builder().name("Patched Product").build();
+        Product patchedProduct = createTestProduct(productId, "Patched Product");
+        when(productService.patchProduct(productId, patch)).thenReturn(Optional.of(patchedProduct));
+
+        // Act
+        ResponseEntity<Product> response = productController.patchProduct(productId, patch);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(patchedProduct);
+    }
+
+    @Test
+    void patchProduct_WithNonExistingId_ShouldReturnNotFound() {
+        // Arrange
+        ProductPatch patch = ProductPatch.builder().name("Patched Product").build();
+        when(productService.patchProduct("non-existing-id", patch)).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<Product> response = productController.patchProduct("non-existing-id", patch);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNull();
+    }
+
     @Test
     void deleteProduct_WithExistingId_ShouldReturnNoContent() {
         // Arrange
@@ -171,6 +282,21 @@ class ProductControllerTest {
         assertThat(response.getBody()).isEqualTo(expectedProducts);
     }
 
+    @Test
+    void exportSnapshot_ShouldStreamSnapshotFromService() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = productController.exportSnapshot();
+        response.getBody().writeTo(out);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        verify(productService).exportSnapshot(out);
+    }
+
     private Product createTestProduct(String id, String name) {
         Set<String> categories = new HashSet<>();
         categories.add("Electronics");
@@ -180,7 +306,7 @@ class ProductControllerTest {
                 .name(name)
                 .description("Test Description")
                 .sku("TEST-SKU-" + (id != null ? id : "new"))
-                .price(new BigDecimal("99.99"))
+                .price(Money.parse("99.99"))
                 .quantityInStock(10)
                 .categories(categories)
                 .status(Product.ProductStatus.ACTIVE)
@@ -0,0 +1,82 @@
+package com.example.productmanagement.api.controller;
+
+import com.example.productmanagement.api.config.ProductJsonConfiguration;
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductFieldsAdviceTest {
+
+    private ObjectMapper objectMapper;
+    private ProductFieldsAdvice advice;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new ProductJsonConfiguration().productFieldsCustomizer().customize(builder);
+        objectMapper = builder.build();
+        advice = new ProductFieldsAdvice(objectMapper);
+        product = Product.builder()
+                .id("1")
+                .name("Laptop")
+                .description("A long description")
+                .price(Money.parse("999.99"))
+                .quantityInStock(3)
+                .categories(Set.of("Electronics"))
+                .status(Product.ProductStatus.ACTIVE)
+                .build();
+    }
+
+    @Test
+    void filtersFor_WithRequestedFields_ShouldSerializeOnlyThoseFields() throws Exception {
+        // Act
+        String json = objectMapper.writer(advice.filtersFor("id, name,price,status"))
+                .writeValueAsString(List.of(product, product));
+
+        // Assert
+        JsonNode first = objectMapper.readTree(json).get(0);
+        assertThat(first.fieldNames()).toIterable().containsExactlyInAnyOrder("id", "name", "price", "status");
+        assertThat(first.get("price").decimalValue()).isEqualByComparingTo("999.99");
+    }
+
+    @Test
+    void serialize_WithoutFieldsParameter_ShouldSerializeAllFields() throws Exception {
+        // Act
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(product));
+
+        // Assert
+        assertThat(json.has("description")).isTrue();
+        assertThat(json.has("categories")).isTrue();
+        assertThat(json.has("quantityInStock")).isTrue();
+    }
+
+    @Test
+    void filtersFor_WithUnknownField_ShouldRejectRequest() {
+        // Act & Assert
+        assertThatThrownBy(() -> advice.filtersFor("id,password"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("password")
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void filtersFor_WithNoFields_ShouldRejectRequest() {
+        // Act & Assert
+        assertThatThrownBy(() -> advice.filtersFor(" , "))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
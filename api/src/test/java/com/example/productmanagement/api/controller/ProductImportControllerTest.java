@@ -0,0 +1,74 @@
+package com.example.productmanagement.api.controller;
+
+import com.example.productmanagement.products.importer.ImportError;
+import com.example.productmanagement.products.importer.ImportFormat;
+import com.example.productmanagement.products.importer.ImportResult;
+import com.example.productmanagement.products.importer.ProductImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportControllerTest {
+
+    @Mock
+    private ProductImporter productImporter;
+
+    @InjectMocks
+    private ProductImportController productImportController;
+
+    @Test
+    void importProducts_WithCsvBody_ShouldReturnResult() throws IOException {
+        // Arrange
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        ImportResult result = new ImportResult(3, 1, 1, List.of(new ImportError(2, "sku is required")), 5);
+        when(productImporter.importProducts(eq(body), eq(ImportFormat.CSV), eq("nightly-feed"), any()))
+                .thenReturn(result);
+
+        // Act
+        ResponseEntity<ImportResult> response =
+                productImportController.importProducts(body, "text/csv; charset=UTF-8", "nightly-feed");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(result);
+    }
+
+    @Test
+    void importProducts_WithInvalidCsvHeader_ShouldReturnBadRequest() throws IOException {
+        // Arrange
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(productImporter.importProducts(eq(body), eq(ImportFormat.CSV), eq("import"), any()))
+                .thenThrow(new IllegalArgumentException("Missing CSV columns: [price]"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productImportController.importProducts(body, "text/csv", "import"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void importProducts_WithUnknownContentType_ShouldReturnUnsupportedMediaType() {
+        // Act & Assert
+        assertThatThrownBy(() -> productImportController.importProducts(InputStream.nullInputStream(),
+                "application/xml", "import"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+    }
+}
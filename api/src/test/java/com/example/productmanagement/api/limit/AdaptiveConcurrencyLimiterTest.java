@@ -0,0 +1,113 @@
+package com.example.productmanagement.api.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.example.productmanagement.api.limit.AdaptiveConcurrencyLimiter.Priority.READ;
+import static com.example.productmanagement.api.limit.AdaptiveConcurrencyLimiter.Priority.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void release_WithSaturatedLimitAndSteadyLatency_ShouldRaiseLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 0.75);
+        measureNoLoadLatency(limiter);
+
+        // Act
+        runWave(limiter, 20, FAST);
+
+        // Assert
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+        assertThat(limiter.getLimitChanges()).isPositive();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void release_WithGrowingLatency_ShouldLowerLimitButNotBelowMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 10, 200, 0.75);
+        measureNoLoadLatency(limiter);
+
+        // Act
+        runWave(limiter, 20, SLOW);
+        int lowered = limiter.getLimit();
+        for (int i = 0; i < 20; i++) {
+            runWave(limiter, limiter.getLimit(), SLOW);
+        }
+
+        // Assert
+        assertThat(lowered).isLessThan(20);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void release_WithFewRequestsInFlight_ShouldKeepLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 0.75);
+        measureNoLoadLatency(limiter);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            runWave(limiter, 2, SLOW);
+        }
+
+        // Assert
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getLimitChanges()).isZero();
+    }
+
+    @Test
+    void tryAcquire_AtLimit_ShouldRejectWritesBeforeReads() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 4, 0.5);
+
+        // Act & Assert
+        assertThat(limiter.tryAcquire(WRITE)).isTrue();
+        assertThat(limiter.tryAcquire(WRITE)).isTrue();
+        assertThat(limiter.tryAcquire(WRITE)).isFalse();
+        assertThat(limiter.tryAcquire(READ)).isTrue();
+        assertThat(limiter.tryAcquire(READ)).isTrue();
+        assertThat(limiter.tryAcquire(READ)).isFalse();
+        assertThat(limiter.getRejectedWrites()).isEqualTo(1);
+        assertThat(limiter.getRejectedReads()).isEqualTo(1);
+
+        limiter.releaseWithoutSample();
+        assertThat(limiter.tryAcquire(READ)).isTrue();
+    }
+
+    @Test
+    void constructor_WithInvalidLimits_ShouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(2, 4, 200, 0.75))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(20, 4, 200, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void measureNoLoadLatency(AdaptiveConcurrencyLimiter limiter) {
+        assertThat(limiter.tryAcquire(READ)).isTrue();
+        limiter.release(FAST);
+    }
+
+    /**
+     * Admits the given number of concurrent reads and then completes them all with the given latency
+     */
+    private static void runWave(AdaptiveConcurrencyLimiter limiter, int requests, long latencyNanos) {
+        int admitted = 0;
+        for (int i = 0; i < requests; i++) {
+            if (limiter.tryAcquire(READ)) {
+                admitted++;
+            }
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(latencyNanos);
+        }
+    }
+}
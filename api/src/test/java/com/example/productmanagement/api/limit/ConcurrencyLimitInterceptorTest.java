@@ -0,0 +1,142 @@
+package com.example.productmanagement.api.limit;
+
+import com.example.productmanagement.api.controller.ProductAnalyticsController;
+import com.example.productmanagement.api.controller.ProductController;
+import com.example.productmanagement.products.analytics.ProductAnalyticsService;
+import com.example.productmanagement.products.service.ProductService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitInterceptorTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitInterceptor interceptor;
+    private HandlerMethod productHandler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, 0.5);
+        interceptor = new ConcurrencyLimitInterceptor(limiter, 3);
+        productHandler = new HandlerMethod(new ProductController(productService),
+                ProductController.class.getMethod("getAllProducts"));
+    }
+
+    @Test
+    void preHandle_OverLimit_ShouldRejectWith503AndRetryAfter() {
+        // Arrange
+        assertThat(interceptor.preHandle(request("GET"), response, productHandler)).isTrue();
+        assertThat(interceptor.preHandle(request("GET"), response, productHandler)).isTrue();
+
+        // Act
+        boolean admitted = interceptor.preHandle(request("GET"), response, productHandler);
+
+        // Assert
+        assertThat(admitted).isFalse();
+        verify(response).setStatus(503);
+        verify(response).setHeader("Retry-After", "3");
+        assertThat(limiter.getRejectedReads()).isEqualTo(1);
+    }
+
+    @Test
+    void preHandle_WithWriteOverWriteShare_ShouldRejectWriteButAdmitRead() {
+        // Arrange
+        assertThat(interceptor.preHandle(request("POST"), response, productHandler)).isTrue();
+
+        // Act & Assert
+        assertThat(interceptor.preHandle(request("PATCH"), response, productHandler)).isFalse();
+        assertThat(interceptor.preHandle(request("GET"), response, productHandler)).isTrue();
+        assertThat(limiter.getRejectedWrites()).isEqualTo(1);
+    }
+
+    @Test
+    void preHandle_WithReadPriorityHandler_ShouldAdmitPostAsRead() throws NoSuchMethodException {
+        // Arrange
+        HandlerMethod lookupHandler = new HandlerMethod(new ProductController(productService),
+                ProductController.class.getMethod("lookupProducts", List.class));
+        assertThat(interceptor.preHandle(request("POST"), response, productHandler)).isTrue();
+
+        // Act & Assert
+        assertThat(interceptor.preHandle(request("POST"), response, lookupHandler)).isTrue();
+        assertThat(limiter.getRejectedWrites()).isZero();
+    }
+
+    @Test
+    void afterCompletion_ShouldReleaseAdmittedRequest() {
+        // Arrange
+        HttpServletRequest request = request("GET");
+        interceptor.preHandle(request, response, productHandler);
+
+        // Act
+        interceptor.afterCompletion(request, response, productHandler, null);
+
+        // Assert
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void afterConcurrentHandlingStarted_ShouldReleaseOnceAndSkipAsyncDispatch() {
+        // Arrange
+        HttpServletRequest request = request("GET");
+        interceptor.preHandle(request, response, productHandler);
+
+        // Act
+        interceptor.afterConcurrentHandlingStarted(request, response, productHandler);
+        when(request.getDispatcherType()).thenReturn(DispatcherType.ASYNC);
+        boolean admitted = interceptor.preHandle(request, response, productHandler);
+        interceptor.afterCompletion(request, response, productHandler, null);
+
+        // Assert
+        assertThat(admitted).isTrue();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void preHandle_WithOtherController_ShouldNotLimit() throws NoSuchMethodException {
+        // Arrange
+        HandlerMethod analyticsHandler = new HandlerMethod(
+                new ProductAnalyticsController(mock(ProductAnalyticsService.class)),
+                ProductAnalyticsController.class.getMethod("getStatusCounts"));
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertThat(interceptor.preHandle(request("GET"), response, analyticsHandler)).isTrue();
+        }
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private static HttpServletRequest request(String method) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        Map<String, Object> attributes = new HashMap<>();
+        lenient().when(request.getMethod()).thenReturn(method);
+        lenient().when(request.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+        lenient().doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setAttribute(anyString(), any());
+        lenient().doAnswer(invocation -> attributes.remove(invocation.getArgument(0)))
+                .when(request).removeAttribute(anyString());
+        lenient().when(request.getAttribute(anyString()))
+                .thenAnswer(invocation -> attributes.get(invocation.getArgument(0)));
+        return request;
+    }
+}
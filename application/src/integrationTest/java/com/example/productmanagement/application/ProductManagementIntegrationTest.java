@@ -1,5 +1,6 @@
 package com.example.productmanagement.application;
 
+import com.example.productmanagement.common.model.Money;
 import com.example.productmanagement.products.model.Product;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,7 +18,6 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
-import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -116,7 +116,7 @@ class ProductManagementIntegrationTest {
                 .name("Test Integration Product")
                 .description("A product created in an integration test")
                 .sku("TEST-INT-001")
-                .price(new BigDecimal("299.99"))
+                .price(Money.parse("299.99"))
                 .quantityInStock(50)
                 .categories(categories)
                 .status(Product.ProductStatus.ACTIVE)
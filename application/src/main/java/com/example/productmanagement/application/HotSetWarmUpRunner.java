@@ -0,0 +1,57 @@
+package com.example.productmanagement.application;
+
+import com.example.productmanagement.products.access.AccessSampler;
+import com.example.productmanagement.products.access.HotSet;
+import com.example.productmanagement.products.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Pre-warms the catalog at startup: when {@code products.access-sampling.hot-set-file} names a
+ * hot set saved by this or another instance, its products and categories are read once and its
+ * counts restored into the access sampler, so that the first requests find warm caches and the
+ * hot set survives the restart. An unreadable file is logged and the instance starts cold.
+ */
+@Component
+public class HotSetWarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSetWarmUpRunner.class);
+
+    private final ProductService productService;
+    private final AccessSampler accessSampler;
+    private final String hotSetFile;
+
+    public HotSetWarmUpRunner(ProductService productService,
+                              AccessSampler accessSampler,
+                              @Value("${products.access-sampling.hot-set-file:}") String hotSetFile) {
+        this.productService = productService;
+        this.accessSampler = accessSampler;
+        this.hotSetFile = hotSetFile;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (hotSetFile.isBlank()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            HotSet hotSet = AccessSampler.read(Path.of(hotSetFile));
+            accessSampler.restore(hotSet);
+            int found = productService.warmUp(hotSet);
+            log.info("Warmed up {} of {} hot products and {} hot categories from {} in {} ms",
+                    found, hotSet.getProducts().size(), hotSet.getCategories().size(), hotSetFile,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not warm up from hot set {}, starting cold", hotSetFile, e);
+        }
+    }
+}
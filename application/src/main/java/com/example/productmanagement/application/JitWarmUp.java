@@ -0,0 +1,315 @@
+package com.example.productmanagement.application;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductPatch;
+import com.example.productmanagement.products.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic traffic that gets the request path compiled by C2 before real requests arrive
+ * <p>
+ * Each iteration reads products by ID (including an ID that does not exist), by several IDs and
+ * now and then by category or all at once, and writes and reads products and patches as JSON
+ * with the application's object mapper, so that the service, repository decorators and Jackson
+ * serializers see the same call sites and types as under load. Every few iterations a synthetic
+ * product is created, patched and deleted again to warm the write path. The writes go to a
+ * separate service, normally over a throwaway repository wrapped in the same decorators, so that
+ * the stored catalog, its change log and its indexes never see them.
+ * <p>
+ * Given the base URI of the running server, every few iterations also send requests through
+ * Spring MVC, so that the controller, its advice and interceptors and the message converters are
+ * compiled too. These requests look up an empty list of IDs and read the first page of the change
+ * feed, so that they neither get recorded by the access sampler nor reach the negative lookup
+ * filter of the live repository.
+ * <p>
+ * Reads pick among a sample of the stored products with a fixed seed. The run stops after the
+ * given number of iterations or once the maximum duration has passed, whichever comes first.
+ */
+public class JitWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(JitWarmUp.class);
+
+    static final String CREATED_BY = "warm-up";
+
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int WRITE_EVERY = 16;
+    private static final int CATEGORY_EVERY = 16;
+    private static final int FIND_ALL_EVERY = 1024;
+    private static final int HTTP_EVERY = 8;
+    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(5);
+    // Share of the iterations at each end of the run whose mean latency is reported
+    private static final int REPORT_SHARE = 20;
+
+    private final ProductService productService;
+    private final ProductService writeService;
+    private final ObjectMapper objectMapper;
+    private final int iterations;
+    private final Duration maxDuration;
+
+    // Keeps the results of reads and serialization alive so that none of the work is dead code
+    private long sink;
+
+    /**
+     * @param productService the service to send the reads to
+     * @param writeService the service to create, patch and delete synthetic products with, or null
+     *                     for no writes; its products are not read back by the reads
+     * @param objectMapper the mapper request and response bodies go through
+     * @param iterations the number of iterations to run
+     * @param maxDuration the time after which the run stops even if iterations are left
+     */
+    public JitWarmUp(ProductService productService, ProductService writeService, ObjectMapper objectMapper,
+                     int iterations, Duration maxDuration) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
+        this.productService = productService;
+        this.writeService = writeService;
+        this.objectMapper = objectMapper;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Runs the synthetic traffic without HTTP requests
+     *
+     * @return the iterations run and the mean iteration latency at the start and end of the run
+     */
+    public Report run() {
+        return run(null);
+    }
+
+    /**
+     * Runs the synthetic traffic
+     *
+     * @param baseUri the URI of the running server, e.g. {@code http://localhost:8080}, or null to
+     *                send no HTTP requests; requests stop after the first one that fails
+     * @return the iterations run and the mean iteration latency at the start and end of the run
+     */
+    public Report run(URI baseUri) {
+        List<Product> sample = sample();
+        List<String> ids = sample.stream().map(Product::getId).toList();
+        List<String> categories = categories(sample);
+        SplittableRandom random = new SplittableRandom(42);
+        Loopback loopback = baseUri == null ? null : new Loopback(baseUri);
+
+        int reported = Math.max(1, iterations / REPORT_SHARE);
+        long[] latencies = new long[iterations];
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        int completed = 0;
+        while (completed < iterations && System.nanoTime() - deadline < 0) {
+            long iterationStart = System.nanoTime();
+            iterate(completed, random, sample, ids, categories);
+            if (loopback != null && completed % HTTP_EVERY == 0) {
+                loopback.send(completed);
+            }
+            latencies[completed++] = System.nanoTime() - iterationStart;
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        if (loopback != null) {
+            loopback.client.close();
+        }
+
+        int measured = Math.min(reported, completed);
+        return new Report(completed, loopback == null ? 0 : loopback.requests, duration,
+                meanMicros(latencies, 0, measured),
+                meanMicros(latencies, completed - measured, completed));
+    }
+
+    private void iterate(int iteration, SplittableRandom random, List<Product> sample, List<String> ids,
+                         List<String> categories) {
+        String id = ids.get(random.nextInt(ids.size()));
+        sink += productService.getProductById(id).map(this::serialize).orElse(0);
+        sink += productService.getProductById("warm-up-missing-" + iteration).isPresent() ? 1 : 0;
+
+        List<Product> products = productService.getProductsByIds(List.of(
+                id, ids.get(random.nextInt(ids.size())), ids.get(random.nextInt(ids.size()))));
+        sink += serialize(products);
+
+        if (iteration % CATEGORY_EVERY == 0) {
+            sink += productService.getProductsByCategory(categories.get(random.nextInt(categories.size()))).size();
+        }
+        if (iteration % FIND_ALL_EVERY == FIND_ALL_EVERY - 1) {
+            sink += productService.getAllProducts().size();
+        }
+
+        Product product = sample.get(random.nextInt(sample.size()));
+        sink += deserialize(serializeToBytes(product), Product.class).getQuantityInStock();
+        ProductPatch patch = ProductPatch.builder()
+                .quantityInStock(random.nextInt(100))
+                .updatedBy(CREATED_BY)
+                .build();
+        sink += deserialize(serializeToBytes(patch), ProductPatch.class).getQuantityInStock();
+
+        if (writeService != null && iteration % WRITE_EVERY == 0) {
+            write(iteration, patch);
+        }
+    }
+
+    private void write(int iteration, ProductPatch patch) {
+        Product created = writeService.createProduct(syntheticProduct(iteration));
+        sink += writeService.patchProduct(created.getId(), patch).map(this::serialize).orElse(0);
+        sink += writeService.deleteProduct(created.getId()) ? 1 : 0;
+    }
+
+    /**
+     * @return up to {@link #SAMPLE_SIZE} stored products, or a synthetic one if there are none
+     */
+    private List<Product> sample() {
+        List<Product> all = productService.getAllProducts();
+        if (all.isEmpty()) {
+            Product product = syntheticProduct(0);
+            product.setId("warm-up-0");
+            return List.of(product);
+        }
+        int step = Math.max(1, all.size() / SAMPLE_SIZE);
+        List<Product> sample = new ArrayList<>(Math.min(all.size(), SAMPLE_SIZE));
+        for (int i = 0; i < all.size() && sample.size() < SAMPLE_SIZE; i += step) {
+            sample.add(all.get(i));
+        }
+        return sample;
+    }
+
+    private static List<String> categories(List<Product> sample) {
+        Set<String> categories = new LinkedHashSet<>();
+        for (Product product : sample) {
+            if (product.getCategories() != null) {
+                categories.addAll(product.getCategories());
+            }
+        }
+        return categories.isEmpty() ? List.of(CREATED_BY) : List.copyOf(categories);
+    }
+
+    private static Product syntheticProduct(int iteration) {
+        return Product.builder()
+                .name("Warm-up product " + iteration)
+                .description("Synthetic product created and deleted during warm-up")
+                .sku("WARM-UP-" + iteration)
+                .price(Money.ofMinor(iteration % 10_000))
+                .quantityInStock(0)
+                .categories(new LinkedHashSet<>(Set.of(CREATED_BY)))
+                .status(Product.ProductStatus.OUT_OF_STOCK)
+                .createdBy(CREATED_BY)
+                .build();
+    }
+
+    private int serialize(Object value) {
+        return serializeToBytes(value).length;
+    }
+
+    private byte[] serializeToBytes(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T deserialize(byte[] json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sends warm-up requests to the running server
+     */
+    private class Loopback {
+
+        private final URI baseUri;
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(HTTP_TIMEOUT)
+                .build();
+        private boolean failed;
+        int requests;
+
+        Loopback(URI baseUri) {
+            this.baseUri = baseUri;
+        }
+
+        void send(int iteration) {
+            send(request("/api/products/lookup")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("[]"))
+                    .build());
+            send(request(iteration % (2 * HTTP_EVERY) == 0
+                    ? "/api/products/changes?limit=8"
+                    : "/api/products/changes?limit=8&fields=id,name,price,status").GET().build());
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(HTTP_TIMEOUT);
+        }
+
+        private void send(HttpRequest request) {
+            if (failed) {
+                return;
+            }
+            try {
+                sink += client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+                requests++;
+            } catch (IOException e) {
+                log.warn("Warm-up request to {} failed, continuing without HTTP requests", request.uri(), e);
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed = true;
+            }
+        }
+    }
+
+    private static double meanMicros(long[] latencies, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += latencies[i];
+        }
+        return total / 1_000.0 / (to - from);
+    }
+
+    /**
+     * Outcome of a warm-up run
+     */
+    @Value
+    public static class Report {
+        /**
+         * The number of iterations run
+         */
+        int iterations;
+        /**
+         * The number of HTTP requests sent to the server
+         */
+        int requests;
+        Duration duration;
+        /**
+         * The mean latency of the first twentieth of the iterations, in microseconds
+         */
+        double coldMicros;
+        /**
+         * The mean latency of the last twentieth of the iterations, in microseconds
+         */
+        double warmMicros;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.productmanagement.application;
+
+import com.example.productmanagement.products.importer.ImportFormat;
+import com.example.productmanagement.products.importer.ImportResult;
+import com.example.productmanagement.products.importer.ProductImporter;
+import com.example.productmanagement.products.importer.ProgressLoggingListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Bulk import command: when started with {@code --products.import.path=<file>} the products in
+ * the NDJSON (.ndjson, .jsonl) or CSV (.csv) file are imported into the repository and the
+ * application shuts down. Combined with {@code --products.snapshot.export-path=<file>} the
+ * imported catalog is then exported by {@link SnapshotExportRunner}, which runs afterwards.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProductImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportRunner.class);
+
+    static final long LOG_INTERVAL = 1_000_000;
+
+    private final ProductImporter productImporter;
+    private final ConfigurableApplicationContext context;
+    private final String importPath;
+    private final String importedBy;
+    private final String exportPath;
+
+    public ProductImportRunner(ProductImporter productImporter,
+                               ConfigurableApplicationContext context,
+                               @Value("${products.import.path:}") String importPath,
+                               @Value("${products.import.imported-by:import}") String importedBy,
+                               @Value("${products.snapshot.export-path:}") String exportPath) {
+        this.productImporter = productImporter;
+        this.context = context;
+        this.importPath = importPath;
+        this.importedBy = importedBy;
+        this.exportPath = exportPath;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (importPath.isBlank()) {
+            return;
+        }
+
+        Path source = Path.of(importPath);
+        ImportFormat format = ImportFormat.forFileName(source.getFileName().toString())
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Cannot tell the format of " + source + ", expected a .ndjson, .jsonl or .csv file"));
+        ImportResult result;
+        try (InputStream in = Files.newInputStream(source)) {
+            result = productImporter.importProducts(in, format, importedBy,
+                    new ProgressLoggingListener(source.toString(), LOG_INTERVAL));
+        }
+        log.info("Imported {} products from {} ({} lines, {} failed) in {} ms", result.getImported(), source,
+                result.getLines(), result.getFailed(), result.getDurationMillis());
+        result.getErrors().forEach(error -> log.warn("Line {}: {}", error.getLine(), error.getMessage()));
+        if (result.getFailed() > result.getErrors().size()) {
+            log.warn("{} more lines failed", result.getFailed() - result.getErrors().size());
+        }
+
+        if (exportPath.isBlank()) {
+            SpringApplication.exit(context);
+        }
+    }
+}
@@ -1,28 +1,298 @@
 package com.example.productmanagement.application;
 
+import com.example.productmanagement.api.limit.AdaptiveConcurrencyLimiter;
+import com.example.productmanagement.products.access.AccessSampler;
+import com.example.productmanagement.products.analytics.ColumnIndexingProductRepository;
+import com.example.productmanagement.products.analytics.ProductAnalyticsService;
+import com.example.productmanagement.products.analytics.ProductColumnStore;
+import com.example.productmanagement.products.importer.ProductImporter;
+import com.example.productmanagement.products.jfr.FlightRecordingProductRepository;
+import com.example.productmanagement.products.jfr.ProductEventRecording;
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.repository.ChangeTrackingProductRepository;
+import com.example.productmanagement.products.repository.CoalescingProductRepository;
+import com.example.productmanagement.products.repository.JdbcProductRepository;
 import com.example.productmanagement.products.repository.MockProductRepository;
+import com.example.productmanagement.products.repository.NegativeLookupFilter;
+import com.example.productmanagement.products.repository.NegativeLookupProductRepository;
+import com.example.productmanagement.products.repository.OffHeapProductRepository;
 import com.example.productmanagement.products.repository.ProductRepository;
+import com.example.productmanagement.products.repository.SnapshotProductRepository;
+import com.example.productmanagement.products.repository.TieredProductRepository;
 import com.example.productmanagement.products.service.ProductService;
+import com.example.productmanagement.products.snapshot.ProductSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 @SpringBootApplication
 @ComponentScan(basePackages = {"com.example.productmanagement"})
 public class ProductManagementApplication {
 
+    private static final Logger log = LoggerFactory.getLogger(ProductManagementApplication.class);
+
     public static void main(String[] args) {
         SpringApplication.run(ProductManagementApplication.class, args);
     }
-    
+
+    @Bean
+    public ProductColumnStore productColumnStore() {
+        return new ProductColumnStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "products.jfr.enabled", havingValue = "true", matchIfMissing = true)
+    public ProductEventRecording productEventRecording(
+            @Value("${products.jfr.repository-threshold:1ms}") Duration repositoryThreshold,
+            @Value("${products.jfr.service-threshold:5ms}") Duration serviceThreshold,
+            @Value("${products.jfr.max-age:30m}") Duration maxAge,
+            @Value("${products.jfr.dump-path:}") String dumpPath) {
+        ProductEventRecording recording = new ProductEventRecording(repositoryThreshold, serviceThreshold, maxAge,
+                dumpPath.isBlank() ? null : Path.of(dumpPath));
+        recording.start();
+        return recording;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "products.negative-lookup.enabled", havingValue = "true", matchIfMissing = true)
+    public NegativeLookupFilter negativeLookupFilter(
+            @Value("${products.negative-lookup.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${products.negative-lookup.max-memory:16MB}") DataSize maxMemory) {
+        return new NegativeLookupFilter(falsePositiveRate, maxMemory.toBytes());
+    }
+
+    /**
+     * The backend of {@link #productRepository}, a bean of its own so that a closeable backend,
+     * such as the tiered repository with its demotion thread and cold file, is closed on shutdown
+     */
+    @Bean
+    public ProductRepository productStorage(
+            @Value("${products.repository.type:mock}") String repositoryType,
+            @Value("${products.snapshot.restore-path:}") String restorePath,
+            ObjectProvider<DataSource> dataSource,
+            Environment environment) throws IOException {
+        return storageRepository(repositoryType, restorePath, dataSource, environment);
+    }
+
+    @Bean
+    @Primary
+    public CoalescingProductRepository productRepository(
+            @Qualifier("productStorage") ProductRepository productStorage,
+            @Value("${products.negative-lookup.rebuild-check-interval:1m}") Duration rebuildCheckInterval,
+            @Value("${products.changes.enabled:true}") boolean changesEnabled,
+            @Value("${products.changes.tombstone-retention:7d}") Duration tombstoneRetention,
+            @Value("${products.changes.purge-interval:1h}") Duration purgeInterval,
+            @Value("${products.changes.safety-lag:1s}") Duration safetyLag,
+            ObjectProvider<NegativeLookupFilter> negativeLookupFilter,
+            ProductColumnStore productColumnStore) {
+        ProductRepository storage = new FlightRecordingProductRepository(productStorage);
+        // Change tracking sits below the negative lookup filter, so reading the products of a
+        // change page does not count as lookups
+        if (changesEnabled && productStorage instanceof JdbcProductRepository jdbc) {
+            // The database keeps the tombstones, so tokens outlive restarts and are shared by instances
+            jdbc.startChangeTracking(safetyLag, tombstoneRetention, purgeInterval);
+        } else if (changesEnabled) {
+            ChangeTrackingProductRepository changeTracking = new ChangeTrackingProductRepository(storage, safetyLag);
+            changeTracking.startPurging(tombstoneRetention, purgeInterval);
+            storage = changeTracking;
+        }
+        NegativeLookupFilter filter = negativeLookupFilter.getIfAvailable();
+        if (filter != null) {
+            NegativeLookupProductRepository guarded = new NegativeLookupProductRepository(storage, filter);
+            guarded.startRebuilding(rebuildCheckInterval);
+            log.info("Negative lookup filter started with {} bytes", filter.getMemorySize());
+            storage = guarded;
+        }
+        return new CoalescingProductRepository(new ColumnIndexingProductRepository(storage, productColumnStore));
+    }
+
+    @Bean
+    public MeterBinder productRepositoryMetrics(CoalescingProductRepository productRepository) {
+        return registry -> {
+            FunctionCounter.builder("products.repository.reads.backend", productRepository,
+                            CoalescingProductRepository::getBackendCalls)
+                    .description("Repository reads passed to the backend")
+                    .register(registry);
+            FunctionCounter.builder("products.repository.reads.coalesced", productRepository,
+                            CoalescingProductRepository::getCoalescedCalls)
+                    .description("Repository reads that shared an in-flight backend call")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder negativeLookupMetrics(ObjectProvider<NegativeLookupFilter> negativeLookupFilter) {
+        return registry -> negativeLookupFilter.ifAvailable(filter -> {
+            FunctionCounter.builder("products.negative-lookup.lookups", filter, NegativeLookupFilter::getRejected)
+                    .tag("result", "rejected")
+                    .description("Product lookups answered as absent by the negative lookup filter")
+                    .register(registry);
+            FunctionCounter.builder("products.negative-lookup.lookups", filter, NegativeLookupFilter::getPassed)
+                    .tag("result", "passed")
+                    .description("Product lookups passed on to the repository")
+                    .register(registry);
+            FunctionCounter.builder("products.negative-lookup.false-positives", filter,
+                            NegativeLookupFilter::getFalsePositives)
+                    .description("Passed product lookups that found nothing")
+                    .register(registry);
+            Gauge.builder("products.negative-lookup.hit-rate", filter, NegativeLookupFilter::getHitRate)
+                    .description("Share of lookups for absent products answered by the filter")
+                    .register(registry);
+            Gauge.builder("products.negative-lookup.memory", filter, NegativeLookupFilter::getMemorySize)
+                    .baseUnit("bytes")
+                    .description("Memory taken by the negative lookup filter")
+                    .register(registry);
+            FunctionCounter.builder("products.negative-lookup.rebuilds", filter, NegativeLookupFilter::getRebuilds)
+                    .description("Rebuilds of the negative lookup filter")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder productConcurrencyLimitMetrics(ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+        return registry -> limiter.ifAvailable(productLimiter -> {
+            Gauge.builder("products.concurrency.limit", productLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit of the product endpoints")
+                    .register(registry);
+            Gauge.builder("products.concurrency.in-flight", productLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Admitted product requests in flight")
+                    .register(registry);
+            FunctionCounter.builder("products.concurrency.limit.changes", productLimiter,
+                            AdaptiveConcurrencyLimiter::getLimitChanges)
+                    .description("Adjustments of the concurrency limit")
+                    .register(registry);
+            FunctionCounter.builder("products.concurrency.rejected", productLimiter,
+                            AdaptiveConcurrencyLimiter::getRejectedReads)
+                    .tag("priority", "read")
+                    .description("Product requests rejected with 503")
+                    .register(registry);
+            FunctionCounter.builder("products.concurrency.rejected", productLimiter,
+                            AdaptiveConcurrencyLimiter::getRejectedWrites)
+                    .tag("priority", "write")
+                    .description("Product requests rejected with 503")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public ProductAnalyticsService productAnalyticsService(ProductColumnStore productColumnStore) {
+        return new ProductAnalyticsService(productColumnStore);
+    }
+
+    @Bean
+    public AccessSampler accessSampler(
+            @Value("${products.access-sampling.sample-rate:0.05}") double sampleRate,
+            @Value("${products.access-sampling.top-k:100}") int topK,
+            @Value("${products.access-sampling.decay-interval:10m}") Duration decayInterval,
+            @Value("${products.access-sampling.hot-set-file:}") String hotSetFile,
+            @Value("${products.access-sampling.save-interval:1m}") Duration saveInterval) {
+        AccessSampler sampler = new AccessSampler(sampleRate, topK);
+        sampler.startMaintenance(decayInterval, hotSetFile.isBlank() ? null : Path.of(hotSetFile), saveInterval);
+        return sampler;
+    }
+
     @Bean
-    public ProductRepository productRepository() {
-        return new MockProductRepository();
+    public ProductService productService(ProductRepository productRepository, AccessSampler accessSampler) {
+        return new ProductService(productRepository, accessSampler);
     }
-    
+
     @Bean
-    public ProductService productService(ProductRepository productRepository) {
-        return new ProductService(productRepository);
+    public ProductImporter productImporter(
+            ProductRepository productRepository,
+            ObjectMapper objectMapper,
+            @Value("${products.import.workers:4}") int workers,
+            @Value("${products.import.batch-size:1000}") int batchSize,
+            @Value("${products.import.max-reported-errors:1000}") int maxReportedErrors) {
+        return new ProductImporter(productRepository, objectMapper, workers, batchSize, maxReportedErrors);
+    }
+
+    private static ProductRepository storageRepository(String repositoryType, String restorePath,
+                                                       ObjectProvider<DataSource> dataSource,
+                                                       Environment environment) throws IOException {
+        List<Product> snapshot = restoreSnapshot(restorePath);
+        switch (repositoryType) {
+            case "mock":
+                return snapshot != null ? new MockProductRepository(snapshot) : new MockProductRepository();
+            case "snapshot":
+                return new SnapshotProductRepository(snapshot != null ? snapshot : new MockProductRepository().findAll());
+            case "tiered":
+                return tieredRepository(snapshot != null ? snapshot : new MockProductRepository().findAll(), environment);
+            case "offheap":
+                return offHeapRepository(snapshot != null ? snapshot : new MockProductRepository().findAll(), environment);
+            case "jdbc":
+                JdbcProductRepository repository = jdbcRepository(dataSource.getObject(), environment);
+                if (repository.count() == 0) {
+                    // Seed an empty database the same way the in-memory repository starts
+                    repository.saveAll(snapshot != null ? snapshot : new MockProductRepository().findAll());
+                }
+                return repository;
+            default:
+                throw new IllegalArgumentException("Unknown products.repository.type: " + repositoryType);
+        }
+    }
+
+    private static JdbcProductRepository jdbcRepository(DataSource dataSource, Environment environment) {
+        // Multi-ID lookups may take a quarter of the pool for parallel chunks, the rest stays for
+        // the one connection of every other request
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int lookupConnections = environment.getProperty("products.jdbc.lookup-connections", Integer.class,
+                poolSize / 4);
+        return new JdbcProductRepository(dataSource, lookupConnections);
+    }
+
+    private static TieredProductRepository tieredRepository(List<Product> products, Environment environment)
+            throws IOException {
+        String coldFile = environment.getProperty("products.tiered.cold-file", "");
+        Path path = coldFile.isBlank() ? Files.createTempFile("products-cold", ".bin") : Path.of(coldFile);
+        path.toFile().deleteOnExit();
+        TieredProductRepository repository = new TieredProductRepository(products, path,
+                environment.getProperty("products.tiered.discontinued-idle", Duration.class, Duration.ofMinutes(1)),
+                environment.getProperty("products.tiered.idle", Duration.class, Duration.ofHours(1)));
+        repository.startDemotion(
+                environment.getProperty("products.tiered.demotion-interval", Duration.class, Duration.ofSeconds(30)));
+        log.info("Tiered repository started with {} hot and {} cold products in {}",
+                repository.getHotSize(), repository.getColdSize(), path);
+        return repository;
+    }
+
+    private static OffHeapProductRepository offHeapRepository(List<Product> products, Environment environment) {
+        DataSize slabSize = environment.getProperty("products.offheap.slab-size", DataSize.class,
+                DataSize.ofMegabytes(64));
+        OffHeapProductRepository repository = new OffHeapProductRepository(products, (int) slabSize.toBytes());
+        log.info("Off-heap repository started with {} products in {} bytes of direct memory",
+                repository.size(), repository.getOffHeapBytes());
+        return repository;
+    }
+
+    private static List<Product> restoreSnapshot(String restorePath) throws IOException {
+        if (restorePath.isBlank() || !Files.exists(Path.of(restorePath))) {
+            return null;
+        }
+        long start = System.nanoTime();
+        List<Product> products = ProductSnapshot.read(Path.of(restorePath));
+        log.info("Restored {} products from snapshot {} in {} ms", products.size(), restorePath,
+                (System.nanoTime() - start) / 1_000_000);
+        return products;
     }
 }
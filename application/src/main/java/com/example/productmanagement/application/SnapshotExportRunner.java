@@ -0,0 +1,55 @@
+package com.example.productmanagement.application;
+
+import com.example.productmanagement.products.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Bulk export command: when started with {@code --products.snapshot.export-path=<file>}
+ * the catalog is written to a binary snapshot and the application shuts down.
+ */
+@Component
+public class SnapshotExportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotExportRunner.class);
+
+    private final ProductService productService;
+    private final ConfigurableApplicationContext context;
+    private final String exportPath;
+
+    public SnapshotExportRunner(ProductService productService,
+                                ConfigurableApplicationContext context,
+                                @Value("${products.snapshot.export-path:}") String exportPath) {
+        this.productService = productService;
+        this.context = context;
+        this.exportPath = exportPath;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (exportPath.isBlank()) {
+            return;
+        }
+
+        Path target = Path.of(exportPath);
+        long start = System.nanoTime();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 1 << 16)) {
+            productService.exportSnapshot(out);
+        }
+        log.info("Exported product snapshot to {} ({} bytes) in {} ms", target, Files.size(target),
+                (System.nanoTime() - start) / 1_000_000);
+
+        SpringApplication.exit(context);
+    }
+}
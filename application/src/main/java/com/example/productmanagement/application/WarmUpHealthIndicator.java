@@ -0,0 +1,165 @@
+package com.example.productmanagement.application;
+
+import com.example.productmanagement.products.access.AccessSampler;
+import com.example.productmanagement.products.analytics.ColumnIndexingProductRepository;
+import com.example.productmanagement.products.analytics.ProductColumnStore;
+import com.example.productmanagement.products.jfr.FlightRecordingProductRepository;
+import com.example.productmanagement.products.repository.ChangeTrackingProductRepository;
+import com.example.productmanagement.products.repository.CoalescingProductRepository;
+import com.example.productmanagement.products.repository.MockProductRepository;
+import com.example.productmanagement.products.repository.NegativeLookupFilter;
+import com.example.productmanagement.products.repository.NegativeLookupProductRepository;
+import com.example.productmanagement.products.repository.ProductRepository;
+import com.example.productmanagement.products.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs the {@link JitWarmUp} in the background at startup and keeps the instance out of service
+ * until it is done
+ * <p>
+ * The indicator reports {@code OUT_OF_SERVICE} while the warm-up runs and {@code UP} afterwards,
+ * with the cold and warm latencies as details. It is part of the readiness group, so load
+ * balancers probing {@code /actuator/health/readiness} send no traffic to an instance still
+ * running interpreted code, while the liveness probe is not affected. A failed warm-up is logged
+ * and does not keep the instance out of service.
+ * <p>
+ * The reads go through a product service of its own, over the shared storage wrapped in the read
+ * decorators of the application's repository with a negative lookup filter of their own, so that
+ * the same code gets compiled while the synthetic reads stay out of the sampled hot set and the
+ * negative lookup metrics. The writes go to an empty in-memory repository wrapped in the same
+ * decorators as the shared one, so they leave nothing behind in the catalog, the change feed or
+ * the negative lookup filter. Once the web server has started, part of the traffic is also sent
+ * to it over the loopback interface; these requests reach neither the access sampler nor the
+ * negative lookup filter (see {@link JitWarmUp}). There is no warm-up when the application runs
+ * as a bulk import or export command.
+ */
+@Component
+public class WarmUpHealthIndicator
+        implements HealthIndicator, ApplicationRunner, ApplicationListener<WebServerInitializedEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpHealthIndicator.class);
+
+    private final JitWarmUp warmUp;
+    private volatile Health health;
+    private volatile URI serverUri;
+
+    @Autowired
+    public WarmUpHealthIndicator(@Qualifier("productStorage") ProductRepository productStorage,
+                                 ObjectMapper objectMapper,
+                                 @Value("${products.warm-up.enabled:true}") boolean enabled,
+                                 @Value("${products.warm-up.iterations:20000}") int iterations,
+                                 @Value("${products.warm-up.max-duration:30s}") Duration maxDuration,
+                                 @Value("${products.warm-up.writes:true}") boolean writes,
+                                 @Value("${products.access-sampling.sample-rate:0.05}") double sampleRate,
+                                 @Value("${products.access-sampling.top-k:100}") int topK,
+                                 @Value("${products.import.path:}") String importPath,
+                                 @Value("${products.snapshot.export-path:}") String exportPath) {
+        boolean runsAsCommand = !importPath.isBlank() || !exportPath.isBlank();
+        this.warmUp = enabled && !runsAsCommand
+                ? jitWarmUp(productStorage, objectMapper, iterations, maxDuration, writes, sampleRate, topK)
+                : null;
+        this.health = initialHealth(warmUp);
+    }
+
+    private static JitWarmUp jitWarmUp(ProductRepository productStorage, ObjectMapper objectMapper, int iterations,
+                                       Duration maxDuration, boolean writes, double sampleRate, int topK) {
+        ProductService productService = new ProductService(readRepository(productStorage),
+                new AccessSampler(sampleRate, topK));
+        return new JitWarmUp(productService, writes ? scratchService() : null, objectMapper, iterations, maxDuration);
+    }
+
+    /**
+     * @return the storage with the read decorators of the application's repository, guarded by a
+     *         negative lookup filter that the application's metrics do not see
+     */
+    private static ProductRepository readRepository(ProductRepository productStorage) {
+        return new CoalescingProductRepository(new NegativeLookupProductRepository(
+                new FlightRecordingProductRepository(productStorage), new NegativeLookupFilter(0.01, 1024 * 1024)));
+    }
+
+    /**
+     * @return a service over an empty repository with the decorators of the application's repository
+     */
+    private static ProductService scratchService() {
+        ProductRepository storage = new NegativeLookupProductRepository(new ChangeTrackingProductRepository(
+                new FlightRecordingProductRepository(new MockProductRepository(List.of()))),
+                new NegativeLookupFilter(0.01, 64 * 1024));
+        return new ProductService(new CoalescingProductRepository(
+                new ColumnIndexingProductRepository(storage, new ProductColumnStore())));
+    }
+
+    /**
+     * @param warmUp the warm-up to run, or null if warming up is disabled
+     */
+    WarmUpHealthIndicator(JitWarmUp warmUp) {
+        this.warmUp = warmUp;
+        this.health = initialHealth(warmUp);
+    }
+
+    private static Health initialHealth(JitWarmUp warmUp) {
+        return warmUp == null
+                ? Health.up().withDetail("state", "disabled").build()
+                : Health.outOfService().withDetail("state", "pending").build();
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        // The management server, if it runs on a port of its own, has a namespace
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            serverUri = URI.create("http://localhost:" + event.getWebServer().getPort());
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (warmUp == null) {
+            return;
+        }
+        health = Health.outOfService().withDetail("state", "running").build();
+        Thread thread = new Thread(this::warmUp, "jit-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        try {
+            JitWarmUp.Report report = warmUp.run(serverUri);
+            log.info("Warmed up with {} iterations and {} requests in {} ms, "
+                            + "mean iteration latency {} µs cold, {} µs warm",
+                    report.getIterations(), report.getRequests(), report.getDuration().toMillis(),
+                    String.format("%.1f", report.getColdMicros()), String.format("%.1f", report.getWarmMicros()));
+            health = Health.up()
+                    .withDetail("state", "done")
+                    .withDetail("iterations", report.getIterations())
+                    .withDetail("requests", report.getRequests())
+                    .withDetail("durationMillis", report.getDuration().toMillis())
+                    .withDetail("coldMicros", report.getColdMicros())
+                    .withDetail("warmMicros", report.getWarmMicros())
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up failed, accepting traffic anyway", e);
+            health = Health.up().withDetail("state", "failed").withException(e).build();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.productmanagement.application;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.repository.MockProductRepository;
+import com.example.productmanagement.products.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JitWarmUpTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void run_ShouldRunAllIterationsAndReportLatencies(TestReporter testReporter) {
+        // Arrange
+        ProductService productService = new ProductService(new MockProductRepository());
+        JitWarmUp warmUp = new JitWarmUp(productService, scratchService(), objectMapper, 2_000,
+                Duration.ofMinutes(1));
+
+        // Act
+        JitWarmUp.Report report = warmUp.run();
+        testReporter.publishEntry("coldMicros", String.format("%.1f", report.getColdMicros()));
+        testReporter.publishEntry("warmMicros", String.format("%.1f", report.getWarmMicros()));
+
+        // Assert
+        assertThat(report.getIterations()).isEqualTo(2_000);
+        assertThat(report.getRequests()).isZero();
+        assertThat(report.getColdMicros()).isPositive();
+        assertThat(report.getWarmMicros()).isPositive();
+    }
+
+    @Test
+    void run_WithWrites_ShouldNotChangeTheReadRepository() {
+        // Arrange
+        ProductService productService = new ProductService(new MockProductRepository());
+        List<Product> before = productService.getAllProducts();
+        ProductService writeService = scratchService();
+        JitWarmUp warmUp = new JitWarmUp(productService, writeService, objectMapper, 100, Duration.ofMinutes(1));
+
+        // Act
+        warmUp.run();
+
+        // Assert
+        assertThat(productService.getAllProducts()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(before);
+        assertThat(writeService.getAllProducts()).isEmpty();
+    }
+
+    @Test
+    void run_WithServerUri_ShouldSendRequestsToTheServer() throws IOException {
+        // Arrange
+        List<String> paths = new CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            paths.add(exchange.getRequestMethod() + " " + exchange.getRequestURI());
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        JitWarmUp warmUp = new JitWarmUp(new ProductService(new MockProductRepository()), null, objectMapper, 16,
+                Duration.ofMinutes(1));
+
+        // Act
+        JitWarmUp.Report report;
+        try {
+            report = warmUp.run(URI.create("http://127.0.0.1:" + server.getAddress().getPort()));
+        } finally {
+            server.stop(0);
+        }
+
+        // Assert
+        assertThat(report.getRequests()).isEqualTo(4);
+        assertThat(paths).containsExactly(
+                "POST /api/products/lookup",
+                "GET /api/products/changes?limit=8",
+                "POST /api/products/lookup",
+                "GET /api/products/changes?limit=8&fields=id,name,price,status");
+    }
+
+    @Test
+    void run_WhenServerIsUnreachable_ShouldContinueWithoutRequests() throws IOException {
+        // Arrange
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getByName("127.0.0.1"))) {
+            port = socket.getLocalPort();
+        }
+        JitWarmUp warmUp = new JitWarmUp(new ProductService(new MockProductRepository()), null, objectMapper, 100,
+                Duration.ofMinutes(1));
+
+        // Act
+        JitWarmUp.Report report = warmUp.run(URI.create("http://127.0.0.1:" + port));
+
+        // Assert
+        assertThat(report.getIterations()).isEqualTo(100);
+        assertThat(report.getRequests()).isZero();
+    }
+
+    @Test
+    void run_WithEmptyCatalog_ShouldUseSyntheticProduct() {
+        // Arrange
+        ProductService productService = new ProductService(new MockProductRepository(List.of()));
+        JitWarmUp warmUp = new JitWarmUp(productService, null, objectMapper, 100, Duration.ofMinutes(1));
+
+        // Act
+        JitWarmUp.Report report = warmUp.run();
+
+        // Assert
+        assertThat(report.getIterations()).isEqualTo(100);
+        assertThat(productService.getAllProducts()).isEmpty();
+    }
+
+    @Test
+    void run_WhenMaxDurationHasPassed_ShouldStopEarly() {
+        // Arrange
+        ProductService productService = new ProductService(new MockProductRepository());
+        JitWarmUp warmUp = new JitWarmUp(productService, scratchService(), objectMapper, 1_000_000, Duration.ZERO);
+
+        // Act
+        JitWarmUp.Report report = warmUp.run();
+
+        // Assert
+        assertThat(report.getIterations()).isZero();
+        assertThat(report.getColdMicros()).isZero();
+    }
+
+    @Test
+    void constructor_WithoutIterations_ShouldThrowException() {
+        // Arrange
+        ProductService productService = new ProductService(new MockProductRepository());
+
+        // Act & Assert
+        assertThatThrownBy(() -> new JitWarmUp(productService, null, objectMapper, 0, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ProductService scratchService() {
+        return new ProductService(new MockProductRepository(List.of()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.productmanagement.application;
+
+import com.example.productmanagement.products.repository.MockProductRepository;
+import com.example.productmanagement.products.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmUpHealthIndicatorTest {
+
+    @Test
+    void health_WhenDisabled_ShouldBeUp() {
+        // Arrange
+        WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(null);
+
+        // Act
+        indicator.run(new DefaultApplicationArguments());
+        Health health = indicator.health();
+
+        // Assert
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("state", "disabled");
+    }
+
+    @Test
+    void health_ShouldBeOutOfServiceUntilWarmUpIsDone() throws InterruptedException {
+        // Arrange
+        JitWarmUp warmUp = new JitWarmUp(new ProductService(new MockProductRepository()), null,
+                Jackson2ObjectMapperBuilder.json().build(), 1_000, Duration.ofMinutes(1));
+        WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(warmUp);
+        Status before = indicator.health().getStatus();
+
+        // Act
+        indicator.run(new DefaultApplicationArguments());
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (indicator.health().getStatus() != Status.UP && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Health after = indicator.health();
+
+        // Assert
+        assertThat(before).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(after.getStatus()).isEqualTo(Status.UP);
+        assertThat(after.getDetails())
+                .containsEntry("state", "done")
+                .containsEntry("iterations", 1_000)
+                .containsKeys("coldMicros", "warmMicros");
+    }
+}
@@ -0,0 +1,58 @@
+import org.gradle.api.Plugin
+import org.gradle.api.Project
+import org.gradle.api.tasks.JavaExec
+
+class BenchmarkConventionsPlugin implements Plugin<Project> {
+    void apply(Project project) {
+        // Apply necessary plugins
+        project.plugins.apply('java')
+
+        // Configure a dedicated source set for JMH benchmarks
+        def sourceSets = project.sourceSets
+        def jmh = sourceSets.create('jmh') {
+            java.srcDir project.file('src/jmh/java')
+            resources.srcDir project.file('src/jmh/resources')
+            compileClasspath += sourceSets.main.output
+            runtimeClasspath += sourceSets.main.output
+        }
+
+        project.configurations.getByName(jmh.implementationConfigurationName).extendsFrom(
+                project.configurations.getByName('implementation'))
+        project.configurations.getByName(jmh.runtimeOnlyConfigurationName).extendsFrom(
+                project.configurations.getByName('runtimeOnly'))
+
+        // Apply JMH dependencies
+        project.dependencies {
+            project.getConfigurations().getByName(jmh.implementationConfigurationName).getDependencies().add(
+                    project.getDependencies().create('org.openjdk.jmh:jmh-core:1.37')
+            )
+            project.getConfigurations().getByName(jmh.annotationProcessorConfigurationName).getDependencies().add(
+                    project.getDependencies().create('org.openjdk.jmh:jmh-generator-annprocess:1.37')
+            )
+        }
+
+        // Run benchmarks, e.g. ./gradlew :products:jmh -Pjmh.includes=ColumnStore -Pjmh.args="-f 1 -wi 2 -i 3"
+        project.tasks.register('jmh', JavaExec) {
+            description = 'Runs JMH benchmarks.'
+            group = 'verification'
+
+            def resultFile = project.layout.buildDirectory.file('reports/jmh/results.json')
+            classpath = jmh.runtimeClasspath
+            mainClass = 'org.openjdk.jmh.Main'
+            outputs.upToDateWhen { false }
+
+            doFirst {
+                def jmhArgs = []
+                if (project.hasProperty('jmh.includes')) {
+                    jmhArgs << project.property('jmh.includes').toString()
+                }
+                if (project.hasProperty('jmh.args')) {
+                    jmhArgs.addAll(project.property('jmh.args').toString().tokenize())
+                }
+                resultFile.get().asFile.parentFile.mkdirs()
+                jmhArgs.addAll(['-rf', 'json', '-rff', resultFile.get().asFile.absolutePath])
+                args = jmhArgs
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.productmanagement.common.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sorting and summing prices held as {@link Money} with the same prices as {@link BigDecimal}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private List<BigDecimal> decimals;
+    private List<Money> amounts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimals = new ArrayList<>(size);
+        amounts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long cents = random.nextInt(10_000_000);
+            decimals.add(BigDecimal.valueOf(cents, 2));
+            amounts.add(Money.ofMinor(cents));
+        }
+    }
+
+    @Benchmark
+    public List<BigDecimal> sortBigDecimal() {
+        List<BigDecimal> sorted = new ArrayList<>(decimals);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Money> sortMoney() {
+        List<Money> sorted = new ArrayList<>(amounts);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal decimal : decimals) {
+            total = total.add(decimal);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money sumMoney() {
+        return Money.sum(amounts, Money.DEFAULT_CURRENCY);
+    }
+
+    @Benchmark
+    public Money sumMoneyByPlus() {
+        Money total = Money.ZERO;
+        for (Money amount : amounts) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+}
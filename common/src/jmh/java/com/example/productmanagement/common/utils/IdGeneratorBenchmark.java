@@ -0,0 +1,34 @@
+package com.example.productmanagement.common.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares concurrent ID generation with {@link IdGenerator} against {@link UUID#randomUUID()}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class IdGeneratorBenchmark {
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String timeOrderedId() {
+        return IdGenerator.nextId();
+    }
+
+    @Benchmark
+    public UUID timeOrderedUuid() {
+        return IdGenerator.nextUuid();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.productmanagement.common.model;
 
+import com.example.productmanagement.common.utils.IdGenerator;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
@@ -21,7 +22,7 @@ public abstract class BaseEntity {
     
     public void prePersist() {
         if (this.id == null) {
-            this.id = java.util.UUID.randomUUID().toString();
+            this.id = IdGenerator.nextId();
         }
         
         if (this.createdAt == null) {
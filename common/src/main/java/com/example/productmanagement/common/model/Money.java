@@ -0,0 +1,255 @@
+package com.example.productmanagement.common.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Monetary amount held as a whole number of minor units (e.g. cents) of a currency
+ * <p>
+ * Arithmetic and comparison work on the long directly: comparison allocates nothing, and arithmetic
+ * allocates only the result, which the JIT scalar-replaces when it does not escape. Totals over many
+ * amounts are computed by {@link #sum(Iterable, Currency)} without intermediate objects.
+ * Amounts convert exactly from and to {@link BigDecimal}; an amount with more decimal places
+ * than the currency has minor units is rejected rather than rounded. Overflow throws
+ * {@link ArithmeticException}.
+ * <p>
+ * In JSON an amount is written as a plain decimal number with as many decimal places as its
+ * currency has minor units, e.g. {@code 100.00}, without the currency; numbers and numeric strings
+ * are accepted when reading and taken to be in the {@link #DEFAULT_CURRENCY}.
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public final class Money implements Comparable<Money> {
+
+    /**
+     * The currency of amounts that do not name one, such as amounts read from JSON
+     */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    private static final BigDecimal MIN_MINOR_UNITS = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAX_MINOR_UNITS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * @param minorUnits the amount in minor units of the default currency, e.g. cents
+     * @return the amount
+     */
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * @param minorUnits the amount in minor units of the currency
+     * @param currency the currency
+     * @return the amount
+     */
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency must not be null");
+        }
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * @param amount the amount in the default currency, e.g. 99.90
+     * @return the amount
+     * @throws ArithmeticException if the amount has more decimal places than the currency allows,
+     *                             or does not fit in a long of minor units
+     */
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * @param amount the amount in the currency
+     * @param currency the currency
+     * @return the amount
+     * @throws ArithmeticException if the amount has more decimal places than the currency allows,
+     *                             or does not fit in a long of minor units
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        int fractionDigits = fractionDigits(currency);
+        BigDecimal minorUnits = amount.movePointRight(fractionDigits);
+        if (minorUnits.signum() != 0 && minorUnits.stripTrailingZeros().scale() > 0) {
+            throw new ArithmeticException("Amount must have at most " + fractionDigits + " decimal places");
+        }
+        if (minorUnits.compareTo(MIN_MINOR_UNITS) < 0 || minorUnits.compareTo(MAX_MINOR_UNITS) > 0) {
+            throw new ArithmeticException("Amount must be between " + BigDecimal.valueOf(Long.MIN_VALUE, fractionDigits)
+                    + " and " + BigDecimal.valueOf(Long.MAX_VALUE, fractionDigits));
+        }
+        return ofMinor(minorUnits.longValue(), currency);
+    }
+
+    /**
+     * @param amount the amount in the default currency as a decimal string, e.g. "99.90"
+     * @return the amount
+     * @throws NumberFormatException if the string is not a decimal number
+     * @throws ArithmeticException if the amount has more decimal places than the currency allows,
+     *                             or does not fit in a long of minor units
+     */
+    public static Money parse(String amount) {
+        return of(new BigDecimal(amount.trim()));
+    }
+
+    /**
+     * Adds up amounts in a single long, allocating only the result; prefer this over chaining
+     * {@link #plus(Money)} in a loop, whose intermediate results escape analysis cannot remove
+     *
+     * @param amounts the amounts, all in the given currency
+     * @param currency the currency of the amounts and of the total
+     * @return the total, zero if there are no amounts
+     */
+    public static Money sum(Iterable<Money> amounts, Currency currency) {
+        long total = 0;
+        for (Money amount : amounts) {
+            if (!currency.equals(amount.currency)) {
+                throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + amount.currency);
+            }
+            total = Math.addExact(total, amount.minorUnits);
+        }
+        return ofMinor(total, currency);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        checkSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        checkSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    /**
+     * @return -1, 0 or 1 as the amount is negative, zero or positive
+     */
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return compareTo(other) > 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return compareTo(other) < 0;
+    }
+
+    /**
+     * Compares amounts of the same currency
+     *
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    @Override
+    public int compareTo(Money other) {
+        checkSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * @return the amount with as many decimal places as the currency has minor units
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private void checkSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static int fractionDigits(Currency currency) {
+        // Pseudo-currencies such as XXX report -1
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+
+    public static class Serializer extends StdScalarSerializer<Money> {
+
+        public Serializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.toBigDecimal());
+        }
+    }
+
+    public static class Deserializer extends StdScalarDeserializer<Money> {
+
+        public Deserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            BigDecimal amount;
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT || p.currentToken() == JsonToken.VALUE_NUMBER_FLOAT) {
+                amount = p.getDecimalValue();
+            } else if (p.currentToken() == JsonToken.VALUE_STRING) {
+                try {
+                    amount = new BigDecimal(p.getText().trim());
+                } catch (NumberFormatException e) {
+                    throw InvalidFormatException.from(p, "Not a decimal amount", p.getText(), Money.class);
+                }
+            } else {
+                return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+            }
+            try {
+                return of(amount);
+            } catch (ArithmeticException e) {
+                // The message tells too many decimal places from an amount out of range
+                throw InvalidFormatException.from(p, e.getMessage(), amount, Money.class);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.productmanagement.common.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered, monotonic 128-bit IDs in the UUID version 7 layout
+ * <p>
+ * The high 64 bits hold a 48-bit Unix timestamp in milliseconds, the version and a 12-bit
+ * sequence; the low 64 bits hold the variant and 62 random bits from {@link ThreadLocalRandom}.
+ * Timestamp and sequence are drawn together from one atomic counter, so IDs are strictly
+ * increasing within the process (also when the clock steps back) without locking or
+ * {@link java.security.SecureRandom}. More than 4096 IDs in a millisecond borrow from the
+ * next millisecond until the clock catches up.
+ */
+public class IdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // Milliseconds since the epoch shifted left by SEQUENCE_BITS, plus the sequence
+    private static final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    private IdGenerator() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Generates a new ID in its canonical string form; IDs compare in creation order as strings
+     *
+     * @return the new ID
+     */
+    public static String nextId() {
+        return nextUuid().toString();
+    }
+
+    /**
+     * Generates a new ID
+     *
+     * @return the new version 7 UUID
+     */
+    public static UUID nextUuid() {
+        long timeAndSequence = nextTimeAndSequence();
+        long mostSigBits = (timeAndSequence >>> SEQUENCE_BITS) << 16
+                | VERSION_7
+                | (timeAndSequence & ((1L << SEQUENCE_BITS) - 1));
+        long leastSigBits = VARIANT_RFC_4122 | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Extracts the creation time of an ID produced by this generator
+     *
+     * @param id the ID
+     * @return the creation time in milliseconds since the epoch
+     */
+    public static long timestampOf(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static long nextTimeAndSequence() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        while (true) {
+            // Within a millisecond a single atomic increment hands out the next sequence
+            long next = lastTimeAndSequence.incrementAndGet();
+            if (next >= now) {
+                return next;
+            }
+            // The clock has moved on: jump to its first sequence unless another thread already did
+            if (lastTimeAndSequence.compareAndSet(next, now)) {
+                return now;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.productmanagement.common.model;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parse_ShouldConvertToMinorUnitsExactly() {
+        // Act
+        Money price = Money.parse("99.9");
+
+        // Assert
+        assertThat(price.getMinorUnits()).isEqualTo(9990);
+        assertThat(price.getCurrency()).isEqualTo(Money.DEFAULT_CURRENCY);
+        assertThat(price.toBigDecimal()).isEqualTo(new BigDecimal("99.90"));
+        assertThat(price).isEqualTo(Money.ofMinor(9990)).hasSameHashCodeAs(Money.ofMinor(9990));
+    }
+
+    @Test
+    void of_WithMoreDecimalPlacesThanCurrency_ShouldThrow() {
+        assertThatThrownBy(() -> Money.parse("1.999")).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("5.5"), Currency.getInstance("JPY")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThat(Money.of(new BigDecimal("1.9900")).getMinorUnits()).isEqualTo(199);
+    }
+
+    @Test
+    void of_WithAmountBeyondLongRange_ShouldThrowRangeError() {
+        assertThatThrownBy(() -> Money.parse("92233720368547758.08"))
+                .isInstanceOf(ArithmeticException.class)
+                .hasMessage("Amount must be between -92233720368547758.08 and 92233720368547758.07");
+        assertThatThrownBy(() -> Money.parse("1e30")).hasMessageStartingWith("Amount must be between");
+        assertThat(Money.parse("-92233720368547758.08").getMinorUnits()).isEqualTo(Long.MIN_VALUE);
+        assertThat(Money.parse("1E+2").getMinorUnits()).isEqualTo(10000);
+    }
+
+    @Test
+    void arithmetic_ShouldWorkOnMinorUnits() {
+        // Arrange
+        Money price = Money.parse("19.99");
+
+        // Act
+        Money total = price.times(3).plus(Money.parse("0.03")).minus(Money.parse("10"));
+
+        // Assert
+        assertThat(total).isEqualTo(Money.parse("50.00"));
+        assertThat(total.signum()).isEqualTo(1);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void sum_ShouldAddUpAmountsOfOneCurrency() {
+        // Arrange
+        List<Money> amounts = List.of(Money.parse("1.10"), Money.parse("2.20"), Money.parse("-0.30"));
+
+        // Act
+        Money total = Money.sum(amounts, Money.DEFAULT_CURRENCY);
+
+        // Assert
+        assertThat(total).isEqualTo(Money.parse("3.00"));
+        assertThat(Money.sum(List.of(), Money.DEFAULT_CURRENCY)).isEqualTo(Money.ZERO);
+        assertThatThrownBy(() -> Money.sum(amounts, Currency.getInstance("EUR")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void compareTo_ShouldOrderAmountsOfSameCurrency() {
+        // Arrange
+        List<Money> prices = new ArrayList<>(List.of(Money.parse("10"), Money.parse("-1"), Money.parse("2.50")));
+
+        // Act
+        Collections.sort(prices);
+
+        // Assert
+        assertThat(prices).containsExactly(Money.parse("-1"), Money.parse("2.50"), Money.parse("10"));
+        assertThat(Money.parse("2").isGreaterThan(Money.parse("1.99"))).isTrue();
+        assertThat(Money.parse("2").isLessThan(Money.parse("1.99"))).isFalse();
+    }
+
+    @Test
+    void compareTo_WithDifferentCurrencies_ShouldThrow() {
+        // Arrange
+        Money euros = Money.ofMinor(100, Currency.getInstance("EUR"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> Money.ofMinor(100).compareTo(euros)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.ofMinor(100).plus(euros)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(Money.ofMinor(100)).isNotEqualTo(euros);
+    }
+
+    @Test
+    void json_ShouldBeWrittenAndReadAsPlainNumber() throws Exception {
+        // Act
+        String json = objectMapper.writeValueAsString(Map.of("price", Money.parse("99.9")));
+        Money fromNumber = objectMapper.readValue("12.5", Money.class);
+        Money fromString = objectMapper.readValue("\"7\"", Money.class);
+
+        // Assert
+        assertThat(json).isEqualTo("{\"price\":99.90}");
+        assertThat(fromNumber).isEqualTo(Money.parse("12.50"));
+        assertThat(fromString).isEqualTo(Money.parse("7.00"));
+    }
+
+    @Test
+    void json_WithTooManyDecimalPlacesOrNoNumber_ShouldFail() {
+        assertThatThrownBy(() -> objectMapper.readValue("1.999", Money.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("at most 2 decimal places");
+        assertThatThrownBy(() -> objectMapper.readValue("1e30", Money.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("Amount must be between")
+                .hasMessageNotContaining("decimal places");
+        assertThatThrownBy(() -> objectMapper.readValue("\"cheap\"", Money.class))
+                .isInstanceOf(JsonMappingException.class);
+        assertThatThrownBy(() -> objectMapper.readValue("true", Money.class))
+                .isInstanceOf(JsonMappingException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.productmanagement.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdGeneratorTest {
+
+    @Test
+    void nextUuid_ShouldUseVersion7LayoutWithCurrentTimestamp() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID id = IdGenerator.nextUuid();
+
+        // Assert
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // Bursts may borrow a few milliseconds ahead of the clock
+        assertThat(IdGenerator.timestampOf(id)).isBetween(before, System.currentTimeMillis() + 1_000);
+    }
+
+    @Test
+    void nextId_InSequence_ShouldBeStrictlyIncreasingAsStrings() {
+        // Act
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(IdGenerator.nextId());
+        }
+
+        // Assert
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+        }
+        assertThat(ids.get(0)).hasSize(36);
+    }
+
+    @Test
+    void nextUuid_FromConcurrentThreads_ShouldBeUnique() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<List<UUID>>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+                List<UUID> ids = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(IdGenerator.nextUuid());
+                }
+                return ids;
+            });
+        }
+
+        // Act
+        Set<Long> timeAndSequence = new HashSet<>();
+        try {
+            for (Future<List<UUID>> result : executor.invokeAll(tasks)) {
+                for (UUID id : result.get(30, TimeUnit.SECONDS)) {
+                    timeAndSequence.add(id.getMostSignificantBits());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert - uniqueness holds even without the random low bits
+        assertThat(timeAndSequence).hasSize(threads * perThread);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.productmanagement.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The application under test, started as a separate JVM on a free local port
+ */
+public class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final URI baseUri;
+
+    private ApplicationProcess(Process process, URI baseUri) {
+        this.process = process;
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Starts the application and waits until its health endpoint reports UP
+     *
+     * @param config the load test settings holding the java executable, class path and main class
+     * @param log the file receiving the application's output
+     * @return the running application
+     * @throws IOException if the application cannot be started or does not become healthy in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static ApplicationProcess start(LoadTestConfig config, Path log) throws IOException, InterruptedException {
+        if (config.getAppClasspath() == null || config.getAppMainClass() == null) {
+            throw new IllegalArgumentException("Either --target-url or --app-classpath and --app-main-class are required");
+        }
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Files.createDirectories(log.getParent());
+        Process process = new ProcessBuilder(List.of(config.getJava(), "-cp", config.getAppClasspath(),
+                config.getAppMainClass(), "--server.port=" + port))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(process, URI.create("http://localhost:" + port));
+
+        try {
+            application.awaitHealthy(log);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            application.close();
+            throw e;
+        }
+        return application;
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    private void awaitHealthy(Path log) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Application exited with code " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IOException("Application did not become healthy within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.productmanagement.loadtest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Summarizes the product events of a Flight Recorder recording into a latency table per
+ * operation: one row per service operation, and one per repository and operation
+ * <p>
+ * Run with {@code ./gradlew :loadtest:jfrSummary -Pjfr.file=<recording.jfr>}.
+ */
+public class FlightRecordingSummary {
+
+    static final String SERVICE_EVENT = "com.example.productmanagement.ServiceOperation";
+    static final String REPOSITORY_EVENT = "com.example.productmanagement.RepositoryOperation";
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String FORMAT = "%-28s %-22s %8s %7s %10s %9s %9s %9s %9s %9s %9s%n";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: FlightRecordingSummary <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(format(summarize(Path.of(args[0]))));
+    }
+
+    /**
+     * Reads the service and repository events of a recording
+     *
+     * @param recording the recording file
+     * @return one row per layer and operation, the largest total time first
+     */
+    public static List<Row> summarize(Path recording) throws IOException {
+        Map<String, Accumulator> accumulators = new HashMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String type = event.getEventType().getName();
+                String layer;
+                if (SERVICE_EVENT.equals(type)) {
+                    layer = "ProductService";
+                } else if (REPOSITORY_EVENT.equals(type)) {
+                    layer = event.getString("repository");
+                } else {
+                    continue;
+                }
+                String operation = event.getString("operation");
+                accumulators.computeIfAbsent(layer + '\0' + operation, key -> new Accumulator(layer, operation))
+                        .add(event.getDuration().toNanos(), event.getInt("resultSize"),
+                                event.getString("error") != null);
+            }
+        }
+        return accumulators.values().stream()
+                .map(Accumulator::toRow)
+                .sorted(Comparator.comparingDouble(Row::totalMillis).reversed())
+                .toList();
+    }
+
+    /**
+     * @param rows the rows to format
+     * @return the rows as a text table, times in milliseconds
+     */
+    public static String format(List<Row> rows) {
+        StringBuilder table = new StringBuilder(String.format(FORMAT,
+                "layer", "operation", "count", "errors", "total ms", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms",
+                "avg size"));
+        for (Row row : rows) {
+            table.append(String.format(FORMAT, row.layer(), row.operation(), row.count(), row.errors(),
+                    String.format("%.1f", row.totalMillis()), String.format("%.3f", row.meanMillis()),
+                    String.format("%.3f", row.p50Millis()), String.format("%.3f", row.p90Millis()),
+                    String.format("%.3f", row.p99Millis()), String.format("%.3f", row.maxMillis()),
+                    String.format("%.1f", row.meanResultSize())));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Latency statistics of one operation; {@code errors} counts the calls that threw
+     */
+    public record Row(String layer, String operation, long count, long errors, double totalMillis,
+                      double meanMillis, double p50Millis, double p90Millis, double p99Millis, double maxMillis,
+                      double meanResultSize) {
+    }
+
+    private static class Accumulator {
+        private final String layer;
+        private final String operation;
+        // Microseconds
+        private final Histogram durations = new Histogram(3);
+        private long totalNanos;
+        private long totalResultSize;
+        private long errors;
+
+        Accumulator(String layer, String operation) {
+            this.layer = layer;
+            this.operation = operation;
+        }
+
+        void add(long durationNanos, int resultSize, boolean failed) {
+            durations.recordValue(Math.max(1, durationNanos / 1000));
+            totalNanos += durationNanos;
+            totalResultSize += resultSize;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        Row toRow() {
+            long count = durations.getTotalCount();
+            return new Row(layer, operation, count, errors, totalNanos / 1e6, totalNanos / 1e6 / count,
+                    millis(50), millis(90), millis(99), durations.getMaxValue() / MICROS_PER_MILLI,
+                    (double) totalResultSize / count);
+        }
+
+        private double millis(double percentile) {
+            return durations.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+        }
+    }
+}
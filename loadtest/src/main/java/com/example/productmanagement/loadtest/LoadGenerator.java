@@ -0,0 +1,199 @@
+package com.example.productmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator.
+ * <p>
+ * Requests are scheduled at fixed intervals derived from the target rate and each one is sent
+ * on its own virtual thread, so a slow response never delays the requests behind it. Latency is
+ * measured from the intended send time; if the generator itself falls behind schedule, the delay
+ * is charged to the request instead of being silently omitted (coordinated omission correction).
+ */
+public class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private List<String> productIds;
+    private List<String> categories;
+
+    public LoadGenerator(LoadTestConfig config, URI baseUri) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+
+        this.operations = config.getMix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.getMix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Runs the warm-up and measurement phases
+     *
+     * @return the recorded results of the measurement phase
+     * @throws IOException if the initial catalog cannot be loaded
+     * @throws InterruptedException if interrupted while running
+     */
+    public LoadTestResult run() throws IOException, InterruptedException {
+        loadCatalog();
+
+        Map<Operation, OperationResult> results = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            results.put(operation, new OperationResult());
+        }
+
+        long intervalNanos = 1_000_000_000L / config.getRate();
+        long start = System.nanoTime();
+        long measurementStart = start + config.getWarmup().toNanos();
+        long end = measurementStart + config.getDuration().toNanos();
+        Semaphore inFlight = new Semaphore(config.getMaxInFlight());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                parkUntil(intendedStart);
+                inFlight.acquire();
+
+                Operation operation = nextOperation();
+                OperationResult result = intendedStart >= measurementStart ? results.get(operation) : null;
+                executor.execute(() -> {
+                    try {
+                        execute(operation, intendedStart, result);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+
+        return new LoadTestResult(config, results, config.getDuration());
+    }
+
+    private void loadCatalog() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(baseUri.resolve("/api/products")).timeout(REQUEST_TIMEOUT).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Could not load catalog: HTTP " + response.statusCode());
+        }
+
+        List<String> ids = new ArrayList<>();
+        Set<String> categorySet = new TreeSet<>();
+        for (JsonNode product : objectMapper.readTree(response.body())) {
+            ids.add(product.path("id").asText());
+            product.path("categories").forEach(category -> categorySet.add(category.asText()));
+        }
+        if (ids.isEmpty()) {
+            throw new IOException("The catalog is empty, nothing to read");
+        }
+        this.productIds = List.copyOf(ids);
+        this.categories = categorySet.isEmpty() ? List.of("Electronics") : List.copyOf(categorySet);
+    }
+
+    private Operation nextOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void execute(Operation operation, long intendedStart, OperationResult result) {
+        long actualStart = System.nanoTime();
+        try {
+            int status = client.send(request(operation), HttpResponse.BodyHandlers.discarding()).statusCode();
+            long end = System.nanoTime();
+            if (result != null) {
+                if (status >= 200 && status < 300) {
+                    result.recordSuccess(intendedStart, actualStart, end);
+                } else {
+                    result.recordError();
+                }
+            }
+        } catch (IOException e) {
+            if (result != null) {
+                result.recordError();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest request(Operation operation) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case READ -> HttpRequest.newBuilder(
+                            baseUri.resolve("/api/products/" + productIds.get(random.nextInt(productIds.size()))))
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+            case CATEGORY -> HttpRequest.newBuilder(baseUri.resolve("/api/products/category/"
+                            + URLEncoder.encode(categories.get(random.nextInt(categories.size())), StandardCharsets.UTF_8)
+                            .replace("+", "%20")))
+                    .timeout(REQUEST_TIMEOUT)
+                    .build();
+            case WRITE -> HttpRequest.newBuilder(baseUri.resolve("/api/products"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(newProduct(random))))
+                    .build();
+        };
+    }
+
+    private Map<String, Object> newProduct(ThreadLocalRandom random) {
+        long sequence = writeSequence.incrementAndGet();
+        Map<String, Object> product = new LinkedHashMap<>();
+        product.put("name", "Load Test Product " + sequence);
+        product.put("description", "Created by the load test");
+        product.put("sku", "LOAD-" + sequence);
+        product.put("price", random.nextInt(1, 100_000) / 100.0);
+        product.put("quantityInStock", random.nextInt(100));
+        product.put("categories", List.of(categories.get(random.nextInt(categories.size()))));
+        product.put("status", "ACTIVE");
+        return product;
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.productmanagement.loadtest;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Command-line entry point of the load test.
+ * <p>
+ * Boots the application (unless {@code --target-url} points at a running instance), drives the
+ * configured request mix at the target rate and writes JSON and HTML reports.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+
+        LoadTestResult result;
+        if (config.getTargetUrl() != null) {
+            result = new LoadGenerator(config, URI.create(config.getTargetUrl())).run();
+        } else {
+            try (ApplicationProcess application = ApplicationProcess.start(config,
+                    config.getReportDir().resolve("application.log"))) {
+                result = new LoadGenerator(config, application.getBaseUri()).run();
+            }
+        }
+
+        LoadTestReport report = new LoadTestReport();
+        report.write(result, config.getReportDir());
+
+        System.out.printf("%-9s %9s %7s %10s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+        for (Map.Entry<String, Map<String, Object>> entry : report.summarize(result).entrySet()) {
+            Map<String, Object> statistics = entry.getValue();
+            @SuppressWarnings("unchecked")
+            Map<String, Object> latency = (Map<String, Object>) statistics.get("latencyMillis");
+            System.out.printf("%-9s %9s %7s %10s %9s %9s %9s%n", entry.getKey(), statistics.get("requests"),
+                    statistics.get("errors"), statistics.get("throughputPerSecond"),
+                    latency.get("p50"), latency.get("p99"), latency.get("p999"));
+        }
+        System.out.println("Load test report written to " + config.getReportDir().toAbsolutePath());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.productmanagement.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, parsed from {@code --name=value} command-line arguments
+ */
+@Value
+@Builder
+public class LoadTestConfig {
+
+    /** Base URL of an already running instance; when null the application is booted locally */
+    String targetUrl;
+    /** Target request rate in requests per second */
+    @Builder.Default
+    int rate = 200;
+    @Builder.Default
+    Duration duration = Duration.ofSeconds(30);
+    /** Initial period whose requests are sent but not recorded */
+    @Builder.Default
+    Duration warmup = Duration.ofSeconds(10);
+    /** Relative weight of each operation */
+    @Builder.Default
+    Map<Operation, Integer> mix = parseMix("read:70,write:10,category:20");
+    /** Upper bound on concurrent requests */
+    @Builder.Default
+    int maxInFlight = 1024;
+    @Builder.Default
+    Path reportDir = Path.of("build", "reports", "loadtest");
+    @Builder.Default
+    String java = "java";
+    String appClasspath;
+    String appMainClass;
+
+    public static LoadTestConfig fromArgs(String... args) {
+        LoadTestConfigBuilder builder = builder();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "target-url" -> builder.targetUrl(value);
+                case "rate" -> builder.rate(positive(name, Integer.parseInt(value)));
+                case "duration" -> builder.duration(Duration.ofSeconds(positive(name, Integer.parseInt(value))));
+                case "warmup" -> builder.warmup(Duration.ofSeconds(Integer.parseInt(value)));
+                case "mix" -> builder.mix(parseMix(value));
+                case "max-in-flight" -> builder.maxInFlight(positive(name, Integer.parseInt(value)));
+                case "report-dir" -> builder.reportDir(Path.of(value));
+                case "java" -> builder.java(value);
+                case "app-classpath" -> builder.appClasspath(value);
+                case "app-main-class" -> builder.appMainClass(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parses an operation mix such as {@code read:70,write:10,category:20}
+     *
+     * @param mix the mix specification
+     * @return the weight of each listed operation
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    private static int positive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.productmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes load test results as JSON ({@code loadtest.json}), HTML ({@code html/index.html})
+ * and HdrHistogram percentile distributions ({@code <operation>.hgrm}, in milliseconds)
+ */
+public class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Summarizes a result into per-operation and total statistics
+     *
+     * @param result the load test result
+     * @return the summary, keyed by operation name and "TOTAL"
+     */
+    public Map<String, Map<String, Object>> summarize(LoadTestResult result) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        Histogram totalLatency = new Histogram(3);
+        Histogram totalServiceTime = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, OperationResult> entry : result.getOperations().entrySet()) {
+            OperationResult operation = entry.getValue();
+            summary.put(entry.getKey().name(), statistics(operation.getLatency(), operation.getServiceTime(),
+                    operation.getErrors(), result));
+            totalLatency.add(operation.getLatency());
+            totalServiceTime.add(operation.getServiceTime());
+            totalErrors += operation.getErrors();
+        }
+        summary.put("TOTAL", statistics(totalLatency, totalServiceTime, totalErrors, result));
+        return summary;
+    }
+
+    /**
+     * Writes all report formats
+     *
+     * @param result the load test result
+     * @param reportDir the directory to write to
+     * @throws IOException if writing fails
+     */
+    public void write(LoadTestResult result, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir.resolve("html"));
+        Map<String, Map<String, Object>> summary = summarize(result);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("config", configuration(result.getConfig()));
+        json.put("operations", summary);
+        objectMapper.writeValue(reportDir.resolve("loadtest.json").toFile(), json);
+
+        for (Map.Entry<Operation, OperationResult> entry : result.getOperations().entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(reportDir.resolve(entry.getKey().name().toLowerCase() + ".hgrm")))) {
+                entry.getValue().getLatency().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+
+        Files.writeString(reportDir.resolve("html").resolve("index.html"), html(result.getConfig(), summary));
+    }
+
+    private Map<String, Object> statistics(Histogram latency, Histogram serviceTime, long errors,
+                                           LoadTestResult result) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        long requests = latency.getTotalCount();
+        statistics.put("requests", requests);
+        statistics.put("errors", errors);
+        statistics.put("throughputPerSecond", round(requests / (result.getMeasured().toMillis() / 1000.0)));
+        statistics.put("latencyMillis", percentiles(latency));
+        statistics.put("serviceTimeMillis", percentiles(serviceTime));
+        return statistics;
+    }
+
+    private Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("mean", round(histogram.getMean() / MICROS_PER_MILLI));
+        percentiles.put("p50", millis(histogram, 50.0));
+        percentiles.put("p90", millis(histogram, 90.0));
+        percentiles.put("p99", millis(histogram, 99.0));
+        percentiles.put("p999", millis(histogram, 99.9));
+        percentiles.put("max", round(histogram.getMaxValue() / MICROS_PER_MILLI));
+        return percentiles;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    private static Map<String, Object> configuration(LoadTestConfig config) {
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("targetRatePerSecond", config.getRate());
+        configuration.put("durationSeconds", config.getDuration().toSeconds());
+        configuration.put("warmupSeconds", config.getWarmup().toSeconds());
+        configuration.put("mix", config.getMix());
+        configuration.put("maxInFlight", config.getMaxInFlight());
+        return configuration;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String html(LoadTestConfig config, Map<String, Map<String, Object>> summary) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n")
+                .append("<title>Load Test Report</title>\n")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}th{background:#eee}</style>\n")
+                .append("</head>\n<body>\n<h1>Load Test Report</h1>\n")
+                .append("<p>Target rate ").append(config.getRate()).append(" req/s for ")
+                .append(config.getDuration().toSeconds()).append(" s after ")
+                .append(config.getWarmup().toSeconds()).append(" s warm-up, mix ").append(config.getMix())
+                .append(". Latency is measured from the intended send time (corrected for coordinated omission);")
+                .append(" service time from the actual send time.</p>\n")
+                .append("<table>\n<tr><th>Operation</th><th>Requests</th><th>Errors</th><th>Throughput (req/s)</th>")
+                .append("<th>Mean (ms)</th><th>p50 (ms)</th><th>p90 (ms)</th><th>p99 (ms)</th><th>p99.9 (ms)</th>")
+                .append("<th>Max (ms)</th><th>Service p99 (ms)</th></tr>\n");
+        for (Map.Entry<String, Map<String, Object>> entry : summary.entrySet()) {
+            Map<String, Object> statistics = entry.getValue();
+            Map<String, Object> latency = (Map<String, Object>) statistics.get("latencyMillis");
+            Map<String, Object> serviceTime = (Map<String, Object>) statistics.get("serviceTimeMillis");
+            html.append("<tr><th>").append(entry.getKey()).append("</th>");
+            for (Object value : new Object[]{statistics.get("requests"), statistics.get("errors"),
+                    statistics.get("throughputPerSecond"), latency.get("mean"), latency.get("p50"), latency.get("p90"),
+                    latency.get("p99"), latency.get("p999"), latency.get("max"), serviceTime.get("p99")}) {
+                html.append("<td>").append(value).append("</td>");
+            }
+            html.append("</tr>\n");
+        }
+        return html.append("</table>\n</body>\n</html>\n").toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.productmanagement.loadtest;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Results of the measurement phase of a load test run
+ */
+@Value
+public class LoadTestResult {
+    LoadTestConfig config;
+    Map<Operation, OperationResult> operations;
+    Duration measured;
+}
@@ -0,0 +1,13 @@
+package com.example.productmanagement.loadtest;
+
+/**
+ * Request types driven by the load test
+ */
+public enum Operation {
+    /** GET /api/products/{id} */
+    READ,
+    /** POST /api/products */
+    WRITE,
+    /** GET /api/products/category/{category} */
+    CATEGORY
+}
@@ -0,0 +1,52 @@
+package com.example.productmanagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (in microseconds) and error count recorded for one operation
+ */
+public class OperationResult {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Records a successful request
+     *
+     * @param intendedStartNanos when the request should have been sent according to the target rate
+     * @param actualStartNanos when the request was actually sent
+     * @param endNanos when the response was received
+     */
+    void recordSuccess(long intendedStartNanos, long actualStartNanos, long endNanos) {
+        latency.recordValue(Math.max(1, (endNanos - intendedStartNanos) / 1000));
+        serviceTime.recordValue(Math.max(1, (endNanos - actualStartNanos) / 1000));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * @return latency measured from the intended send time, corrected for coordinated omission
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return latency measured from the actual send time, as a closed-loop client would see it
+     */
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.productmanagement.loadtest;
+
+import com.example.productmanagement.products.jfr.ProductEventRecording;
+import com.example.productmanagement.products.jfr.RepositoryOperationEvent;
+import com.example.productmanagement.products.jfr.ServiceOperationEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecordingSummaryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void summarize_ShouldGroupEventsByLayerAndOperation() throws Exception {
+        // Arrange
+        Path dump = tempDir.resolve("products.jfr");
+        try (ProductEventRecording recording = new ProductEventRecording(Duration.ZERO, Duration.ZERO,
+                Duration.ofMinutes(1), dump)) {
+            recording.start();
+            for (int i = 0; i < 10; i++) {
+                ServiceOperationEvent.start().finish("getProductById", "id-" + i, 1);
+                RepositoryOperationEvent.start().finish("JdbcProductRepository", "findById", "id-" + i, 1);
+            }
+            RepositoryOperationEvent.start().finish("JdbcProductRepository", "findByCategory", "Books", 4);
+            RepositoryOperationEvent.start().finish("JdbcProductRepository", "findByCategory", "Games", 0,
+                    new IllegalStateException("Connection refused"));
+        }
+
+        // Act
+        List<FlightRecordingSummary.Row> rows = FlightRecordingSummary.summarize(dump);
+        String table = FlightRecordingSummary.format(rows);
+
+        // Assert
+        assertThat(rows).extracting(row -> row.layer() + " " + row.operation() + " " + row.count())
+                .containsExactlyInAnyOrder("ProductService getProductById 10", "JdbcProductRepository findById 10",
+                        "JdbcProductRepository findByCategory 2");
+        assertThat(rows).filteredOn(row -> row.operation().equals("findByCategory")).singleElement()
+                .satisfies(row -> {
+                    assertThat(row.meanResultSize()).isEqualTo(2.0);
+                    assertThat(row.errors()).isEqualTo(1);
+                });
+        assertThat(rows).allSatisfy(row -> assertThat(row.p99Millis()).isLessThanOrEqualTo(row.maxMillis()));
+        assertThat(table).startsWith("layer").contains("getProductById", "findByCategory");
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.productmanagement.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoadTestConfigTest {
+
+    @Test
+    void fromArgs_WithoutArguments_ShouldUseDefaults() {
+        // Act
+        LoadTestConfig config = LoadTestConfig.fromArgs();
+
+        // Assert
+        assertThat(config.getTargetUrl()).isNull();
+        assertThat(config.getRate()).isEqualTo(200);
+        assertThat(config.getDuration()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(config.getMix()).containsOnlyKeys(Operation.READ, Operation.WRITE, Operation.CATEGORY);
+    }
+
+    @Test
+    void fromArgs_WithOptions_ShouldOverrideDefaults() {
+        // Act
+        LoadTestConfig config = LoadTestConfig.fromArgs(
+                "--target-url=http://localhost:8080", "--rate=1000", "--duration=5", "--warmup=0",
+                "--mix=read:9, category:1");
+
+        // Assert
+        assertThat(config.getTargetUrl()).isEqualTo("http://localhost:8080");
+        assertThat(config.getRate()).isEqualTo(1000);
+        assertThat(config.getDuration()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(config.getWarmup()).isZero();
+        assertThat(config.getMix()).containsEntry(Operation.READ, 9).containsEntry(Operation.CATEGORY, 1)
+                .doesNotContainKey(Operation.WRITE);
+    }
+
+    @Test
+    void fromArgs_WithUnknownOption_ShouldThrow() {
+        assertThatThrownBy(() -> LoadTestConfig.fromArgs("--threads=4"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("--threads");
+    }
+
+    @Test
+    void parseMix_WithOnlyZeroWeights_ShouldThrow() {
+        assertThatThrownBy(() -> LoadTestConfig.parseMix("read:0,write:0"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.productmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadTestReportTest {
+
+    @TempDir
+    Path reportDir;
+
+    @Test
+    void write_ShouldProduceJsonHtmlAndHistogramFiles() throws IOException {
+        // Arrange
+        OperationResult reads = new OperationResult();
+        for (int i = 1; i <= 1000; i++) {
+            // Sent 1 ms late, served in i microseconds
+            reads.recordSuccess(0, 1_000_000, 1_000_000 + i * 1000L);
+        }
+        reads.recordError();
+        Map<Operation, OperationResult> operations = new EnumMap<>(Operation.class);
+        operations.put(Operation.READ, reads);
+        LoadTestResult result = new LoadTestResult(LoadTestConfig.fromArgs("--duration=10"), operations,
+                Duration.ofSeconds(10));
+
+        // Act
+        new LoadTestReport().write(result, reportDir);
+
+        // Assert
+        JsonNode json = new ObjectMapper().readTree(reportDir.resolve("loadtest.json").toFile());
+        JsonNode read = json.path("operations").path("READ");
+        assertThat(read.path("requests").asLong()).isEqualTo(1000);
+        assertThat(read.path("errors").asLong()).isEqualTo(1);
+        assertThat(read.path("throughputPerSecond").asDouble()).isEqualTo(100.0);
+        assertThat(read.path("latencyMillis").path("p50").asDouble()).isBetween(1.49, 1.51);
+        assertThat(read.path("serviceTimeMillis").path("p50").asDouble()).isBetween(0.49, 0.51);
+        assertThat(json.path("operations").path("TOTAL").path("requests").asLong()).isEqualTo(1000);
+        assertThat(reportDir.resolve("html").resolve("index.html")).content().contains("p99.9");
+        assertThat(reportDir.resolve("read.hgrm")).exists();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.productmanagement.products.analytics;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares inventory valuation through the {@link ProductColumnStore} with walking {@link Product} objects
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryValuationBenchmark {
+
+    private static final String[] CATEGORIES = {
+            "Books", "Electronics", "Garden", "Games", "Grocery", "Health", "Home", "Kids",
+            "Movies", "Music", "Outdoors", "Shoes", "Sports", "Tools", "Toys", "Automotive"
+    };
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private List<Product> products;
+    private ProductColumnStore columnStore;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        products = new ArrayList<>(size);
+        columnStore = new ProductColumnStore();
+        for (int i = 0; i < size; i++) {
+            Set<String> categories = new HashSet<>();
+            categories.add(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            if (random.nextBoolean()) {
+                categories.add(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            }
+            Product product = Product.builder()
+                    .id("product-" + i)
+                    .price(Money.ofMinor(random.nextInt(100_000)))
+                    .quantityInStock(random.nextInt(100))
+                    .categories(categories)
+                    .status(Product.ProductStatus.values()[random.nextInt(Product.ProductStatus.values().length)])
+                    .build();
+            products.add(product);
+            columnStore.upsert(product);
+        }
+    }
+
+    @Benchmark
+    public Money objectWalkTotal() {
+        Money total = Money.ZERO;
+        for (Product product : products) {
+            total = total.plus(product.getPrice().times(product.getQuantityInStock()));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long columnTotal() {
+        return columnStore.totalValueCents();
+    }
+
+    @Benchmark
+    public Map<String, Money> objectWalkByCategory() {
+        Map<String, Money> totals = new TreeMap<>();
+        for (Product product : products) {
+            Money value = product.getPrice().times(product.getQuantityInStock());
+            for (String category : product.getCategories()) {
+                totals.merge(category, value, Money::plus);
+            }
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public List<CategoryValuation> columnByCategory() {
+        return columnStore.valuationByCategory();
+    }
+
+    @Benchmark
+    public long[] columnPriceHistogram() {
+        return columnStore.priceHistogram(1_000, 100);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares heap footprint, garbage collection pauses and lookup latency of a large catalog held
+ * on the heap (in-memory and copy-on-write snapshot repositories), off the heap, and split
+ * between the heap and a file (tiered repository).
+ * <p>
+ * Like a catalog that has been around for a while, nine in ten products are discontinued and
+ * nearly all reads go to the active ones; the tiered repository keeps the discontinued products
+ * in its cold file unless they are read, and demotes them again after a second without reads.
+ * <p>
+ * Besides the {@code findById} latency distribution, each trial prints a {@code footprint} line
+ * with the heap retained after a full collection, the direct memory or file size used, the average
+ * pause of an explicit full collection, and the collections and pause time during the measurement.
+ * Run e.g.
+ * <pre>
+ * ./gradlew :products:jmh -Pjmh.includes=CatalogFootprintBenchmark -Pjmh.args="-p size=1000000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-XX:MaxDirectMemorySize=1g", "-XX:+UseG1GC"})
+public class CatalogFootprintBenchmark {
+
+    private static final String[] CATEGORIES = {"Books", "Electronics", "Garden", "Games", "Home", "Toys"};
+    private static final int FULL_GCS = 3;
+    // One product in this many is active, the others are discontinued
+    private static final int ACTIVE_EVERY = 10;
+    // Share of the reads that go to active products
+    private static final double ACTIVE_READS = 0.99;
+
+    @Param({"mock", "snapshot", "offheap", "tiered"})
+    private String type;
+
+    @Param({"300000"})
+    private int size;
+
+    private ProductRepository repository;
+    private Path coldFile;
+    private long collectionsAtStart;
+    private long collectionMillisAtStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(createProduct(i));
+        }
+        repository = switch (type) {
+            case "snapshot" -> new SnapshotProductRepository(products);
+            case "offheap" -> new OffHeapProductRepository(products);
+            case "tiered" -> tiered(products);
+            default -> new MockProductRepository(products);
+        };
+        products = null;
+
+        long collectionMillis = collectionMillis();
+        for (int i = 0; i < FULL_GCS; i++) {
+            System.gc();
+        }
+        double fullGcMillis = (collectionMillis() - collectionMillis) / (double) FULL_GCS;
+        long retainedHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long offHeap = repository instanceof OffHeapProductRepository offHeapRepository
+                ? offHeapRepository.getOffHeapBytes() : 0;
+        long file = coldFile == null ? 0 : Files.size(coldFile);
+        System.out.printf("%nfootprint type=%s products=%d retained-heap=%dMB off-heap=%dMB file=%dMB "
+                        + "full-gc-pause=%.1fms%n",
+                type, size, retainedHeap >> 20, offHeap >> 20, file >> 20, fullGcMillis);
+
+        collectionsAtStart = collections();
+        collectionMillisAtStart = collectionMillis();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%nfootprint type=%s collections-during-run=%d gc-time-during-run=%dms%n",
+                type, collections() - collectionsAtStart, collectionMillis() - collectionMillisAtStart);
+        if (repository instanceof TieredProductRepository tiered) {
+            System.out.printf("footprint type=%s hot=%d cold=%d promotions=%d demotions=%d%n",
+                    type, tiered.getHotSize(), tiered.getColdSize(), tiered.getPromotions(), tiered.getDemotions());
+            tiered.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int seed = random.nextDouble() < ACTIVE_READS
+                ? random.nextInt((size + ACTIVE_EVERY - 1) / ACTIVE_EVERY) * ACTIVE_EVERY
+                : random.nextInt(size);
+        return repository.findById("product-" + seed);
+    }
+
+    private TieredProductRepository tiered(List<Product> products) throws IOException {
+        coldFile = Files.createTempFile("catalog-footprint", ".cold");
+        TieredProductRepository tiered = new TieredProductRepository(products, coldFile,
+                Duration.ofSeconds(1), Duration.ofHours(1));
+        tiered.startDemotion(Duration.ofSeconds(1));
+        return tiered;
+    }
+
+    private static long collections() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+
+    private static long collectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    private static Product createProduct(int seed) {
+        String id = "product-" + seed;
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Benchmark product " + seed + " with a description of typical catalog length")
+                .sku("SKU-" + id)
+                .price(Money.ofMinor(seed % 100_000))
+                .quantityInStock(seed % 100)
+                .categories(new HashSet<>(Set.of(CATEGORIES[seed % CATEGORIES.length])))
+                .status(seed % ACTIVE_EVERY == 0 ? Product.ProductStatus.ACTIVE : Product.ProductStatus.DISCONTINUED)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .createdBy("importer")
+                .build();
+    }
+}
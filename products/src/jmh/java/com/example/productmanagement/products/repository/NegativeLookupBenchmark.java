@@ -0,0 +1,83 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups of existing and nonexistent IDs with and without a {@link NegativeLookupFilter}
+ * in front of the in-memory and JDBC (embedded H2) repositories
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NegativeLookupBenchmark {
+
+    private static final int SIZE = 10_000;
+
+    @Param({"mock", "jdbc"})
+    private String type;
+
+    @Param({"false", "true"})
+    private boolean filtered;
+
+    private ProductRepository repository;
+    private JdbcConnectionPool dataSource;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ProductRepository backend;
+        if ("jdbc".equals(type)) {
+            dataSource = JdbcConnectionPool.create(
+                    "jdbc:h2:mem:negative-lookup;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64", "sa", "");
+            backend = new JdbcProductRepository(dataSource);
+        } else {
+            backend = new MockProductRepository(List.of());
+        }
+        List<Product> products = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            products.add(createProduct("product-" + i, i));
+        }
+        backend.saveAll(products);
+        repository = filtered ? new NegativeLookupProductRepository(backend, new NegativeLookupFilter(0.01, 1 << 20))
+                : backend;
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (dataSource != null) {
+            dataSource.dispose();
+        }
+    }
+
+    @Benchmark
+    public Optional<Product> findExisting() {
+        return repository.findById("product-" + (next++ % SIZE));
+    }
+
+    @Benchmark
+    public Optional<Product> findMissing() {
+        return repository.findById("missing-" + (next++ % SIZE));
+    }
+
+    private static Product createProduct(String id, int seed) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Benchmark product")
+                .sku("SKU-" + id)
+                .price(Money.ofMinor(seed % 100_000))
+                .quantityInStock(seed % 100)
+                .categories(new HashSet<>(Set.of("Books")))
+                .status(Product.ProductStatus.ACTIVE)
+                .build();
+    }
+}
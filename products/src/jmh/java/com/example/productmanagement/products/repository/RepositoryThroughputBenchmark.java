@@ -0,0 +1,105 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares read and write throughput of the in-memory, copy-on-write snapshot, off-heap and JDBC (embedded H2)
+ * repositories
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryThroughputBenchmark {
+
+    private static final int SIZE = 10_000;
+    private static final int SAVE_ALL_SIZE = 1_000;
+    private static final String[] CATEGORIES = {"Books", "Electronics", "Garden", "Games", "Home", "Toys"};
+
+    @Param({"mock", "snapshot", "offheap", "jdbc"})
+    private String type;
+
+    private ProductRepository repository;
+    private JdbcConnectionPool dataSource;
+    private List<Product> batch;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        if ("jdbc".equals(type)) {
+            dataSource = JdbcConnectionPool.create(
+                    "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64", "sa", "");
+            repository = new JdbcProductRepository(dataSource);
+        } else if ("offheap".equals(type)) {
+            repository = new OffHeapProductRepository();
+        } else if ("snapshot".equals(type)) {
+            repository = new SnapshotProductRepository(List.of());
+        } else {
+            repository = new MockProductRepository(List.of());
+        }
+        List<Product> products = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            products.add(createProduct("product-" + i, i));
+        }
+        repository.saveAll(products);
+
+        batch = new ArrayList<>(SAVE_ALL_SIZE);
+        for (int i = 0; i < SAVE_ALL_SIZE; i++) {
+            batch.add(createProduct("product-" + i, i + 1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (dataSource != null) {
+            dataSource.dispose();
+        }
+    }
+
+    @Benchmark
+    public List<Product> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        return repository.findById("product-" + (next++ % SIZE));
+    }
+
+    @Benchmark
+    public List<Product> findByCategory() {
+        return repository.findByCategory(CATEGORIES[next++ % CATEGORIES.length]);
+    }
+
+    @Benchmark
+    public Product save() {
+        return repository.save(createProduct("product-" + (next++ % SIZE), next));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAVE_ALL_SIZE)
+    public List<Product> saveAll() {
+        return repository.saveAll(batch);
+    }
+
+    private static Product createProduct(String id, int seed) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Benchmark product")
+                .sku("SKU-" + id)
+                .price(Money.ofMinor(seed % 100_000))
+                .quantityInStock(seed % 100)
+                .categories(new HashSet<>(Set.of(CATEGORIES[seed % CATEGORIES.length])))
+                .status(Product.ProductStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.productmanagement.products.snapshot;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures restoring a catalog with {@link ProductSnapshot#read(Path)}, which should take about a
+ * second per million products
+ * <p>
+ * Each restore is timed on its own, from opening the file to the decoded list. The file is written
+ * once per trial and stays in the page cache, as it would after an export on the same host. Run e.g.
+ * <pre>
+ * ./gradlew :products:jmh -Pjmh.includes=SnapshotRestoreBenchmark -Pjmh.args="-p size=1000000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-XX:+UseG1GC"})
+public class SnapshotRestoreBenchmark {
+
+    private static final String[] CATEGORIES = {"Books", "Electronics", "Garden", "Games", "Home", "Toys"};
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(createProduct(i));
+        }
+        file = Files.createTempFile("restore-benchmark-", ".snapshot");
+        ProductSnapshot.write(products, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Product> read() throws IOException {
+        return ProductSnapshot.read(file);
+    }
+
+    private static Product createProduct(int seed) {
+        String id = "product-" + seed;
+        Set<String> categories = new HashSet<>();
+        categories.add(CATEGORIES[seed % CATEGORIES.length]);
+        if (seed % 3 == 0) {
+            categories.add(CATEGORIES[(seed / 3) % CATEGORIES.length]);
+        }
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Benchmark product " + seed + " with a description of typical catalog length")
+                .sku("SKU-" + id)
+                .price(Money.ofMinor(seed % 100_000))
+                .quantityInStock(seed % 100)
+                .categories(categories)
+                .status(Product.ProductStatus.values()[seed % Product.ProductStatus.values().length])
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .createdBy("importer")
+                .build();
+    }
+}
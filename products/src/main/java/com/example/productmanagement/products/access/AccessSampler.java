@@ -0,0 +1,248 @@
+package com.example.productmanagement.products.access;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples product reads to find the hot product IDs and categories
+ * <p>
+ * A fraction of the recorded reads, chosen at random, is fed into one {@link HeavyHitters}
+ * tracker for product IDs and one for categories; the other reads cost a random draw. Counts
+ * are halved periodically so the hot set follows current traffic. The hot set can be saved
+ * to a file and restored from it, so that a restarted or standby instance can warm up with it.
+ */
+public class AccessSampler implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(AccessSampler.class.getName());
+
+    private static final String PRODUCT = "product";
+    private static final String CATEGORY = "category";
+
+    private final double sampleRate;
+    private final HeavyHitters products;
+    private final HeavyHitters categories;
+    private ScheduledExecutorService maintenanceExecutor;
+    private Path hotSetFile;
+
+    /**
+     * @param sampleRate the fraction of reads to sample, between 0 and 1
+     * @param capacity the number of product IDs and of categories to track
+     */
+    public AccessSampler(double sampleRate, int capacity) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+        this.products = new HeavyHitters(capacity);
+        this.categories = new HeavyHitters(capacity);
+    }
+
+    public void recordProduct(String id) {
+        if (sampled()) {
+            products.record(id);
+        }
+    }
+
+    public void recordCategory(String category) {
+        if (sampled()) {
+            categories.record(category);
+        }
+    }
+
+    /**
+     * @return the current heavy hitters
+     */
+    public HotSet hotSet() {
+        return new HotSet(products.top(), categories.top());
+    }
+
+    /**
+     * Adds a previously saved hot set to the counts
+     *
+     * @param hotSet the hot set
+     */
+    public void restore(HotSet hotSet) {
+        products.seed(hotSet.getProducts());
+        categories.seed(hotSet.getCategories());
+    }
+
+    /**
+     * Halves all counts
+     */
+    public void decay() {
+        products.decay();
+        categories.decay();
+    }
+
+    /**
+     * Decays the counts and, if a file is given, saves the hot set periodically on a background
+     * thread; the hot set is saved once more on {@link #close()}
+     *
+     * @param decayInterval the time between decays
+     * @param hotSetFile the file to save the hot set to, or null
+     * @param saveInterval the time between saves
+     */
+    public synchronized void startMaintenance(Duration decayInterval, Path hotSetFile, Duration saveInterval) {
+        if (maintenanceExecutor != null) {
+            return;
+        }
+        this.hotSetFile = hotSetFile;
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "access-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenanceExecutor.scheduleWithFixedDelay(this::decay,
+                decayInterval.toNanos(), decayInterval.toNanos(), TimeUnit.NANOSECONDS);
+        if (hotSetFile != null) {
+            maintenanceExecutor.scheduleWithFixedDelay(this::saveQuietly,
+                    saveInterval.toNanos(), saveInterval.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+            maintenanceExecutor = null;
+            saveQuietly();
+        }
+    }
+
+    /**
+     * Writes a hot set as tab-separated lines of kind, count and key, replacing the file atomically;
+     * backslashes, tabs and line breaks in the keys are escaped
+     *
+     * @param hotSet the hot set
+     * @param file the file to write
+     */
+    public static void write(HotSet hotSet, Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            for (HeavyHitter hitter : hotSet.getProducts()) {
+                writer.write(PRODUCT + '\t' + hitter.getCount() + '\t' + escape(hitter.getKey()) + '\n');
+            }
+            for (HeavyHitter hitter : hotSet.getCategories()) {
+                writer.write(CATEGORY + '\t' + hitter.getCount() + '\t' + escape(hitter.getKey()) + '\n');
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a hot set written by {@link #write(HotSet, Path)}, skipping malformed lines
+     *
+     * @param file the file to read
+     * @return the hot set, empty if the file does not exist
+     */
+    public static HotSet read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return HotSet.EMPTY;
+        }
+        List<HeavyHitter> products = new ArrayList<>();
+        List<HeavyHitter> categories = new ArrayList<>();
+        int skipped = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", 3);
+            HeavyHitter hitter = fields.length == 3 ? parse(fields[1], fields[2]) : null;
+            if (hitter != null && fields[0].equals(PRODUCT)) {
+                products.add(hitter);
+            } else if (hitter != null && fields[0].equals(CATEGORY)) {
+                categories.add(hitter);
+            } else if (!line.isEmpty()) {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            log.log(System.Logger.Level.WARNING, "Skipped " + skipped + " malformed lines in hot set " + file);
+        }
+        return new HotSet(products, categories);
+    }
+
+    /**
+     * @return the entry, or null if the count or key is malformed
+     */
+    private static HeavyHitter parse(String count, String escapedKey) {
+        String key = unescape(escapedKey);
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        try {
+            long parsed = Long.parseLong(count);
+            return parsed < 0 ? null : new HeavyHitter(key, parsed);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String escape(String key) {
+        StringBuilder escaped = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * @return the key, or null if it contains an unknown escape sequence
+     */
+    private static String unescape(String escaped) {
+        if (escaped.indexOf('\\') < 0) {
+            return escaped;
+        }
+        StringBuilder key = new StringBuilder(escaped.length());
+        for (int i = 0; i < escaped.length(); i++) {
+            char c = escaped.charAt(i);
+            if (c != '\\') {
+                key.append(c);
+                continue;
+            }
+            if (++i == escaped.length()) {
+                return null;
+            }
+            switch (escaped.charAt(i)) {
+                case '\\' -> key.append('\\');
+                case 't' -> key.append('\t');
+                case 'n' -> key.append('\n');
+                case 'r' -> key.append('\r');
+                default -> {
+                    return null;
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void saveQuietly() {
+        if (hotSetFile == null) {
+            return;
+        }
+        try {
+            write(hotSet(), hotSetFile);
+        } catch (IOException | RuntimeException e) {
+            log.log(System.Logger.Level.WARNING, "Could not save hot set to " + hotSetFile, e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.productmanagement.products.access;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch: approximate event counts per key in fixed memory
+ * <p>
+ * Each key increments one counter in each of {@code depth} rows, chosen by independent hashes
+ * derived from a 64-bit hash of its characters, so that keys sharing a {@link String#hashCode()}
+ * do not share every counter; its estimate is the smallest of those counters. Estimates never undercount and overcount by at
+ * most {@code e/width} of the total count with probability {@code 1 - e^-depth}. Counters are
+ * atomic, so concurrent increments need no locking.
+ */
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final int depth;
+    private final int widthMask;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth the number of rows, at most 8
+     * @param width the number of counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length || width < 1) {
+            throw new IllegalArgumentException("Depth must be 1 to " + SEEDS.length + " and width positive");
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.depth = depth;
+        this.widthMask = roundedWidth - 1;
+        this.counters = new AtomicLongArray(depth * roundedWidth);
+    }
+
+    /**
+     * Counts one occurrence of the key
+     *
+     * @param key the key
+     * @return the estimated count of the key including this occurrence
+     */
+    public long increment(String key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Counts several occurrences of the key
+     *
+     * @param key the key
+     * @param count the number of occurrences
+     * @return the estimated count of the key including these occurrences
+     */
+    public long add(String key, long count) {
+        long hash = hash(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, hash), count));
+        }
+        return estimate;
+    }
+
+    /**
+     * @param key the key
+     * @return the estimated count of the key
+     */
+    public long estimate(String key) {
+        long hash = hash(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter, so that old occurrences weigh less than recent ones
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    private int index(int row, long hash) {
+        return row * (widthMask + 1) + ((int) mix(hash ^ SEEDS[row]) & widthMask);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * MurmurHash3 finalizer, which makes every bit of the result depend on every bit of the input
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.productmanagement.products.access;
+
+import lombok.Value;
+
+/**
+ * A frequently accessed key with its estimated number of sampled accesses
+ */
+@Value
+public class HeavyHitter {
+    String key;
+    long count;
+}
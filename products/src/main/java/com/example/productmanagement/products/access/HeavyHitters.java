@@ -0,0 +1,96 @@
+package com.example.productmanagement.products.access;
+
+import java.util.*;
+
+/**
+ * Tracks the most frequent keys of a stream: a {@link CountMinSketch} estimates the count of
+ * every key, and the {@code capacity} keys with the highest estimates are kept by name
+ * <p>
+ * A key enters the tracked set once its estimate exceeds the lowest tracked count, displacing
+ * that key. Updating the tracked set takes a lock, so callers should feed this a sample of
+ * the stream rather than every event.
+ */
+public class HeavyHitters {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<String, Long> tracked = new HashMap<>();
+
+    /**
+     * @param capacity the number of keys to track
+     */
+    public HeavyHitters(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        // About 1/1000 of the total count as error bound, with four independent rows
+        this.sketch = new CountMinSketch(4, Math.max(1024, capacity * 16));
+    }
+
+    /**
+     * Counts one access of the key
+     *
+     * @param key the key
+     */
+    public void record(String key) {
+        long estimate = sketch.increment(key);
+        synchronized (tracked) {
+            if (tracked.containsKey(key) || tracked.size() < capacity) {
+                tracked.put(key, estimate);
+                return;
+            }
+            Map.Entry<String, Long> lowest = null;
+            for (Map.Entry<String, Long> entry : tracked.entrySet()) {
+                if (lowest == null || entry.getValue() < lowest.getValue()) {
+                    lowest = entry;
+                }
+            }
+            if (estimate > lowest.getValue()) {
+                tracked.remove(lowest.getKey());
+                tracked.put(key, estimate);
+            }
+        }
+    }
+
+    /**
+     * @return the tracked keys, most frequent first
+     */
+    public List<HeavyHitter> top() {
+        List<HeavyHitter> top;
+        synchronized (tracked) {
+            top = new ArrayList<>(tracked.size());
+            tracked.forEach((key, count) -> top.add(new HeavyHitter(key, count)));
+        }
+        top.sort(Comparator.comparingLong(HeavyHitter::getCount).reversed().thenComparing(HeavyHitter::getKey));
+        return top;
+    }
+
+    /**
+     * Adds previously collected heavy hitters, e.g. restored after a restart, as if their
+     * accesses had been recorded
+     *
+     * @param hitters the heavy hitters
+     */
+    public void seed(Collection<HeavyHitter> hitters) {
+        for (HeavyHitter hitter : hitters) {
+            long estimate = sketch.add(hitter.getKey(), hitter.getCount());
+            synchronized (tracked) {
+                if (tracked.containsKey(hitter.getKey()) || tracked.size() < capacity) {
+                    tracked.put(hitter.getKey(), estimate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Halves all counts, so that the tracked set follows shifts in popularity
+     */
+    public void decay() {
+        sketch.decay();
+        synchronized (tracked) {
+            tracked.replaceAll((key, count) -> count >>> 1);
+            tracked.values().removeIf(count -> count == 0);
+        }
+    }
+}
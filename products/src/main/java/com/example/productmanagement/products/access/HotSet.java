@@ -0,0 +1,16 @@
+package com.example.productmanagement.products.access;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The most frequently read products and categories, most frequent first
+ */
+@Value
+public class HotSet {
+    public static final HotSet EMPTY = new HotSet(List.of(), List.of());
+
+    List<HeavyHitter> products;
+    List<HeavyHitter> categories;
+}
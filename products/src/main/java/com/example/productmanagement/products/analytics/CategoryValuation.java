@@ -0,0 +1,20 @@
+package com.example.productmanagement.products.analytics;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Inventory valuation of a single category
+ */
+@Value
+public class CategoryValuation {
+    String category;
+    long productCount;
+    long unitsInStock;
+    long valueCents;
+
+    public BigDecimal getValue() {
+        return BigDecimal.valueOf(valueCents, 2);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.productmanagement.products.analytics;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+import com.example.productmanagement.products.repository.ProductRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ProductRepository decorator that keeps a {@link ProductColumnStore} in sync with every save and delete
+ * <p>
+ * A write and the matching column store update run under a lock striped by product ID, so concurrent
+ * writes of the same product reach the column store in the order they reached the delegate. Products
+ * that get their ID from the delegate cannot be locked beforehand; once saved, they are indexed with
+ * the delegate's current state, under their lock, in case a concurrent write got in first.
+ */
+public class ColumnIndexingProductRepository implements ProductRepository {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ProductRepository delegate;
+    private final ProductColumnStore columnStore;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public ColumnIndexingProductRepository(ProductRepository delegate, ProductColumnStore columnStore) {
+        this.delegate = delegate;
+        this.columnStore = columnStore;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        // Index the products the delegate already holds
+        delegate.findAll().forEach(columnStore::upsert);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Product save(Product product) {
+        if (product.getId() == null) {
+            Product saved = delegate.save(product);
+            indexCurrent(List.of(saved.getId()));
+            return saved;
+        }
+        int[] stripes = lock(List.of(product.getId()));
+        try {
+            Product saved = delegate.save(product);
+            columnStore.upsert(saved);
+            return saved;
+        } finally {
+            unlock(stripes);
+        }
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        Set<String> ids = new HashSet<>();
+        for (Product product : products) {
+            if (product.getId() != null) {
+                ids.add(product.getId());
+            }
+        }
+        List<Product> saved;
+        List<String> assigned = new ArrayList<>();
+        int[] stripes = lock(ids);
+        try {
+            saved = delegate.saveAll(products);
+            for (Product product : saved) {
+                if (ids.contains(product.getId())) {
+                    columnStore.upsert(product);
+                } else {
+                    assigned.add(product.getId());
+                }
+            }
+        } finally {
+            unlock(stripes);
+        }
+        if (!assigned.isEmpty()) {
+            indexCurrent(assigned);
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        int[] stripes = lock(List.of(id));
+        try {
+            delegate.deleteById(id);
+            columnStore.remove(id);
+        } finally {
+            unlock(stripes);
+        }
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        return delegate.findByCategory(category);
+    }
+
+    @Override
+    public OptionalLong catalogVersion() {
+        return delegate.catalogVersion();
+    }
+
+    @Override
+    public Optional<ProductChanges> findChangesSince(String token, int limit) {
+        return delegate.findChangesSince(token, limit);
+    }
+
+    /**
+     * Indexes the delegate's current state of products saved without holding their locks
+     */
+    private void indexCurrent(Collection<String> ids) {
+        int[] stripes = lock(ids);
+        try {
+            Set<String> missing = new HashSet<>(ids);
+            for (Product product : delegate.findAllById(ids)) {
+                columnStore.upsert(product);
+                missing.remove(product.getId());
+            }
+            // Deleted before they were indexed
+            missing.forEach(columnStore::remove);
+        } finally {
+            unlock(stripes);
+        }
+    }
+
+    /**
+     * Locks the stripes of the IDs in ascending order, so that writers of several products cannot deadlock
+     *
+     * @return the locked stripes
+     */
+    private int[] lock(Collection<String> ids) {
+        int[] stripes = ids.stream()
+                .mapToInt(id -> Math.floorMod(id.hashCode(), LOCK_STRIPES))
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        return stripes;
+    }
+
+    private void unlock(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+}
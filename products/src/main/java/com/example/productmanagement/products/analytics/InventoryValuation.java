@@ -0,0 +1,20 @@
+package com.example.productmanagement.products.analytics;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Inventory valuation (price times quantity in stock) of the whole catalog and per category
+ */
+@Value
+public class InventoryValuation {
+    long productCount;
+    long totalValueCents;
+    List<CategoryValuation> categories;
+
+    public BigDecimal getTotalValue() {
+        return BigDecimal.valueOf(totalValueCents, 2);
+    }
+}
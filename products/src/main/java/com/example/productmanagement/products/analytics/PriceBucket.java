@@ -0,0 +1,15 @@
+package com.example.productmanagement.products.analytics;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * A price histogram bucket covering prices in {@code [from, to)}; the last bucket is open-ended
+ */
+@Value
+public class PriceBucket {
+    BigDecimal from;
+    BigDecimal to;
+    long count;
+}
@@ -0,0 +1,57 @@
+package com.example.productmanagement.products.analytics;
+
+import com.example.productmanagement.products.model.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for catalog analytics computed from the {@link ProductColumnStore}
+ */
+public class ProductAnalyticsService {
+
+    private final ProductColumnStore columnStore;
+
+    public ProductAnalyticsService(ProductColumnStore columnStore) {
+        this.columnStore = columnStore;
+    }
+
+    /**
+     * Get the inventory valuation of the whole catalog and of each category
+     *
+     * @return the inventory valuation
+     */
+    public InventoryValuation getInventoryValuation() {
+        return new InventoryValuation(columnStore.size(), columnStore.totalValueCents(),
+                columnStore.valuationByCategory());
+    }
+
+    /**
+     * Get the number of products per status
+     *
+     * @return the product count for each status
+     */
+    public Map<Product.ProductStatus, Long> getStatusCounts() {
+        return columnStore.countByStatus();
+    }
+
+    /**
+     * Get a fixed-width price histogram
+     *
+     * @param bucketWidth the width of each bucket
+     * @param bucketCount the number of buckets
+     * @return the buckets in ascending price order
+     */
+    public List<PriceBucket> getPriceHistogram(BigDecimal bucketWidth, int bucketCount) {
+        long[] counts = columnStore.priceHistogram(ProductColumnStore.toCents(bucketWidth), bucketCount);
+        List<PriceBucket> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            BigDecimal from = bucketWidth.multiply(BigDecimal.valueOf(i));
+            BigDecimal to = i == bucketCount - 1 ? null : from.add(bucketWidth);
+            buckets.add(new PriceBucket(from, to, counts[i]));
+        }
+        return buckets;
+    }
+}
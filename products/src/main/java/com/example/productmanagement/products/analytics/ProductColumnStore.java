@@ -0,0 +1,283 @@
+package com.example.productmanagement.products.analytics;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar side store of the numeric product fields used by analytics.
+ * <p>
+ * Each product occupies one row across primitive columns: price in cents, quantity in stock
+ * and a status code. Category membership is kept as one row bitset per category code.
+ * Rows are kept dense (a delete moves the last row into the hole), so scans are tight
+ * loops over primitive arrays without touching {@link Product} objects or {@link Money} amounts.
+ */
+public class ProductColumnStore {
+
+    static final byte NO_STATUS = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> rowsById = new HashMap<>();
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final List<long[]> categoryRows = new ArrayList<>();
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Inserts or replaces the row of a product
+     *
+     * @param product the saved product
+     */
+    public void upsert(Product product) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowsById.get(product.getId());
+            int row;
+            if (existing != null) {
+                row = existing;
+                clearCategories(row);
+            } else {
+                row = size++;
+                ensureCapacity(size);
+                ids[row] = product.getId();
+                rowsById.put(product.getId(), row);
+            }
+
+            priceCents[row] = toCents(product.getPrice());
+            quantities[row] = product.getQuantityInStock();
+            statuses[row] = product.getStatus() == null ? NO_STATUS : (byte) product.getStatus().ordinal();
+            if (product.getCategories() != null) {
+                for (String category : product.getCategories()) {
+                    setBit(categoryRows.get(categoryCode(category)), row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the row of a product, if present
+     *
+     * @param id the product ID
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer removed = rowsById.remove(id);
+            if (removed == null) {
+                return;
+            }
+            int row = removed;
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                priceCents[row] = priceCents[last];
+                quantities[row] = quantities[last];
+                statuses[row] = statuses[last];
+                for (long[] rows : categoryRows) {
+                    if (getBit(rows, last)) {
+                        setBit(rows, row);
+                    } else {
+                        clearBit(rows, row);
+                    }
+                }
+                rowsById.put(ids[row], row);
+            }
+            ids[last] = null;
+            for (long[] rows : categoryRows) {
+                clearBit(rows, last);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of products in the store
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sums price times quantity in stock over all products
+     *
+     * @return the total inventory value in cents
+     * @throws ArithmeticException if the value does not fit in a long
+     */
+    public long totalValueCents() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                total = Math.addExact(total, Math.multiplyExact(priceCents[i], quantities[i]));
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes product count, units in stock and inventory value for every category
+     *
+     * @return the valuation of each category, ordered by category name
+     * @throws ArithmeticException if a category's value does not fit in a long
+     */
+    public List<CategoryValuation> valuationByCategory() {
+        lock.readLock().lock();
+        try {
+            List<CategoryValuation> valuations = new ArrayList<>(categoryNames.size());
+            for (int code = 0; code < categoryNames.size(); code++) {
+                long[] rows = categoryRows.get(code);
+                long products = 0;
+                long units = 0;
+                long valueCents = 0;
+                for (int i = 0; i < size; i++) {
+                    long member = (rows[i >>> 6] >>> i) & 1L;
+                    products += member;
+                    units += member * quantities[i];
+                    valueCents = Math.addExact(valueCents, member * Math.multiplyExact(priceCents[i], quantities[i]));
+                }
+                if (products > 0) {
+                    valuations.add(new CategoryValuation(categoryNames.get(code), products, units, valueCents));
+                }
+            }
+            valuations.sort(Comparator.comparing(CategoryValuation::getCategory));
+            return valuations;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts products per status
+     *
+     * @return the number of products for each status (statuses without products are included with 0)
+     */
+    public Map<Product.ProductStatus, Long> countByStatus() {
+        lock.readLock().lock();
+        try {
+            Product.ProductStatus[] values = Product.ProductStatus.values();
+            long[] counts = new long[values.length];
+            for (int code = 0; code < values.length; code++) {
+                long count = 0;
+                for (int i = 0; i < size; i++) {
+                    count += statuses[i] == code ? 1 : 0;
+                }
+                counts[code] = count;
+            }
+            Map<Product.ProductStatus, Long> result = new EnumMap<>(Product.ProductStatus.class);
+            for (Product.ProductStatus status : values) {
+                result.put(status, counts[status.ordinal()]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a fixed-width price histogram; prices beyond the last bucket are counted in it
+     *
+     * @param bucketWidthCents the width of each bucket in cents
+     * @param bucketCount the number of buckets
+     * @return the number of products in each bucket
+     */
+    public long[] priceHistogram(long bucketWidthCents, int bucketCount) {
+        if (bucketWidthCents <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket width and count must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            long[] histogram = new long[bucketCount];
+            int lastBucket = bucketCount - 1;
+            for (int i = 0; i < size; i++) {
+                long bucket = Math.max(0, priceCents[i]) / bucketWidthCents;
+                histogram[(int) Math.min(bucket, lastBucket)]++;
+            }
+            return histogram;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long toCents(Money price) {
+        if (price == null) {
+            return 0;
+        }
+        return price.getCurrency().getDefaultFractionDigits() == 2
+                ? price.getMinorUnits()
+                : toCents(price.toBigDecimal());
+    }
+
+    static long toCents(BigDecimal price) {
+        return price == null ? 0 : price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private int categoryCode(String category) {
+        Integer code = categoryCodes.get(category);
+        if (code == null) {
+            code = categoryNames.size();
+            categoryCodes.put(category, code);
+            categoryNames.add(category);
+            categoryRows.add(new long[wordsFor(ids.length)]);
+        }
+        return code;
+    }
+
+    private void clearCategories(int row) {
+        for (long[] rows : categoryRows) {
+            clearBit(rows, row);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        for (int code = 0; code < categoryRows.size(); code++) {
+            categoryRows.set(code, Arrays.copyOf(categoryRows.get(code), wordsFor(capacity)));
+        }
+    }
+
+    private static int wordsFor(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    private static boolean getBit(long[] words, int row) {
+        return (words[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private static void setBit(long[] words, int row) {
+        words[row >>> 6] |= 1L << row;
+    }
+
+    private static void clearBit(long[] words, int row) {
+        words[row >>> 6] &= ~(1L << row);
+    }
+}
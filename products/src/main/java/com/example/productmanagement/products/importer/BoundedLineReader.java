@@ -0,0 +1,91 @@
+package com.example.productmanagement.products.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines like {@link java.io.BufferedReader#readLine()}, but keeps at most a given number of
+ * characters of a line
+ * <p>
+ * A longer line is skipped up to the next line break and returned as an empty string, with
+ * {@link #lastLineTooLong()} set, so that input without line breaks cannot make a single line
+ * take memory in proportion to its size.
+ */
+final class BoundedLineReader {
+
+    private final Reader in;
+    private final int maxLength;
+    private final char[] buffer = new char[1 << 16];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    // The last line ended with a carriage return, which may be followed by a line feed
+    private boolean skipLineFeed;
+    private boolean tooLong;
+
+    /**
+     * @param in the reader to read from
+     * @param maxLength the number of characters to keep of a line
+     */
+    BoundedLineReader(Reader in, int maxLength) {
+        this.in = in;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return the next line without its line break, an empty string if it was too long, or null at
+     *         the end of the input
+     * @throws IOException if reading fails
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        tooLong = false;
+        boolean started = false;
+        while (true) {
+            if (position == limit) {
+                int read = in.read(buffer, 0, buffer.length);
+                if (read < 0) {
+                    return started ? result() : null;
+                }
+                position = 0;
+                limit = read;
+                continue;
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            started = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+                position++;
+            }
+            if (!tooLong) {
+                if (line.length() + position - start > maxLength) {
+                    tooLong = true;
+                    line.setLength(0);
+                } else {
+                    line.append(buffer, start, position - start);
+                }
+            }
+            if (position < limit) {
+                skipLineFeed = buffer[position++] == '\r';
+                return result();
+            }
+        }
+    }
+
+    /**
+     * @return whether the line last returned by {@link #readLine()} was longer than the limit
+     */
+    boolean lastLineTooLong() {
+        return tooLong;
+    }
+
+    private String result() {
+        return tooLong ? "" : line.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.productmanagement.products.importer;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Decodes CSV records into products according to a header row
+ * <p>
+ * Columns are named after product properties and may come in any order: id, name, description,
+ * sku, price, quantityInStock, categories and status, of which name, sku and price are required.
+ * Categories are separated by {@value #CATEGORY_SEPARATOR}. Fields may be enclosed in double
+ * quotes to contain commas, line breaks or quotes, which are then doubled. Empty fields leave the
+ * property unset. Thread-safe.
+ */
+final class CsvProductDecoder {
+
+    static final String CATEGORY_SEPARATOR = "|";
+
+    private static final List<String> COLUMNS =
+            List.of("id", "name", "description", "sku", "price", "quantityInStock", "categories", "status");
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "sku", "price");
+
+    private final List<String> columns;
+
+    /**
+     * @param header the header row
+     * @throws IllegalArgumentException if a column is unknown, repeated or missing
+     */
+    CsvProductDecoder(String header) {
+        // Spreadsheet exports tend to start with a byte order mark
+        List<String> names = split(header.startsWith("\uFEFF") ? header.substring(1) : header).stream()
+                .map(String::trim)
+                .toList();
+        Set<String> unknown = new TreeSet<>(names);
+        unknown.removeAll(COLUMNS);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown CSV columns: " + unknown + ", expected some of " + COLUMNS);
+        }
+        if (new LinkedHashSet<>(names).size() != names.size()) {
+            throw new IllegalArgumentException("Repeated CSV columns in header: " + names);
+        }
+        Set<String> missing = new TreeSet<>(REQUIRED_COLUMNS);
+        missing.removeAll(names);
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Missing CSV columns: " + missing);
+        }
+        this.columns = names;
+    }
+
+    /**
+     * @param record a record, which may span several lines if quoted fields contain line breaks
+     * @return the product, with its fields as given
+     * @throws IllegalArgumentException if the number of fields does not match the header or a
+     *                                  value cannot be converted
+     */
+    Product decode(String record) {
+        List<String> fields = split(record);
+        if (fields.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " fields but found " + fields.size());
+        }
+        Product product = new Product();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i);
+            if (!value.isBlank()) {
+                set(product, columns.get(i), value);
+            }
+        }
+        return product;
+    }
+
+    private static void set(Product product, String column, String value) {
+        switch (column) {
+            case "id" -> product.setId(value);
+            case "name" -> product.setName(value);
+            case "description" -> product.setDescription(value);
+            case "sku" -> product.setSku(value);
+            case "price" -> {
+                try {
+                    product.setPrice(Money.parse(value));
+                } catch (NumberFormatException | ArithmeticException e) {
+                    throw new IllegalArgumentException("Invalid price: " + value);
+                }
+            }
+            case "quantityInStock" -> {
+                try {
+                    product.setQuantityInStock(Integer.parseInt(value.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid quantityInStock: " + value);
+                }
+            }
+            case "categories" -> {
+                Set<String> categories = new LinkedHashSet<>();
+                for (String category : value.split("\\" + CATEGORY_SEPARATOR)) {
+                    categories.add(category);
+                }
+                product.setCategories(categories);
+            }
+            case "status" -> {
+                try {
+                    product.setStatus(Product.ProductStatus.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown status: " + value);
+                }
+            }
+            default -> throw new IllegalStateException("Unhandled column " + column);
+        }
+    }
+
+    /**
+     * @return whether the text holds a whole record, i.e. does not end inside a quoted field
+     */
+    static boolean isComplete(CharSequence text) {
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quoted = !quoted;
+            }
+        }
+        return !quoted;
+    }
+
+    /**
+     * Splits a record into its fields, removing the quotes around quoted fields and undoubling
+     * the quotes within them
+     */
+    static List<String> split(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.productmanagement.products.importer;
+
+import lombok.Value;
+
+/**
+ * A record of an import that was not imported, with the line it starts on and the reason
+ */
+@Value
+public class ImportError {
+    long line;
+    String message;
+}
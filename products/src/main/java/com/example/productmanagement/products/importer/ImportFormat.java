@@ -0,0 +1,62 @@
+package com.example.productmanagement.products.importer;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Formats products can be imported from
+ */
+public enum ImportFormat {
+
+    /**
+     * One JSON product per line, as returned by the product endpoints
+     */
+    NDJSON("application/x-ndjson"),
+
+    /**
+     * Comma separated values as in RFC 4180, with a header row naming the product properties
+     */
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @param contentType a content type, possibly with parameters such as a charset
+     * @return the format of that content type, if any
+     */
+    public static Optional<ImportFormat> forContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        for (ImportFormat format : values()) {
+            if (format.mediaType.equals(mediaType)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param fileName a file name ending in .ndjson, .jsonl or .csv
+     * @return the format of the file, if the extension is known
+     */
+    public static Optional<ImportFormat> forFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return Optional.of(NDJSON);
+        }
+        if (name.endsWith(".csv")) {
+            return Optional.of(CSV);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.productmanagement.products.importer;
+
+/**
+ * Receives the progress and errors of an import as it runs, on the thread that called
+ * {@link ProductImporter#importProducts}
+ */
+public interface ImportListener {
+
+    ImportListener NONE = new ImportListener() {
+    };
+
+    /**
+     * Called after each batch has been written
+     */
+    default void onProgress(ImportProgress progress) {
+    }
+
+    /**
+     * Called for every record that is not imported
+     */
+    default void onError(ImportError error) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.productmanagement.products.importer;
+
+import lombok.Value;
+
+/**
+ * Counts of a running import after a batch has been written
+ */
+@Value
+public class ImportProgress {
+    /**
+     * The number of lines read so far, some of which may not have been written yet
+     */
+    long lines;
+    long imported;
+    long failed;
+}
@@ -0,0 +1,20 @@
+package com.example.productmanagement.products.importer;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of an import
+ */
+@Value
+public class ImportResult {
+    long lines;
+    long imported;
+    long failed;
+    /**
+     * The first errors reported; there are more if {@link #failed} is larger
+     */
+    List<ImportError> errors;
+    long durationMillis;
+}
@@ -0,0 +1,406 @@
+package com.example.productmanagement.products.importer;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports products from an NDJSON or CSV stream into a repository
+ * <p>
+ * The import is a pipeline of three stages. A reader thread reads the input line by line and
+ * hands chunks of records to a pool of workers, which decode, normalize and validate them in
+ * parallel. The calling thread takes the results in input order and saves the valid products in
+ * batches with {@link ProductRepository#saveAll}. The queue between reader and writer holds at
+ * most twice as many chunks as there are workers, so a slow repository stalls the reader rather
+ * than letting records pile up, and memory use does not depend on the size of the input. Lines
+ * longer than {@link #MAX_LINE_LENGTH} characters are skipped and reported, not buffered.
+ * <p>
+ * Products are normalized by trimming their text, dropping blank categories and defaulting the
+ * status to active; they need a name, an SKU and a price that is not negative, and a stock that is
+ * not negative. A product with an ID replaces the stored product with that ID, others get a new
+ * one. Records that cannot be decoded or are invalid, and products the repository rejects, are
+ * reported by line and skipped.
+ */
+public class ProductImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+    public static final int DEFAULT_MAX_REPORTED_ERRORS = 1_000;
+
+    static final int CHUNK_SIZE = 256;
+    // Longest line kept, so that input without line breaks is not buffered whole
+    static final int MAX_LINE_LENGTH = 1 << 20;
+    // Longest CSV record spanning several lines, which keeps an unterminated quote from swallowing the input
+    static final int MAX_MULTILINE_RECORD = 1 << 20;
+
+    private static final Future<Chunk> END = CompletableFuture.completedFuture(null);
+
+    private final ProductRepository repository;
+    private final ObjectReader productReader;
+    private final int workers;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    /**
+     * @param repository the repository to save the products to
+     * @param objectMapper the mapper to read NDJSON records with
+     * @param workers the number of threads decoding and validating records
+     * @param batchSize the number of products per {@link ProductRepository#saveAll} call
+     * @param maxReportedErrors the number of errors to keep for the result; all are passed to the listener
+     */
+    public ProductImporter(ProductRepository repository, ObjectMapper objectMapper, int workers, int batchSize,
+                           int maxReportedErrors) {
+        if (workers < 1 || batchSize < 1 || maxReportedErrors < 0) {
+            throw new IllegalArgumentException("Workers and batch size must be positive, the error limit not negative");
+        }
+        this.repository = repository;
+        this.productReader = objectMapper.readerFor(Product.class);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports products, blocking until every record has been processed
+     *
+     * @param in the UTF-8 encoded input, which is read to the end but not closed
+     * @param format the format of the input
+     * @param importedBy the creator recorded for imported products that do not name one
+     * @param listener receives progress and errors as the import runs
+     * @return the counts and the first errors
+     * @throws IllegalArgumentException if the CSV header is missing or invalid
+     * @throws IOException if reading the input fails; products of earlier batches have been saved
+     */
+    public ImportResult importProducts(InputStream in, ImportFormat format, String importedBy,
+                                       ImportListener listener) throws IOException {
+        long start = System.nanoTime();
+        BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(in, StandardCharsets.UTF_8),
+                MAX_LINE_LENGTH);
+        AtomicLong lines = new AtomicLong();
+        RecordDecoder decoder = decoderFor(format, reader, lines);
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1, runnable -> {
+            Thread thread = new Thread(runnable, "product-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<Future<Chunk>> chunks = new ArrayBlockingQueue<>(2 * workers);
+        Writer writer = new Writer(listener, lines);
+        try {
+            Future<?> reading = executor.submit(() -> {
+                read(reader, format, lines, chunks, executor, decoder, importedBy);
+                return null;
+            });
+            for (Future<Chunk> next = chunks.take(); next != END; next = chunks.take()) {
+                writer.write(next.get());
+            }
+            writer.flush();
+            reading.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new ImportResult(lines.get(), writer.imported, writer.failed, List.copyOf(writer.errors),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reads chunks of records and queues their processing in input order, ending with {@link #END}
+     */
+    private void read(BoundedLineReader reader, ImportFormat format, AtomicLong lines,
+                      BlockingQueue<Future<Chunk>> chunks, ExecutorService executor, RecordDecoder decoder,
+                      String importedBy)
+            throws IOException, InterruptedException {
+        boolean interrupted = false;
+        try {
+            List<Line> chunk = new ArrayList<>(CHUNK_SIZE);
+            StringBuilder pending = null;
+            long pendingLine = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                long number = lines.incrementAndGet();
+                if (reader.lastLineTooLong()) {
+                    // Within a quoted CSV field the record is too long as a whole
+                    chunk.add(pending != null ? Line.tooLong(pendingLine, multilineTooLong())
+                            : Line.tooLong(number, "Line longer than " + MAX_LINE_LENGTH + " characters"));
+                    pending = null;
+                } else if (pending != null) {
+                    // A quoted CSV field spans lines
+                    pending.append('\n').append(line);
+                    if (pending.length() > MAX_MULTILINE_RECORD) {
+                        chunk.add(Line.tooLong(pendingLine, multilineTooLong()));
+                        pending = null;
+                        continue;
+                    }
+                    // An even number of quotes in the line leaves the field open
+                    if (CsvProductDecoder.isComplete(line)) {
+                        continue;
+                    }
+                    line = pending.toString();
+                    number = pendingLine;
+                    pending = null;
+                } else if (format == ImportFormat.CSV && !CsvProductDecoder.isComplete(line)) {
+                    pending = new StringBuilder(line);
+                    pendingLine = number;
+                    continue;
+                }
+                if (!reader.lastLineTooLong() && !line.isBlank()) {
+                    chunk.add(new Line(number, line, null));
+                }
+                if (chunk.size() >= CHUNK_SIZE) {
+                    submit(chunk, chunks, executor, decoder, importedBy);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (pending != null) {
+                chunk.add(new Line(pendingLine, pending.toString(), null));
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, chunks, executor, decoder, importedBy);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+            throw e;
+        } finally {
+            if (interrupted || Thread.currentThread().isInterrupted()) {
+                // The writer has given up and no longer takes from the queue, which may be full
+                chunks.clear();
+                chunks.offer(END);
+            } else {
+                chunks.put(END);
+            }
+        }
+    }
+
+    private void submit(List<Line> lines, BlockingQueue<Future<Chunk>> chunks, ExecutorService executor,
+                        RecordDecoder decoder, String importedBy) throws InterruptedException {
+        chunks.put(executor.submit(() -> process(lines, decoder, importedBy)));
+    }
+
+    /**
+     * Decodes, normalizes and validates a chunk of records
+     */
+    private static Chunk process(List<Line> lines, RecordDecoder decoder, String importedBy) {
+        Chunk chunk = new Chunk(lines.size());
+        for (Line line : lines) {
+            String problem;
+            Product product = null;
+            try {
+                if (line.text() == null) {
+                    throw new IllegalArgumentException(line.problem());
+                }
+                product = decoder.decode(line.text());
+                if (product == null) {
+                    throw new IllegalArgumentException("Not a product: " + line.text());
+                }
+                normalize(product, importedBy);
+                problem = validate(product);
+            } catch (JsonProcessingException e) {
+                problem = "Invalid JSON: " + e.getOriginalMessage();
+            } catch (IllegalArgumentException | IOException e) {
+                problem = e.getMessage();
+            }
+            if (problem == null) {
+                chunk.products.add(product);
+                chunk.productLines.add(line.number());
+            } else {
+                chunk.errors.add(new ImportError(line.number(), problem));
+            }
+        }
+        return chunk;
+    }
+
+    private static String multilineTooLong() {
+        return "Quoted field not closed within " + MAX_MULTILINE_RECORD + " characters";
+    }
+
+    private static void normalize(Product product, String importedBy) {
+        product.setId(trimToNull(product.getId()));
+        product.setName(trimToNull(product.getName()));
+        product.setDescription(trimToNull(product.getDescription()));
+        product.setSku(trimToNull(product.getSku()));
+        if (product.getCategories() != null) {
+            Set<String> categories = new LinkedHashSet<>();
+            for (String category : product.getCategories()) {
+                String trimmed = trimToNull(category);
+                if (trimmed != null) {
+                    categories.add(trimmed);
+                }
+            }
+            product.setCategories(categories);
+        }
+        if (product.getStatus() == null) {
+            product.setStatus(Product.ProductStatus.ACTIVE);
+        }
+        if (product.getCreatedBy() == null) {
+            product.setCreatedBy(importedBy);
+        }
+    }
+
+    /**
+     * @return why the product cannot be imported, or null if it can
+     */
+    private static String validate(Product product) {
+        if (product.getName() == null) {
+            return "name is required";
+        }
+        if (product.getSku() == null) {
+            return "sku is required";
+        }
+        if (product.getPrice() == null) {
+            return "price is required";
+        }
+        if (product.getPrice().signum() < 0) {
+            return "price must not be negative";
+        }
+        if (product.getQuantityInStock() < 0) {
+            return "quantityInStock must not be negative";
+        }
+        return null;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private RecordDecoder decoderFor(ImportFormat format, BoundedLineReader reader, AtomicLong lines)
+            throws IOException {
+        if (format == ImportFormat.NDJSON) {
+            return productReader::readValue;
+        }
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input has no header row");
+        }
+        if (reader.lastLineTooLong()) {
+            throw new IllegalArgumentException("CSV header longer than " + MAX_LINE_LENGTH + " characters");
+        }
+        lines.incrementAndGet();
+        return new CsvProductDecoder(header)::decode;
+    }
+
+    /**
+     * Collects valid products into batches and saves them, counting and reporting the outcome
+     */
+    private class Writer {
+
+        private final ImportListener listener;
+        private final AtomicLong lines;
+        private final List<Product> batch = new ArrayList<>();
+        private final List<Long> batchLines = new ArrayList<>();
+        private final List<ImportError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        Writer(ImportListener listener, AtomicLong lines) {
+            this.listener = listener;
+            this.lines = lines;
+        }
+
+        void write(Chunk chunk) {
+            chunk.errors.forEach(this::fail);
+            for (int i = 0; i < chunk.products.size(); i++) {
+                batch.add(chunk.products.get(i));
+                batchLines.add(chunk.productLines.get(i));
+                if (batch.size() == batchSize) {
+                    flush();
+                }
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                try {
+                    repository.saveAll(batch);
+                    imported += batch.size();
+                } catch (RuntimeException e) {
+                    // Save the products one by one to find the ones the repository rejects
+                    for (int i = 0; i < batch.size(); i++) {
+                        try {
+                            repository.save(batch.get(i));
+                            imported++;
+                        } catch (RuntimeException rejected) {
+                            fail(new ImportError(batchLines.get(i), "Could not save: " + rejected.getMessage()));
+                        }
+                    }
+                }
+                batch.clear();
+                batchLines.clear();
+            }
+            listener.onProgress(new ImportProgress(lines.get(), imported, failed));
+        }
+
+        private void fail(ImportError error) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(error);
+            }
+            listener.onError(error);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordDecoder {
+        Product decode(String record) throws IOException;
+    }
+
+    /**
+     * A record and the line it starts on; the text is null if the record was too long to keep,
+     * and the problem says why
+     */
+    private record Line(long number, String text, String problem) {
+
+        static Line tooLong(long number, String problem) {
+            return new Line(number, null, problem);
+        }
+    }
+
+    /**
+     * The outcome of processing a chunk of records: the valid products with their lines, and the errors
+     */
+    private static final class Chunk {
+
+        final List<Product> products;
+        final List<Long> productLines;
+        final List<ImportError> errors = new ArrayList<>();
+
+        Chunk(int size) {
+            products = new ArrayList<>(size);
+            productLines = new ArrayList<>(size);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.productmanagement.products.importer;
+
+/**
+ * Logs the progress of an import every given number of lines, and every error at debug level
+ */
+public class ProgressLoggingListener implements ImportListener {
+
+    private static final System.Logger log = System.getLogger(ProductImporter.class.getName());
+
+    private final String source;
+    private final long interval;
+    private long nextLog;
+
+    /**
+     * @param source what is imported, e.g. a file name, for the log messages
+     * @param interval the number of lines between progress messages
+     */
+    public ProgressLoggingListener(String source, long interval) {
+        this.source = source;
+        this.interval = interval;
+        this.nextLog = interval;
+    }
+
+    @Override
+    public void onProgress(ImportProgress progress) {
+        if (progress.getLines() >= nextLog) {
+            log.log(System.Logger.Level.INFO, "Importing from {0}: {1} lines read, {2} products imported, {3} failed",
+                    source, progress.getLines(), progress.getImported(), progress.getFailed());
+            nextLog = progress.getLines() + interval;
+        }
+    }
+
+    @Override
+    public void onError(ImportError error) {
+        log.log(System.Logger.Level.DEBUG, "Skipped line {0} of {1}: {2}", error.getLine(), source, error.getMessage());
+    }
+}
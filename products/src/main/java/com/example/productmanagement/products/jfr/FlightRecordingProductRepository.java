@@ -0,0 +1,90 @@
+package com.example.productmanagement.products.jfr;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+import com.example.productmanagement.products.repository.ProductRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * ProductRepository decorator that emits a {@link RepositoryOperationEvent} for every call into
+ * the delegate, named after the delegate's class, including calls that throw
+ */
+public class FlightRecordingProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final String repository;
+
+    public FlightRecordingProductRepository(ProductRepository delegate) {
+        this.delegate = delegate;
+        this.repository = delegate.getClass().getSimpleName();
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return RepositoryOperationEvent.record(repository, "findAll", null, delegate::findAll, List::size);
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return RepositoryOperationEvent.record(repository, "findById", id, () -> delegate.findById(id),
+                product -> product.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        return RepositoryOperationEvent.record(repository, "findAllById", null, () -> delegate.findAllById(ids),
+                List::size);
+    }
+
+    @Override
+    public Product save(Product product) {
+        // New products only get their ID from the delegate
+        RepositoryOperationEvent event = RepositoryOperationEvent.start();
+        Product saved = null;
+        Throwable error = null;
+        try {
+            saved = delegate.save(product);
+            return saved;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            event.finish(repository, "save", saved == null ? product.getId() : saved.getId(), saved == null ? 0 : 1,
+                    error);
+        }
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        return RepositoryOperationEvent.record(repository, "saveAll", null, () -> delegate.saveAll(products),
+                List::size);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        RepositoryOperationEvent.record(repository, "deleteById", id, () -> {
+            delegate.deleteById(id);
+            return null;
+        }, deleted -> 1);
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        return RepositoryOperationEvent.record(repository, "findByCategory", category,
+                () -> delegate.findByCategory(category), List::size);
+    }
+
+    @Override
+    public OptionalLong catalogVersion() {
+        return delegate.catalogVersion();
+    }
+
+    @Override
+    public Optional<ProductChanges> findChangesSince(String token, int limit) {
+        return delegate.findChangesSince(token, limit);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.productmanagement.products.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Continuous in-process Flight Recorder recording of the product events, with their thresholds
+ * <p>
+ * The recording keeps the last {@code maxAge} of events on disk. It can be dumped at any time with
+ * {@code jcmd <pid> JFR.dump name=products filename=<file>}, and is written to {@code dumpFile},
+ * if given, when closed or when the JVM exits.
+ */
+public class ProductEventRecording implements AutoCloseable {
+
+    public static final String NAME = "products";
+
+    private final Recording recording;
+
+    /**
+     * @param repositoryThreshold the shortest repository call to record
+     * @param serviceThreshold the shortest service operation to record
+     * @param maxAge how long to keep events
+     * @param dumpFile the file to write the recording to on close, or null
+     */
+    public ProductEventRecording(Duration repositoryThreshold, Duration serviceThreshold, Duration maxAge,
+                                 Path dumpFile) {
+        this.recording = new Recording();
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.enable(RepositoryOperationEvent.class).withThreshold(repositoryThreshold);
+        recording.enable(ServiceOperationEvent.class).withThreshold(serviceThreshold);
+        if (dumpFile != null) {
+            try {
+                recording.setDestination(dumpFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write recording to " + dumpFile, e);
+            }
+            // Flight Recorder's own shutdown hook may stop the recording before close() runs
+            recording.setDumpOnExit(true);
+        }
+    }
+
+    public void start() {
+        recording.start();
+    }
+
+    /**
+     * Writes the events recorded so far
+     *
+     * @param file the file to write
+     */
+    public void dump(Path file) throws IOException {
+        recording.dump(file);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                // Writes the destination, if set
+                recording.stop();
+            }
+        } catch (IllegalStateException e) {
+            // Stopped meanwhile by Flight Recorder's shutdown hook
+        } finally {
+            recording.close();
+        }
+    }
+}
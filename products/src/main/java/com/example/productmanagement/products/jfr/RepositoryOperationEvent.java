@@ -0,0 +1,99 @@
+package com.example.productmanagement.products.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Flight Recorder event for one call into a product repository backend
+ */
+@Name(RepositoryOperationEvent.NAME)
+@Label("Repository Operation")
+@Category({"Product Management", "Repository"})
+@Description("A call into a product repository backend")
+@StackTrace(false)
+@Threshold("1 ms")
+public class RepositoryOperationEvent extends Event {
+
+    public static final String NAME = "com.example.productmanagement.RepositoryOperation";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Key")
+    @Description("Product ID or category, if the operation has one")
+    String key;
+
+    @Label("Result Size")
+    @Description("Number of products read or written")
+    int resultSize;
+
+    @Label("Error")
+    @Description("Class of the exception the operation failed with, or null if it succeeded")
+    String error;
+
+    /**
+     * @return a started event
+     */
+    public static RepositoryOperationEvent start() {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Runs an operation and commits its event, whether the operation returns or throws
+     *
+     * @param call the operation
+     * @param resultSize the result size of what the operation returned
+     * @return what the operation returned
+     */
+    public static <T> T record(String repository, String operation, String key, Supplier<T> call,
+                               ToIntFunction<? super T> resultSize) {
+        RepositoryOperationEvent event = start();
+        Throwable error = null;
+        T result = null;
+        try {
+            result = call.get();
+            return result;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            event.finish(repository, operation, key, error == null ? resultSize.applyAsInt(result) : 0, error);
+        }
+    }
+
+    /**
+     * Commits the event of a successful operation if it is enabled and took longer than its threshold
+     */
+    public void finish(String repository, String operation, String key, int resultSize) {
+        finish(repository, operation, key, resultSize, null);
+    }
+
+    /**
+     * Commits the event if it is enabled and took longer than its threshold
+     *
+     * @param error the exception the operation failed with, or null if it succeeded
+     */
+    public void finish(String repository, String operation, String key, int resultSize, Throwable error) {
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.operation = operation;
+            this.key = key;
+            this.resultSize = resultSize;
+            this.error = error == null ? null : error.getClass().getName();
+            commit();
+        }
+    }
+}
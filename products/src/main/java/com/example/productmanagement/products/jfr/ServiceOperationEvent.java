@@ -0,0 +1,94 @@
+package com.example.productmanagement.products.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Flight Recorder event for one {@code ProductService} operation
+ */
+@Name(ServiceOperationEvent.NAME)
+@Label("Product Service Operation")
+@Category({"Product Management", "Service"})
+@Description("A product service operation, including its repository calls")
+@StackTrace(false)
+@Threshold("5 ms")
+public class ServiceOperationEvent extends Event {
+
+    public static final String NAME = "com.example.productmanagement.ServiceOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Key")
+    @Description("Product ID or category, if the operation has one")
+    String key;
+
+    @Label("Result Size")
+    @Description("Number of products returned or changed")
+    int resultSize;
+
+    @Label("Error")
+    @Description("Class of the exception the operation failed with, or null if it succeeded")
+    String error;
+
+    /**
+     * @return a started event
+     */
+    public static ServiceOperationEvent start() {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Runs an operation and commits its event, whether the operation returns or throws
+     *
+     * @param call the operation
+     * @param resultSize the result size of what the operation returned
+     * @return what the operation returned
+     */
+    public static <T> T record(String operation, String key, Supplier<T> call, ToIntFunction<? super T> resultSize) {
+        ServiceOperationEvent event = start();
+        Throwable error = null;
+        T result = null;
+        try {
+            result = call.get();
+            return result;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            event.finish(operation, key, error == null ? resultSize.applyAsInt(result) : 0, error);
+        }
+    }
+
+    /**
+     * Commits the event of a successful operation if it is enabled and took longer than its threshold
+     */
+    public void finish(String operation, String key, int resultSize) {
+        finish(operation, key, resultSize, null);
+    }
+
+    /**
+     * Commits the event if it is enabled and took longer than its threshold
+     *
+     * @param error the exception the operation failed with, or null if it succeeded
+     */
+    public void finish(String operation, String key, int resultSize, Throwable error) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.key = key;
+            this.resultSize = resultSize;
+            this.error = error == null ? null : error.getClass().getName();
+            commit();
+        }
+    }
+}
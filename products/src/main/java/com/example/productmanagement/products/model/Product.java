@@ -1,12 +1,12 @@
 package com.example.productmanagement.products.model;
 
 import com.example.productmanagement.common.model.BaseEntity;
+import com.example.productmanagement.common.model.Money;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
-import java.math.BigDecimal;
 import java.util.Set;
 
 /**
@@ -20,7 +20,7 @@ public class Product extends BaseEntity {
     private String name;
     private String description;
     private String sku;
-    private BigDecimal price;
+    private Money price;
     private int quantityInStock;
     private Set<String> categories;
     private ProductStatus status;
@@ -0,0 +1,20 @@
+package com.example.productmanagement.products.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Products changed since a change token: the current state of those updated or created, and
+ * the IDs of those deleted, plus the token to ask for the next changes with
+ */
+@Value
+public class ProductChanges {
+    List<Product> updated;
+    List<String> deleted;
+    String token;
+    /**
+     * Whether more changes were left out because of the limit; ask again with {@link #token}
+     */
+    boolean hasMore;
+}
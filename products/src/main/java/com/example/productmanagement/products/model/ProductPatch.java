@@ -0,0 +1,52 @@
+package com.example.productmanagement.products.model;
+
+import com.example.productmanagement.common.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Partial update of a product; fields left null are not changed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPatch {
+    private String name;
+    private String description;
+    private String sku;
+    private Money price;
+    private Integer quantityInStock;
+    private Set<String> categories;
+    private Product.ProductStatus status;
+    private String updatedBy;
+
+    /**
+     * Applies the supplied fields to a copy of a product
+     *
+     * @param product the current product, which is not modified
+     * @return a new product with the supplied fields changed
+     */
+    public Product applyTo(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .createdBy(product.getCreatedBy())
+                .updatedBy(updatedBy != null ? updatedBy : product.getUpdatedBy())
+                .name(name != null ? name : product.getName())
+                .description(description != null ? description : product.getDescription())
+                .sku(sku != null ? sku : product.getSku())
+                .price(price != null ? price : product.getPrice())
+                .quantityInStock(quantityInStock != null ? quantityInStock : product.getQuantityInStock())
+                .categories(categories != null ? new HashSet<>(categories)
+                        : product.getCategories() != null ? new HashSet<>(product.getCategories()) : null)
+                .status(status != null ? status : product.getStatus())
+                .build();
+    }
+}
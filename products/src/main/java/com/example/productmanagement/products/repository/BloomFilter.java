@@ -0,0 +1,117 @@
+package com.example.productmanagement.products.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over strings: {@link #mightContain(String)} is false only for keys that were
+ * never {@link #put(String) put}
+ * <p>
+ * Bits are set with compare-and-set, so puts and lookups need no locking. The {@code k} bit
+ * positions of a key come from two 64-bit hashes combined as {@code h1 + i * h2}.
+ */
+class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong setBits = new AtomicLong();
+
+    BloomFilter(long bitCount, int hashCount) {
+        if (bitCount < Long.SIZE || hashCount < 1) {
+            throw new IllegalArgumentException("Bloom filter needs at least 64 bits and one hash");
+        }
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Sizes a filter for a number of keys and a false-positive rate, using fewer bits if
+     * the filter would otherwise exceed the memory limit
+     *
+     * @param expectedKeys the number of keys the filter is expected to hold
+     * @param falsePositiveRate the target probability that an absent key passes the filter
+     * @param maxBytes the most memory the bits may take
+     * @return the empty filter
+     */
+    static BloomFilter create(long expectedKeys, double falsePositiveRate, long maxBytes) {
+        long keys = Math.max(1, expectedKeys);
+        long bits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (LN2 * LN2));
+        bits = Math.max(Long.SIZE, Math.min(bits, maxBytes * Byte.SIZE));
+        int hashes = (int) Math.max(1, Math.round((double) bits / keys * LN2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    boolean mightContain(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.unsignedMultiplyHigh(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void put(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.unsignedMultiplyHigh(hash1 + i * hash2, bitCount);
+            long mask = 1L << bit;
+            long word = words.getAndAccumulate((int) (bit >>> 6), mask, (current, m) -> current | m);
+            if ((word & mask) == 0) {
+                setBits.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return the probability that an absent key passes the filter as currently filled
+     */
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitCount, hashCount);
+    }
+
+    /**
+     * @return the number of distinct keys put, estimated from the share of bits set
+     */
+    long approximateKeyCount() {
+        double unset = 1 - (double) setBits.get() / bitCount;
+        if (unset <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-bitCount * Math.log(unset) / hashCount);
+    }
+
+    /**
+     * @return the number of bytes taken by the bits
+     */
+    long memorySize() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters, finished with the MurmurHash3 mixer
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+
+import java.util.*;
+
+/**
+ * Immutable, point-in-time version of the product catalog
+ * <p>
+ * Derived views (the product list and the category index) are built on first use and then
+ * shared by every reader of this version.
+ */
+public final class CatalogVersion {
+
+    private final long number;
+    private final PersistentProductMap products;
+
+    private volatile List<Product> all;
+    private volatile Map<String, List<Product>> byCategory;
+
+    CatalogVersion(long number, PersistentProductMap products) {
+        this.number = number;
+        this.products = products;
+    }
+
+    /**
+     * @return the version number, which increases with every published change
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * @return the number of products in this version
+     */
+    public int size() {
+        return products.size();
+    }
+
+    /**
+     * Looks up a product
+     *
+     * @param id the product ID
+     * @return the product or null if not present
+     */
+    public Product get(String id) {
+        return products.get(id);
+    }
+
+    /**
+     * @return an unmodifiable list of all products
+     */
+    public List<Product> all() {
+        List<Product> list = all;
+        if (list == null) {
+            List<Product> built = new ArrayList<>(products.size());
+            products.forEach(built::add);
+            list = Collections.unmodifiableList(built);
+            all = list;
+        }
+        return list;
+    }
+
+    /**
+     * Looks up the products in a category
+     *
+     * @param category the category
+     * @return an unmodifiable list of the products in the category
+     */
+    public List<Product> inCategory(String category) {
+        Map<String, List<Product>> index = byCategory;
+        if (index == null) {
+            index = buildCategoryIndex();
+            byCategory = index;
+        }
+        return index.getOrDefault(category, List.of());
+    }
+
+    CatalogVersion with(Collection<Product> saved) {
+        PersistentProductMap updated = products;
+        for (Product product : saved) {
+            updated = updated.put(product);
+        }
+        return new CatalogVersion(number + 1, updated);
+    }
+
+    CatalogVersion without(String id) {
+        PersistentProductMap updated = products.remove(id);
+        return updated == products ? this : new CatalogVersion(number + 1, updated);
+    }
+
+    private Map<String, List<Product>> buildCategoryIndex() {
+        Map<String, List<Product>> index = new HashMap<>();
+        products.forEach(product -> {
+            if (product.getCategories() != null) {
+                for (String category : product.getCategories()) {
+                    index.computeIfAbsent(category, key -> new ArrayList<>()).add(product);
+                }
+            }
+        });
+        index.replaceAll((category, list) -> Collections.unmodifiableList(list));
+        return index;
+    }
+}
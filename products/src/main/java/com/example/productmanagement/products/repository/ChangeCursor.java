@@ -0,0 +1,55 @@
+package com.example.productmanagement.products.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position in a change feed ordered by change time and product ID, encoded as the opaque
+ * change token handed to clients
+ * <p>
+ * The position only depends on data kept with the products, not on the process that issued
+ * it, so any instance over the same catalog can serve it, also after a restart.
+ *
+ * @param at the time of the last change read
+ * @param id the ID of the product changed last, which orders changes made at the same time
+ */
+record ChangeCursor(LocalDateTime at, String id) implements Comparable<ChangeCursor> {
+
+    /**
+     * Before every change
+     */
+    static final ChangeCursor START = new ChangeCursor(LocalDateTime.MIN, "");
+
+    private static final Comparator<ChangeCursor> ORDER =
+            Comparator.comparing(ChangeCursor::at).thenComparing(ChangeCursor::id);
+
+    /**
+     * @return the cursor, or null if the token is malformed
+     */
+    static ChangeCursor parse(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                return null;
+            }
+            return new ChangeCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    String token() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((at + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int compareTo(ChangeCursor other) {
+        return ORDER.compare(this, other);
+    }
+}
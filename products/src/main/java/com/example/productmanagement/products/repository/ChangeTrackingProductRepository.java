@@ -0,0 +1,233 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductRepository decorator that keeps a change log for {@link #findChangesSince(String, int)},
+ * for in-memory backends
+ * <p>
+ * Every save is entered into a concurrent skip list keyed by the product's {@code updatedAt}
+ * and ID, every delete as a tombstone keyed by the time of the delete, replacing the earlier
+ * entry for the same product. The log thus holds one entry per product, ordered by last
+ * update, plus a tombstone per deleted product. A change token is a {@link ChangeCursor}, so
+ * a sync only walks the entries after it. Changes are reported with the products' current
+ * state, read from the delegate.
+ * <p>
+ * A change time is taken before the change is entered, so a concurrent change can enter the
+ * log behind one a reader has already passed. Only entries older than a safety lag are
+ * reported, which gives such changes that long to arrive.
+ * <p>
+ * Tombstones are dropped once older than the retention; tokens from before the newest dropped
+ * tombstone can no longer be served. Tokens stay valid across restarts and on other instances,
+ * but the log only knows the changes made to this instance's catalog since it started: after
+ * a restart, it reports the saves made since the token as far as the restored catalog holds
+ * them, and no earlier deletes. Backends that keep the catalog themselves, such as
+ * {@link JdbcProductRepository}, also keep its tombstones.
+ */
+public class ChangeTrackingProductRepository implements ProductRepository {
+
+    public static final Duration DEFAULT_SAFETY_LAG = Duration.ofSeconds(1);
+
+    private static final System.Logger log = System.getLogger(ChangeTrackingProductRepository.class.getName());
+
+    private final ProductRepository delegate;
+    private final Duration safetyLag;
+    private final ConcurrentNavigableMap<ChangeCursor, Boolean> changes = new ConcurrentSkipListMap<>();
+    // Guarded by this; the log key of each product's entry
+    private final Map<String, ChangeCursor> entries = new HashMap<>();
+    // Tokens before this time may have missed a dropped tombstone
+    private volatile LocalDateTime horizon = LocalDateTime.MIN;
+    private ScheduledExecutorService purgeExecutor;
+
+    public ChangeTrackingProductRepository(ProductRepository delegate) {
+        this(delegate, DEFAULT_SAFETY_LAG);
+    }
+
+    /**
+     * @param delegate the repository to track
+     * @param safetyLag how old a change must be to be reported
+     */
+    public ChangeTrackingProductRepository(ProductRepository delegate, Duration safetyLag) {
+        this.delegate = delegate;
+        this.safetyLag = safetyLag;
+        synchronized (this) {
+            delegate.findAll().forEach(product -> record(product.getId(), changeTime(product), false));
+        }
+    }
+
+    /**
+     * Drops expired tombstones on a background thread
+     *
+     * @param retention how long tombstones are kept
+     * @param interval the delay between purges
+     */
+    public synchronized void startPurging(Duration retention, Duration interval) {
+        if (purgeExecutor != null) {
+            return;
+        }
+        purgeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-log-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purgeExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                int purged = purgeTombstones(LocalDateTime.now().minus(retention));
+                log.log(System.Logger.Level.DEBUG, "Dropped {0} expired tombstones", purged);
+            } catch (RuntimeException e) {
+                log.log(System.Logger.Level.WARNING, "Tombstone purge failed", e);
+            }
+        }, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Drops tombstones of products deleted before a point in time
+     *
+     * @param cutoff the point in time
+     * @return the number of tombstones dropped
+     */
+    public int purgeTombstones(LocalDateTime cutoff) {
+        int purged = 0;
+        // Tombstones are keyed by the time of the delete, so the expired ones come first
+        for (Map.Entry<ChangeCursor, Boolean> entry : changes.headMap(new ChangeCursor(cutoff, "")).entrySet()) {
+            if (entry.getValue()) {
+                synchronized (this) {
+                    if (changes.remove(entry.getKey(), Boolean.TRUE)) {
+                        entries.remove(entry.getKey().id(), entry.getKey());
+                        if (entry.getKey().at().isAfter(horizon)) {
+                            horizon = entry.getKey().at();
+                        }
+                        purged++;
+                    }
+                }
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * @return the number of log entries, i.e. products and tombstones
+     */
+    public int size() {
+        return changes.size();
+    }
+
+    @Override
+    public Optional<ProductChanges> findChangesSince(String token, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        // A sync from the start needs no tombstones, so it is never expired
+        boolean fromStart = token == null || token.isBlank();
+        ChangeCursor since = fromStart ? ChangeCursor.START : ChangeCursor.parse(token);
+        if (since == null || !fromStart && since.at().isBefore(horizon)) {
+            return Optional.empty();
+        }
+
+        LocalDateTime settled = LocalDateTime.now().minus(safetyLag);
+        List<String> ids = new ArrayList<>(Math.min(limit, 1024));
+        ChangeCursor readUpTo = since;
+        boolean hasMore = false;
+        for (ChangeCursor entry : changes.tailMap(since, false).keySet()) {
+            if (entry.at().isAfter(settled)) {
+                break;
+            }
+            if (ids.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            ids.add(entry.id());
+            readUpTo = entry;
+        }
+
+        if (!fromStart && since.at().isBefore(horizon)) {
+            // A tombstone after the token was dropped during the scan
+            return Optional.empty();
+        }
+
+        // Report the current state: products that are gone by now count as deleted
+        List<Product> updated = ids.isEmpty() ? List.of() : delegate.findAllById(ids);
+        Set<String> found = new HashSet<>(updated.size() * 2);
+        updated.forEach(product -> found.add(product.getId()));
+        List<String> deleted = ids.stream().filter(id -> !found.contains(id)).toList();
+        return Optional.of(new ProductChanges(updated, deleted, readUpTo.token(), hasMore));
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = delegate.save(product);
+        synchronized (this) {
+            record(saved.getId(), changeTime(saved), false);
+        }
+        return saved;
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> saved = delegate.saveAll(products);
+        synchronized (this) {
+            saved.forEach(product -> record(product.getId(), changeTime(product), false));
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+        synchronized (this) {
+            record(id, LocalDateTime.now(), true);
+        }
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        return delegate.findByCategory(category);
+    }
+
+    @Override
+    public OptionalLong catalogVersion() {
+        return delegate.catalogVersion();
+    }
+
+    /**
+     * Enters the product's change and drops its previous entry; the caller holds the lock
+     */
+    private void record(String id, LocalDateTime at, boolean deleted) {
+        ChangeCursor key = new ChangeCursor(at, id);
+        ChangeCursor previous = entries.put(id, key);
+        // Add the new entry before removing the old one, so that readers see the product at least once
+        changes.put(key, deleted);
+        if (previous != null && !previous.equals(key)) {
+            changes.remove(previous);
+        }
+    }
+
+    private static LocalDateTime changeTime(Product product) {
+        return product.getUpdatedAt() != null ? product.getUpdatedAt() : LocalDateTime.now();
+    }
+}
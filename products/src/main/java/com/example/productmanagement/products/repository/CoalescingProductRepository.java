@@ -0,0 +1,151 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * ProductRepository decorator that coalesces concurrent identical reads (single flight).
+ * <p>
+ * The first caller of {@link #findById(String)} or {@link #findByCategory(String)} for a key
+ * performs the backend call; callers arriving while it is in flight wait for and share its result.
+ * Once a save or delete completes, in-flight reads it may affect are detached, so later callers
+ * start a fresh backend call instead of joining a read that began before the mutation.
+ */
+public class CoalescingProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+
+    private final Map<String, CompletableFuture<Optional<Product>>> byIdInFlight = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<List<Product>>> byCategoryInFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder backendCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    public CoalescingProductRepository(ProductRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return coalesce(byIdInFlight, id, () -> delegate.findById(id), false);
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = delegate.save(product);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> saved = delegate.saveAll(products);
+        saved.forEach(product -> byIdInFlight.remove(product.getId()));
+        byCategoryInFlight.clear();
+        return saved;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+        invalidate(id);
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        return coalesce(byCategoryInFlight, category, () -> delegate.findByCategory(category), true);
+    }
+
+    @Override
+    public OptionalLong catalogVersion() {
+        return delegate.catalogVersion();
+    }
+
+    @Override
+    public Optional<ProductChanges> findChangesSince(String token, int limit) {
+        return delegate.findChangesSince(token, limit);
+    }
+
+    /**
+     * @return the number of reads that were passed to the backend
+     */
+    public long getBackendCalls() {
+        return backendCalls.sum();
+    }
+
+    /**
+     * @return the number of reads that shared the result of an in-flight backend call
+     */
+    public long getCoalescedCalls() {
+        return coalescedCalls.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(Map<String, CompletableFuture<T>> inFlight, String key, Supplier<T> loader,
+                           boolean copyList) {
+        CompletableFuture<T> call = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.increment();
+            T shared = join(existing);
+            // Each caller gets its own list so that one caller's modifications do not leak to another
+            return copyList ? (T) new ArrayList<>((List<Product>) shared) : shared;
+        }
+
+        backendCalls.increment();
+        try {
+            T result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void invalidate(String id) {
+        if (id != null) {
+            byIdInFlight.remove(id);
+        }
+        // A save may move a product between categories, so no in-flight category read can be trusted
+        byCategoryInFlight.clear();
+    }
+}
@@ -0,0 +1,324 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.snapshot.ProductCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Append-only file of encoded products, used as the cold tier of {@link TieredProductRepository}
+ * <p>
+ * Each record is a length-prefixed {@link ProductCodec} encoding; only the file position and the
+ * categories of each record are kept on the heap, the latter so that a category can be read
+ * without decoding the products of other categories. Replaced and removed records stay in the
+ * file as garbage until it outweighs the live records, at which point the live records are
+ * copied to a fresh file.
+ * <p>
+ * {@link #forEach(Consumer)} and {@link #forEachInCategory(String, Consumer)} decode outside the
+ * store's monitor, from a reader of their own, so writes and lookups go on during a scan.
+ * Records are never overwritten, and compaction waits until no scan is running, so the positions
+ * a scan starts from stay valid until it is done; a compaction due meanwhile runs when the last
+ * scan ends.
+ * <p>
+ * The file is accessed with {@link RandomAccessFile} rather than a {@code FileChannel}: an
+ * interrupted thread would close a channel for every caller, while stream I/O ignores interrupts.
+ */
+class ColdProductStore implements Closeable {
+
+    private static final long MIN_COMPACTION_BYTES = 1 << 20;
+    private static final Category[] NO_CATEGORIES = {};
+
+    private final Path file;
+    private final Path compactionFile;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Category> categories = new HashMap<>();
+    private RandomAccessFile data;
+    private long end;
+    private long garbageBytes;
+    private int scans;
+
+    ColdProductStore(Path file) {
+        this.file = file;
+        this.compactionFile = file.resolveSibling(file.getFileName() + ".compact");
+        this.data = open(file, true);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of bytes the file occupies, including garbage
+     */
+    synchronized long fileSize() {
+        return end;
+    }
+
+    synchronized void put(Product product) {
+        try {
+            byte[] encoded = encode(product);
+            ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + encoded.length);
+            record.putInt(encoded.length).put(encoded);
+            data.seek(end);
+            data.write(record.array());
+            Entry previous = entries.get(product.getId());
+            if (previous != null) {
+                unindex(product.getId(), previous);
+                garbageBytes += recordSize(data, previous.position);
+            }
+            entries.put(product.getId(), new Entry(end, index(product)));
+            end += record.capacity();
+            if (previous != null) {
+                compactIfMostlyGarbage();
+            }
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Could not write product " + product.getId() + " to " + file, e);
+        }
+    }
+
+    synchronized Product get(String id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : read(data, entry.position);
+    }
+
+    /**
+     * Removes a product
+     *
+     * @param id the product ID
+     * @return the removed product or null if not present
+     */
+    synchronized Product remove(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        Product product = read(data, entry.position);
+        discard(id);
+        return product;
+    }
+
+    /**
+     * Removes a product without decoding it
+     *
+     * @param id the product ID
+     */
+    synchronized void discard(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        unindex(id, entry);
+        garbageBytes += recordSize(data, entry.position);
+        compactIfMostlyGarbage();
+    }
+
+    /**
+     * Decodes every product stored when the scan starts
+     * <p>
+     * Products put or removed during the scan may or may not be seen, and a product replaced
+     * during the scan may be seen in its earlier state.
+     *
+     * @param action the action to perform on each product
+     */
+    void forEach(Consumer<Product> action) {
+        scan(() -> entries.values().stream().mapToLong(entry -> entry.position).toArray(), action);
+    }
+
+    /**
+     * Decodes the products of a category stored when the scan starts, with the same consistency
+     * as {@link #forEach(Consumer)}
+     *
+     * @param category the category
+     * @param action the action to perform on each product
+     */
+    void forEachInCategory(String category, Consumer<Product> action) {
+        scan(() -> {
+            Category indexed = categories.get(category);
+            return indexed == null
+                    ? new long[0]
+                    : indexed.ids.stream().mapToLong(id -> entries.get(id).position).toArray();
+        }, action);
+    }
+
+    /**
+     * @param positions supplies the positions to decode; called under the monitor, so that
+     *                  compaction cannot move the records before the scan is registered
+     */
+    private void scan(Supplier<long[]> positions, Consumer<Product> action) {
+        long[] scanned;
+        RandomAccessFile reader;
+        synchronized (this) {
+            scanned = positions.get();
+            if (scanned.length == 0) {
+                return;
+            }
+            reader = open(file, "r");
+            scans++;
+        }
+        try (reader) {
+            for (long position : scanned) {
+                action.accept(read(reader, position));
+            }
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Could not close a reader of " + file, e);
+        } finally {
+            synchronized (this) {
+                // Run the compaction that was held back for the scans
+                if (--scans == 0) {
+                    compactIfMostlyGarbage();
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        data.close();
+        Files.deleteIfExists(file);
+    }
+
+    private Product read(RandomAccessFile reader, long position) {
+        try {
+            byte[] encoded = new byte[recordSize(reader, position) - Integer.BYTES];
+            reader.readFully(encoded);
+            return ProductCodec.decode(ByteBuffer.wrap(encoded));
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Could not read cold product at " + position + " in " + file, e);
+        }
+    }
+
+    /**
+     * @return the size of the record at the position, leaving the reader after its header
+     */
+    private int recordSize(RandomAccessFile reader, long position) {
+        try {
+            byte[] header = new byte[Integer.BYTES];
+            reader.seek(position);
+            reader.readFully(header);
+            return Integer.BYTES + ByteBuffer.wrap(header).getInt();
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Could not read cold product at " + position + " in " + file, e);
+        }
+    }
+
+    private void compactIfMostlyGarbage() {
+        if (scans == 0 && garbageBytes >= MIN_COMPACTION_BYTES && garbageBytes > end - garbageBytes) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        try (FileOutputStream target = new FileOutputStream(compactionFile.toFile())) {
+            BufferedOutputStream buffered = new BufferedOutputStream(target, 1 << 16);
+            long written = 0;
+            for (Entry entry : entries.values()) {
+                int size = recordSize(data, entry.position);
+                byte[] record = new byte[size];
+                data.seek(entry.position);
+                data.readFully(record);
+                buffered.write(record);
+                entry.position = written;
+                written += size;
+            }
+            buffered.flush();
+            target.getFD().sync();
+            data.close();
+            Files.move(compactionFile, file, StandardCopyOption.REPLACE_EXISTING);
+            data = open(file, "rw");
+            end = written;
+            garbageBytes = 0;
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Could not compact " + file, e);
+        }
+    }
+
+    private Category[] index(Product product) {
+        if (product.getCategories() == null || product.getCategories().isEmpty()) {
+            return NO_CATEGORIES;
+        }
+        Category[] indexed = new Category[product.getCategories().size()];
+        int i = 0;
+        for (String name : product.getCategories()) {
+            Category category = categories.computeIfAbsent(name, Category::new);
+            category.ids.add(product.getId());
+            indexed[i++] = category;
+        }
+        return indexed;
+    }
+
+    private void unindex(String id, Entry entry) {
+        for (Category category : entry.categories) {
+            category.ids.remove(id);
+            if (category.ids.isEmpty()) {
+                categories.remove(category.name);
+            }
+        }
+    }
+
+    private static RandomAccessFile open(Path file, boolean truncate) {
+        RandomAccessFile opened = open(file, "rw");
+        try {
+            if (truncate) {
+                opened.setLength(0);
+            }
+            return opened;
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Could not open cold product store " + file, e);
+        }
+    }
+
+    private static RandomAccessFile open(Path file, String mode) {
+        try {
+            return new RandomAccessFile(file.toFile(), mode);
+        } catch (IOException e) {
+            throw new ProductRepositoryException("Could not open cold product store " + file, e);
+        }
+    }
+
+    private static byte[] encode(Product product) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        ProductCodec.encode(product, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The file position and categories of a stored product
+     */
+    private static final class Entry {
+        long position;
+        final Category[] categories;
+
+        Entry(long position, Category[] categories) {
+            this.position = position;
+            this.categories = categories;
+        }
+    }
+
+    /**
+     * The IDs of the stored products in a category; entries refer to it rather than to a copy of the name
+     */
+    private static final class Category {
+        final String name;
+        final Set<String> ids = new HashSet<>();
+
+        Category(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,635 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.common.utils.IdGenerator;
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * JDBC implementation of ProductRepository, written against the H2 SQL dialect.
+ * <p>
+ * Categories are normalized into a {@code category} table and linked through the
+ * {@code product_category} join table, indexed by category, so {@link #findByCategory(String)}
+ * is an index lookup rather than a scan. {@link #saveAll(Collection)} writes products and
+ * category links with JDBC batches inside a single transaction. {@link #findAllById(Collection)}
+ * looks up chunks of IDs with one array-bound query each. The calling thread works through the
+ * chunks together with helpers on virtual threads, each over a pooled connection of its own; the
+ * helpers of all concurrent lookups share a fixed number of extra connections, and a lookup that
+ * finds none free runs its chunks one after the other, so large lookups cannot drain the pool.
+ * <p>
+ * Connections come from the given (pooled) DataSource. All statements use constant SQL so that
+ * the driver's per-connection statement cache is reused across pooled connections.
+ * <p>
+ * Once {@link #startChangeTracking(Duration, Duration, Duration)} is called, deletes leave a
+ * tombstone in the {@code product_tombstone} table, in the same transaction, and
+ * {@link #findChangesSince(String, int)} reads products and tombstones after a
+ * {@link ChangeCursor} by {@code updated_at} and ID. Both live in the database, so change tokens
+ * stay valid across restarts and on every instance over the same database.
+ */
+public class JdbcProductRepository implements ProductRepository {
+
+    static final int BATCH_SIZE = 500;
+    static final int LOOKUP_CHUNK_SIZE = 100;
+    static final int DEFAULT_LOOKUP_CONNECTIONS = 4;
+
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS product (
+                id VARCHAR(64) PRIMARY KEY,
+                name VARCHAR(1024),
+                description VARCHAR,
+                sku VARCHAR(255),
+                price DECIMAL(19, 4),
+                currency CHAR(3),
+                quantity_in_stock INT NOT NULL,
+                status VARCHAR(32),
+                created_at TIMESTAMP(9),
+                updated_at TIMESTAMP(9),
+                created_by VARCHAR(255),
+                updated_by VARCHAR(255)
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS category (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                name VARCHAR(255) NOT NULL UNIQUE
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS product_category (
+                product_id VARCHAR(64) NOT NULL REFERENCES product (id) ON DELETE CASCADE,
+                category_id BIGINT NOT NULL REFERENCES category (id),
+                PRIMARY KEY (product_id, category_id)
+            )""",
+            "CREATE INDEX IF NOT EXISTS product_category_by_category ON product_category (category_id, product_id)",
+            """
+            CREATE TABLE IF NOT EXISTS product_tombstone (
+                id VARCHAR(64) PRIMARY KEY,
+                deleted_at TIMESTAMP(9) NOT NULL
+            )""",
+            // The newest dropped tombstone; change tokens from before it may have missed a delete
+            """
+            CREATE TABLE IF NOT EXISTS product_tombstone_horizon (
+                id INT PRIMARY KEY,
+                purged_until TIMESTAMP(9) NOT NULL
+            )""",
+            "CREATE INDEX IF NOT EXISTS product_by_update ON product (updated_at, id)",
+            "CREATE INDEX IF NOT EXISTS product_tombstone_by_time ON product_tombstone (deleted_at, id)"
+    };
+
+    private static final String SELECT_WITH_CATEGORIES = """
+            SELECT p.id, p.name, p.description, p.sku, p.price, p.currency, p.quantity_in_stock, p.status,
+                   p.created_at, p.updated_at, p.created_by, p.updated_by, c.name AS category
+            """;
+    private static final String JOIN_CATEGORIES = """
+            LEFT JOIN product_category pc ON pc.product_id = p.id
+            LEFT JOIN category c ON c.id = pc.category_id
+            """;
+
+    private static final String FIND_ALL = SELECT_WITH_CATEGORIES + "FROM product p " + JOIN_CATEGORIES
+            + "ORDER BY p.id";
+    private static final String FIND_BY_ID = SELECT_WITH_CATEGORIES + "FROM product p " + JOIN_CATEGORIES
+            + "WHERE p.id = ?";
+    private static final String FIND_BY_IDS = SELECT_WITH_CATEGORIES + "FROM product p " + JOIN_CATEGORIES
+            + "WHERE p.id = ANY(?) ORDER BY p.id";
+    private static final String FIND_BY_CATEGORY = SELECT_WITH_CATEGORIES + """
+            FROM category wanted
+            JOIN product_category member ON member.category_id = wanted.id
+            JOIN product p ON p.id = member.product_id
+            """ + JOIN_CATEGORIES + "WHERE wanted.name = ? ORDER BY p.id";
+
+    private static final String MERGE_PRODUCT = """
+            MERGE INTO product (id, name, description, sku, price, currency, quantity_in_stock, status,
+                                created_at, updated_at, created_by, updated_by)
+            KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final String DELETE_PRODUCT = "DELETE FROM product WHERE id = ?";
+    private static final String DELETE_CATEGORY_LINKS = "DELETE FROM product_category WHERE product_id = ?";
+    private static final String INSERT_CATEGORY_LINK =
+            "INSERT INTO product_category (product_id, category_id) VALUES (?, ?)";
+    private static final String MERGE_CATEGORY = "MERGE INTO category (name) KEY (name) VALUES (?)";
+    private static final String FIND_CATEGORY_ID = "SELECT id FROM category WHERE name = ?";
+    private static final String COUNT = "SELECT COUNT(*) FROM product";
+
+    private static final String MERGE_TOMBSTONE =
+            "MERGE INTO product_tombstone (id, deleted_at) KEY (id) VALUES (?, ?)";
+    private static final String DELETE_TOMBSTONE = "DELETE FROM product_tombstone WHERE id = ?";
+    private static final String CHANGES = """
+            SELECT at, id FROM (
+                SELECT updated_at AS at, id FROM product
+                UNION ALL
+                SELECT deleted_at, id FROM product_tombstone
+            ) changes
+            """;
+    private static final String FIND_CHANGES_FROM_START = CHANGES
+            + "WHERE at <= ? ORDER BY at, id FETCH FIRST ? ROWS ONLY";
+    private static final String FIND_CHANGES_SINCE = CHANGES
+            + "WHERE (at > ? OR at = ? AND id > ?) AND at <= ? ORDER BY at, id FETCH FIRST ? ROWS ONLY";
+    private static final String FIND_TOMBSTONE_HORIZON = "SELECT purged_until FROM product_tombstone_horizon";
+    private static final String FIND_EXPIRED_TOMBSTONES =
+            "SELECT MAX(deleted_at) FROM product_tombstone WHERE deleted_at < ?";
+    private static final String DELETE_EXPIRED_TOMBSTONES = "DELETE FROM product_tombstone WHERE deleted_at <= ?";
+    private static final String MERGE_TOMBSTONE_HORIZON =
+            "MERGE INTO product_tombstone_horizon (id, purged_until) KEY (id) VALUES (1, ?)";
+
+    private static final System.Logger log = System.getLogger(JdbcProductRepository.class.getName());
+
+    private final DataSource dataSource;
+    // Categories are never deleted, so their IDs can be cached for the lifetime of the repository
+    private final Map<String, Long> categoryIds = new ConcurrentHashMap<>();
+    // Connections the helpers of multi-ID lookups may hold besides those of the calling threads
+    private final Semaphore lookupConnections;
+    private volatile boolean trackingChanges;
+    private volatile Duration safetyLag;
+    private ScheduledExecutorService purgeExecutor;
+
+    public JdbcProductRepository(DataSource dataSource) {
+        this(dataSource, DEFAULT_LOOKUP_CONNECTIONS);
+    }
+
+    /**
+     * @param dataSource the pooled data source
+     * @param lookupConnections the most connections that helpers of multi-ID lookups may hold at
+     *                          once, on top of one per calling thread; 0 runs chunks sequentially
+     */
+    public JdbcProductRepository(DataSource dataSource, int lookupConnections) {
+        if (lookupConnections < 0) {
+            throw new IllegalArgumentException("Lookup connections must not be negative");
+        }
+        this.dataSource = dataSource;
+        this.lookupConnections = new Semaphore(lookupConnections);
+        initializeSchema();
+    }
+
+    private void initializeSchema() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not initialize product schema", e);
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(FIND_ALL)) {
+            return readProducts(statement);
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not load products", e);
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(FIND_BY_ID)) {
+            statement.setString(1, id);
+            return readProducts(statement).stream().findFirst();
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not load product " + id, e);
+        }
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            chunks.add(distinctIds.subList(from, Math.min(distinctIds.size(), from + LOOKUP_CHUNK_SIZE)));
+        }
+
+        Map<String, Product> found = new HashMap<>();
+        AtomicInteger nextChunk = new AtomicInteger();
+        Supplier<List<Product>> lookup = () -> {
+            List<Product> products = new ArrayList<>();
+            for (int chunk = nextChunk.getAndIncrement(); chunk < chunks.size(); chunk = nextChunk.getAndIncrement()) {
+                products.addAll(findChunk(chunks.get(chunk)));
+            }
+            return products;
+        };
+        int helpers = acquireLookupConnections(chunks.size() - 1);
+        if (helpers == 0) {
+            lookup.get().forEach(product -> found.put(product.getId(), product));
+        } else {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<CompletableFuture<List<Product>>> lookups = new ArrayList<>(helpers);
+                for (int i = 0; i < helpers; i++) {
+                    lookups.add(CompletableFuture.supplyAsync(lookup, executor));
+                }
+                lookup.get().forEach(product -> found.put(product.getId(), product));
+                for (CompletableFuture<List<Product>> helper : lookups) {
+                    helper.join().forEach(product -> found.put(product.getId(), product));
+                }
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            } finally {
+                // Closing the executor has waited for the helpers
+                lookupConnections.release(helpers);
+            }
+        }
+
+        List<Product> products = new ArrayList<>(found.size());
+        for (String id : distinctIds) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * @return how many of the wanted helper connections are free, now taken by the caller
+     */
+    private int acquireLookupConnections(int wanted) {
+        int acquired = 0;
+        while (acquired < wanted && lookupConnections.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    private List<Product> findChunk(List<String> ids) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(FIND_BY_IDS)) {
+            statement.setArray(1, connection.createArrayOf("VARCHAR", ids.toArray()));
+            return readProducts(statement);
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not load " + ids.size() + " product(s)", e);
+        }
+    }
+
+    @Override
+    public Product save(Product product) {
+        return saveAll(List.of(product)).get(0);
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> saved = new ArrayList<>(products.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Product product : products) {
+            if (product.getId() == null) {
+                product.setId(IdGenerator.nextId());
+            }
+            if (product.getCreatedAt() == null) {
+                product.setCreatedAt(now);
+            }
+            product.setUpdatedAt(now);
+            saved.add(product);
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            // Categories are committed on their own so that cached IDs survive a rolled back save
+            resolveCategoryIds(connection, saved);
+
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            boolean tracking = trackingChanges;
+            try (PreparedStatement mergeProduct = connection.prepareStatement(MERGE_PRODUCT);
+                 PreparedStatement deleteLinks = connection.prepareStatement(DELETE_CATEGORY_LINKS);
+                 PreparedStatement insertLink = connection.prepareStatement(INSERT_CATEGORY_LINK);
+                 PreparedStatement deleteTombstone = connection.prepareStatement(DELETE_TOMBSTONE)) {
+                for (int from = 0; from < saved.size(); from += BATCH_SIZE) {
+                    List<Product> batch = saved.subList(from, Math.min(saved.size(), from + BATCH_SIZE));
+                    for (Product product : batch) {
+                        bindProduct(mergeProduct, product);
+                        mergeProduct.addBatch();
+                        deleteLinks.setString(1, product.getId());
+                        deleteLinks.addBatch();
+                        if (tracking) {
+                            // A product saved again after a delete is reported by its update alone
+                            deleteTombstone.setString(1, product.getId());
+                            deleteTombstone.addBatch();
+                        }
+                        if (product.getCategories() != null) {
+                            for (String category : product.getCategories()) {
+                                insertLink.setString(1, product.getId());
+                                insertLink.setLong(2, categoryIds.get(category));
+                                insertLink.addBatch();
+                            }
+                        }
+                    }
+                    mergeProduct.executeBatch();
+                    deleteLinks.executeBatch();
+                    insertLink.executeBatch();
+                    if (tracking) {
+                        deleteTombstone.executeBatch();
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not save " + saved.size() + " product(s)", e);
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        if (!trackingChanges) {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(DELETE_PRODUCT)) {
+                statement.setString(1, id);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                throw new ProductRepositoryException("Could not delete product " + id, e);
+            }
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement deleteProduct = connection.prepareStatement(DELETE_PRODUCT);
+                 PreparedStatement mergeTombstone = connection.prepareStatement(MERGE_TOMBSTONE)) {
+                deleteProduct.setString(1, id);
+                if (deleteProduct.executeUpdate() > 0) {
+                    mergeTombstone.setString(1, id);
+                    mergeTombstone.setObject(2, LocalDateTime.now());
+                    mergeTombstone.executeUpdate();
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not delete product " + id, e);
+        }
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(FIND_BY_CATEGORY)) {
+            statement.setString(1, category);
+            return readProducts(statement);
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not load products in category " + category, e);
+        }
+    }
+
+    /**
+     * Starts keeping tombstones of deleted products, which enables
+     * {@link #findChangesSince(String, int)}, and drops expired ones on a background thread
+     *
+     * @param safetyLag how old a change must be to be reported, which gives a transaction that took
+     *                  its change time before a later one committed that long to commit
+     * @param retention how long tombstones are kept
+     * @param interval the delay between purges
+     */
+    public synchronized void startChangeTracking(Duration safetyLag, Duration retention, Duration interval) {
+        if (purgeExecutor != null) {
+            return;
+        }
+        this.safetyLag = safetyLag;
+        trackingChanges = true;
+        purgeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-tombstone-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purgeExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                int purged = purgeTombstones(LocalDateTime.now().minus(retention));
+                log.log(System.Logger.Level.DEBUG, "Dropped {0} expired tombstones", purged);
+            } catch (RuntimeException e) {
+                log.log(System.Logger.Level.WARNING, "Tombstone purge failed", e);
+            }
+        }, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Drops tombstones of products deleted before a point in time
+     *
+     * @param cutoff the point in time
+     * @return the number of tombstones dropped
+     */
+    public int purgeTombstones(LocalDateTime cutoff) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement findExpired = connection.prepareStatement(FIND_EXPIRED_TOMBSTONES);
+                 PreparedStatement deleteExpired = connection.prepareStatement(DELETE_EXPIRED_TOMBSTONES);
+                 PreparedStatement mergeHorizon = connection.prepareStatement(MERGE_TOMBSTONE_HORIZON)) {
+                findExpired.setObject(1, cutoff);
+                LocalDateTime newest;
+                try (ResultSet resultSet = findExpired.executeQuery()) {
+                    resultSet.next();
+                    newest = resultSet.getObject(1, LocalDateTime.class);
+                }
+                int purged = 0;
+                if (newest != null) {
+                    // The horizon is raised in the same transaction, so no reader misses the tombstones unnoticed
+                    deleteExpired.setObject(1, newest);
+                    purged = deleteExpired.executeUpdate();
+                    mergeHorizon.setObject(1, newest);
+                    mergeHorizon.executeUpdate();
+                }
+                connection.commit();
+                return purged;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not drop expired tombstones", e);
+        }
+    }
+
+    @Override
+    public Optional<ProductChanges> findChangesSince(String token, int limit) {
+        if (!trackingChanges) {
+            return Optional.empty();
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        boolean fromStart = token == null || token.isBlank();
+        ChangeCursor since = fromStart ? ChangeCursor.START : ChangeCursor.parse(token);
+        if (since == null) {
+            return Optional.empty();
+        }
+
+        LocalDateTime settled = LocalDateTime.now().minus(safetyLag);
+        List<String> ids = new ArrayList<>(Math.min(limit, 1024));
+        ChangeCursor readUpTo = since;
+        boolean hasMore = false;
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement =
+                         connection.prepareStatement(fromStart ? FIND_CHANGES_FROM_START : FIND_CHANGES_SINCE)) {
+                int parameter = 1;
+                if (!fromStart) {
+                    statement.setObject(parameter++, since.at());
+                    statement.setObject(parameter++, since.at());
+                    statement.setString(parameter++, since.id());
+                }
+                statement.setObject(parameter++, settled);
+                // One row more tells whether there are more changes
+                statement.setInt(parameter, limit + 1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        if (ids.size() == limit) {
+                            hasMore = true;
+                            break;
+                        }
+                        readUpTo = new ChangeCursor(resultSet.getObject(1, LocalDateTime.class),
+                                resultSet.getString(2));
+                        ids.add(readUpTo.id());
+                    }
+                }
+            }
+            // Checked after the scan, so that a purge during it is seen too
+            if (!fromStart) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery(FIND_TOMBSTONE_HORIZON)) {
+                    if (resultSet.next() && since.at().isBefore(resultSet.getObject(1, LocalDateTime.class))) {
+                        return Optional.empty();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not load product changes", e);
+        }
+
+        // Report the current state: products that are gone by now count as deleted
+        List<Product> updated = ids.isEmpty() ? List.of() : findAllById(ids);
+        Set<String> found = new HashSet<>(updated.size() * 2);
+        updated.forEach(product -> found.add(product.getId()));
+        List<String> deleted = ids.stream().filter(id -> !found.contains(id)).toList();
+        return Optional.of(new ProductChanges(updated, deleted, readUpTo.token(), hasMore));
+    }
+
+    /**
+     * Count the stored products
+     *
+     * @return the number of products
+     */
+    public long count() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(COUNT)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw new ProductRepositoryException("Could not count products", e);
+        }
+    }
+
+    private void resolveCategoryIds(Connection connection, List<Product> products) throws SQLException {
+        Set<String> missing = new LinkedHashSet<>();
+        for (Product product : products) {
+            if (product.getCategories() != null) {
+                for (String category : product.getCategories()) {
+                    if (!categoryIds.containsKey(category)) {
+                        missing.add(category);
+                    }
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement merge = connection.prepareStatement(MERGE_CATEGORY);
+             PreparedStatement find = connection.prepareStatement(FIND_CATEGORY_ID)) {
+            for (String category : missing) {
+                merge.setString(1, category);
+                merge.addBatch();
+            }
+            merge.executeBatch();
+            for (String category : missing) {
+                find.setString(1, category);
+                try (ResultSet resultSet = find.executeQuery()) {
+                    resultSet.next();
+                    categoryIds.put(category, resultSet.getLong(1));
+                }
+            }
+        }
+    }
+
+    private static void bindProduct(PreparedStatement statement, Product product) throws SQLException {
+        statement.setString(1, product.getId());
+        statement.setString(2, product.getName());
+        statement.setString(3, product.getDescription());
+        statement.setString(4, product.getSku());
+        Money price = product.getPrice();
+        statement.setBigDecimal(5, price == null ? null : price.toBigDecimal());
+        statement.setString(6, price == null ? null : price.getCurrency().getCurrencyCode());
+        statement.setInt(7, product.getQuantityInStock());
+        statement.setString(8, product.getStatus() == null ? null : product.getStatus().name());
+        statement.setObject(9, product.getCreatedAt());
+        statement.setObject(10, product.getUpdatedAt());
+        statement.setString(11, product.getCreatedBy());
+        statement.setString(12, product.getUpdatedBy());
+    }
+
+    /**
+     * Maps rows of {@link #SELECT_WITH_CATEGORIES} (one per product and category,
+     * ordered or filtered so that rows of a product are adjacent) to products
+     */
+    private static List<Product> readProducts(PreparedStatement statement) throws SQLException {
+        List<Product> products = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            Product current = null;
+            while (resultSet.next()) {
+                String id = resultSet.getString("id");
+                if (current == null || !current.getId().equals(id)) {
+                    current = mapProduct(resultSet);
+                    products.add(current);
+                }
+                String category = resultSet.getString("category");
+                if (category != null) {
+                    current.getCategories().add(category);
+                }
+            }
+        }
+        return products;
+    }
+
+    private static Product mapProduct(ResultSet resultSet) throws SQLException {
+        String status = resultSet.getString("status");
+        BigDecimal price = resultSet.getBigDecimal("price");
+        return Product.builder()
+                .id(resultSet.getString("id"))
+                .name(resultSet.getString("name"))
+                .description(resultSet.getString("description"))
+                .sku(resultSet.getString("sku"))
+                .price(price == null ? null : Money.of(price, Currency.getInstance(resultSet.getString("currency"))))
+                .quantityInStock(resultSet.getInt("quantity_in_stock"))
+                .status(status == null ? null : Product.ProductStatus.valueOf(status))
+                .categories(new HashSet<>())
+                .createdAt(resultSet.getObject("created_at", LocalDateTime.class))
+                .updatedAt(resultSet.getObject("updated_at", LocalDateTime.class))
+                .createdBy(resultSet.getString("created_by"))
+                .updatedBy(resultSet.getString("updated_by"))
+                .build();
+    }
+}
@@ -1,9 +1,10 @@
 package com.example.productmanagement.products.repository;
 
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.common.utils.IdGenerator;
 import com.example.productmanagement.products.model.Product;
 import com.github.javafaker.Faker;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -14,14 +15,26 @@ import java.util.stream.Collectors;
  */
 public class MockProductRepository implements ProductRepository {
     
-    private final Map<String, Product> products = new ConcurrentHashMap<>();
+    private final Map<String, Product> products;
     private final Faker faker = new Faker();
     
     public MockProductRepository() {
+        this.products = new ConcurrentHashMap<>();
         // Initialize with some mock data
         initializeMockData();
     }
     
+    /**
+     * Creates a repository pre-populated with the given products instead of mock data,
+     * e.g. a catalog restored from a snapshot
+     * 
+     * @param initialProducts the products to start with
+     */
+    public MockProductRepository(Collection<Product> initialProducts) {
+        this.products = new ConcurrentHashMap<>(Math.max(16, initialProducts.size() * 4 / 3 + 1));
+        initialProducts.parallelStream().forEach(product -> products.put(product.getId(), product));
+    }
+    
     private void initializeMockData() {
         // Create 10 random products
         for (int i = 0; i < 10; i++) {
@@ -31,11 +44,11 @@ public class MockProductRepository implements ProductRepository {
     }
     
     private Product createMockProduct() {
-        String id = UUID.randomUUID().toString();
+        String id = IdGenerator.nextId();
         String name = faker.commerce().productName();
         String description = faker.lorem().paragraph();
         String sku = faker.code().isbn10();
-        BigDecimal price = new BigDecimal(faker.commerce().price().replace(",", "."));
+        Money price = Money.parse(faker.commerce().price().replace(",", "."));
         int quantity = faker.random().nextInt(0, 100);
         
         Set<String> categories = new HashSet<>();
@@ -75,7 +88,7 @@ public class MockProductRepository implements ProductRepository {
     @Override
     public Product save(Product product) {
         if (product.getId() == null) {
-            product.setId(UUID.randomUUID().toString());
+            product.setId(IdGenerator.nextId());
         }
         
         if (product.getCreatedAt() == null) {
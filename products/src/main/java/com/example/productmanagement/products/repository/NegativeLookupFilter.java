@@ -0,0 +1,186 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bloom filter over the product IDs of a repository, which answers "definitely absent" for
+ * most IDs that do not exist
+ * <p>
+ * IDs are added on save. A Bloom filter cannot remove keys, so deleted IDs keep passing the
+ * filter until it is rebuilt from the repository, which {@link #needsRebuild()} asks for once
+ * a tenth of the IDs have been deleted or the catalog has outgrown the filter. Rebuilding runs
+ * concurrently with reads and writes: IDs saved meanwhile go into both the old and the new filter.
+ */
+public class NegativeLookupFilter {
+
+    static final long MIN_EXPECTED_KEYS = 1024;
+
+    private static final double REBUILD_DELETE_SHARE = 0.1;
+
+    private final double falsePositiveRate;
+    private final long maxBytes;
+    private volatile Generation current;
+    // The filter being rebuilt, which saves must also go to
+    private volatile BloomFilter pending;
+    private final AtomicLong deletesSinceRebuild = new AtomicLong();
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    /**
+     * @param falsePositiveRate the target share of absent IDs that pass the filter
+     * @param maxBytes the most memory the filter may take; a smaller filter has more false positives
+     */
+    public NegativeLookupFilter(double falsePositiveRate, long maxBytes) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        if (maxBytes < Long.BYTES) {
+            throw new IllegalArgumentException("Maximum memory must be at least " + Long.BYTES + " bytes");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBytes = maxBytes;
+        this.current = new Generation(BloomFilter.create(MIN_EXPECTED_KEYS, falsePositiveRate, maxBytes),
+                MIN_EXPECTED_KEYS);
+    }
+
+    /**
+     * Checks an ID before it is looked up, counting the outcome
+     *
+     * @param id the product ID
+     * @return false if no product with the ID exists, true if one might
+     */
+    public boolean mightContain(String id) {
+        if (current.filter().mightContain(id)) {
+            passed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Counts IDs that passed the filter but were not found
+     *
+     * @param count the number of such IDs
+     */
+    public void recordFalsePositives(long count) {
+        falsePositives.add(count);
+    }
+
+    /**
+     * Adds the ID of a saved product; call after the product has been saved
+     *
+     * @param id the product ID
+     */
+    public void add(String id) {
+        // Read the pending filter first: if it is already gone, the current one is its successor
+        BloomFilter rebuilding = pending;
+        if (rebuilding != null) {
+            rebuilding.put(id);
+        }
+        current.filter().put(id);
+    }
+
+    /**
+     * Counts a deleted product towards the next rebuild
+     */
+    public void recordDelete() {
+        deletesSinceRebuild.incrementAndGet();
+    }
+
+    /**
+     * @return whether enough IDs were deleted, or added, since the last rebuild to warrant another
+     */
+    public boolean needsRebuild() {
+        Generation generation = current;
+        long keys = generation.filter().approximateKeyCount();
+        return keys > generation.expectedKeys()
+                || deletesSinceRebuild.get() > REBUILD_DELETE_SHARE * Math.max(MIN_EXPECTED_KEYS, keys);
+    }
+
+    /**
+     * Replaces the filter by one holding exactly the IDs of the given products, sized for
+     * twice their number
+     *
+     * @param products reads all products from the repository; called after this starts
+     *                 collecting concurrently saved IDs, and again if the new filter turns out too small
+     */
+    public synchronized void rebuild(Supplier<? extends Collection<Product>> products) {
+        long deletes = deletesSinceRebuild.get();
+        long expectedKeys = Math.max(MIN_EXPECTED_KEYS, 2 * Math.min(current.filter().approximateKeyCount(), Integer.MAX_VALUE));
+        while (true) {
+            BloomFilter rebuilt = BloomFilter.create(expectedKeys, falsePositiveRate, maxBytes);
+            pending = rebuilt;
+            Collection<Product> all = products.get();
+            if (all.size() > expectedKeys) {
+                expectedKeys = 2L * all.size();
+                continue;
+            }
+            all.forEach(product -> rebuilt.put(product.getId()));
+            current = new Generation(rebuilt, expectedKeys);
+            pending = null;
+            break;
+        }
+        deletesSinceRebuild.addAndGet(-deletes);
+        rebuilds.increment();
+    }
+
+    /**
+     * @return the number of lookups answered "absent" by the filter
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of lookups passed on to the repository
+     */
+    public long getPassed() {
+        return passed.sum();
+    }
+
+    /**
+     * @return the number of lookups passed on to the repository that found nothing
+     */
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * @return the share of lookups for absent IDs that the filter answered, 1 if there were none
+     */
+    public double getHitRate() {
+        long hits = rejected.sum();
+        long misses = falsePositives.sum();
+        return hits + misses == 0 ? 1 : (double) hits / (hits + misses);
+    }
+
+    public long getRebuilds() {
+        return rebuilds.sum();
+    }
+
+    /**
+     * @return the number of bytes taken by the filter
+     */
+    public long getMemorySize() {
+        return current.filter().memorySize();
+    }
+
+    /**
+     * @return the probability that an absent ID passes the filter as currently filled
+     */
+    public double getExpectedFalsePositiveRate() {
+        return current.filter().expectedFalsePositiveRate();
+    }
+
+    private record Generation(BloomFilter filter, long expectedKeys) {
+    }
+}
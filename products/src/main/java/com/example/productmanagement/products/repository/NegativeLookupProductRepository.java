@@ -0,0 +1,142 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductRepository decorator that answers lookups of nonexistent IDs from a
+ * {@link NegativeLookupFilter} instead of the delegate
+ * <p>
+ * The filter is filled from the delegate on construction, updated on every save and rebuilt
+ * in the background once deletes have made it stale.
+ */
+public class NegativeLookupProductRepository implements ProductRepository {
+
+    private static final System.Logger log = System.getLogger(NegativeLookupProductRepository.class.getName());
+
+    private final ProductRepository delegate;
+    private final NegativeLookupFilter filter;
+    private ScheduledExecutorService rebuildExecutor;
+
+    public NegativeLookupProductRepository(ProductRepository delegate, NegativeLookupFilter filter) {
+        this.delegate = delegate;
+        this.filter = filter;
+        filter.rebuild(delegate::findAll);
+    }
+
+    /**
+     * Rebuilds the filter on a background thread whenever it {@link NegativeLookupFilter#needsRebuild() needs it}
+     *
+     * @param checkInterval the delay between checks
+     */
+    public synchronized void startRebuilding(Duration checkInterval) {
+        if (rebuildExecutor != null) {
+            return;
+        }
+        rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "negative-lookup-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuildExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                rebuildIfNeeded();
+            } catch (RuntimeException e) {
+                log.log(System.Logger.Level.WARNING, "Negative lookup filter rebuild failed", e);
+            }
+        }, checkInterval.toNanos(), checkInterval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Rebuilds the filter from the delegate if it has gone stale
+     *
+     * @return whether the filter was rebuilt
+     */
+    public boolean rebuildIfNeeded() {
+        if (!filter.needsRebuild()) {
+            return false;
+        }
+        filter.rebuild(delegate::findAll);
+        log.log(System.Logger.Level.DEBUG, "Rebuilt negative lookup filter with {0} bytes", filter.getMemorySize());
+        return true;
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        if (!filter.mightContain(id)) {
+            return Optional.empty();
+        }
+        Optional<Product> product = delegate.findById(id);
+        if (product.isEmpty()) {
+            filter.recordFalsePositives(1);
+        }
+        return product;
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            if (filter.mightContain(id)) {
+                candidates.add(id);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        List<Product> products = delegate.findAllById(candidates);
+        filter.recordFalsePositives(candidates.size() - products.size());
+        return products;
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = delegate.save(product);
+        filter.add(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> saved = delegate.saveAll(products);
+        saved.forEach(product -> filter.add(product.getId()));
+        return saved;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+        filter.recordDelete();
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        return delegate.findByCategory(category);
+    }
+
+    @Override
+    public OptionalLong catalogVersion() {
+        return delegate.catalogVersion();
+    }
+
+    @Override
+    public Optional<ProductChanges> findChangesSince(String token, int limit) {
+        return delegate.findChangesSince(token, limit);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.productmanagement.products.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Open-addressing hash table from 64-bit key hashes to 64-bit record addresses, held in a
+ * direct buffer outside the Java heap
+ * <p>
+ * Each slot is two longs: the key hash and the address plus one, where zero marks an empty slot
+ * and -1 a deleted one. Collisions are resolved by linear probing. Hashes alone do not identify a
+ * key, so every operation takes a predicate that checks whether the record at a candidate address
+ * belongs to the key being looked up. Not thread-safe.
+ */
+class OffHeapIndex {
+
+    static final long NOT_FOUND = -1;
+
+    private static final long EMPTY = 0;
+    private static final long DELETED = -1;
+    private static final int MIN_CAPACITY = 16;
+    // Largest power of two whose table still fits into a single direct buffer
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    private LongBuffer table;
+    private int capacity;
+    private int size;
+    private int deleted;
+
+    OffHeapIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of bytes of direct memory held by the table
+     */
+    long memorySize() {
+        return (long) capacity * 2 * Long.BYTES;
+    }
+
+    long get(long hash, LongPredicate matches) {
+        int mask = capacity - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            long stored = table.get(2 * slot + 1);
+            if (stored == EMPTY) {
+                return NOT_FOUND;
+            }
+            if (stored != DELETED && table.get(2 * slot) == hash && matches.test(stored - 1)) {
+                return stored - 1;
+            }
+        }
+    }
+
+    /**
+     * Maps the key to an address
+     *
+     * @return the address previously mapped to the key or {@link #NOT_FOUND}
+     */
+    long put(long hash, long address, LongPredicate matches) {
+        if (2 * (size + deleted + 1) > capacity) {
+            // Grow when live entries fill more than a quarter of the table, otherwise just sweep out
+            // deleted slots; growing only at half would leave a swept table due for another sweep
+            rehash(2 * (size + 1) > capacity / 2 ? capacity * 2 : capacity);
+        }
+        int mask = capacity - 1;
+        int free = -1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            long stored = table.get(2 * slot + 1);
+            if (stored == EMPTY) {
+                if (free < 0) {
+                    free = slot;
+                } else {
+                    deleted--;
+                }
+                table.put(2 * free, hash).put(2 * free + 1, address + 1);
+                size++;
+                return NOT_FOUND;
+            }
+            if (stored == DELETED) {
+                if (free < 0) {
+                    free = slot;
+                }
+            } else if (table.get(2 * slot) == hash && matches.test(stored - 1)) {
+                table.put(2 * slot + 1, address + 1);
+                return stored - 1;
+            }
+        }
+    }
+
+    /**
+     * Removes the key
+     *
+     * @return the address that was mapped to the key or {@link #NOT_FOUND}
+     */
+    long remove(long hash, LongPredicate matches) {
+        int mask = capacity - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            long stored = table.get(2 * slot + 1);
+            if (stored == EMPTY) {
+                return NOT_FOUND;
+            }
+            if (stored != DELETED && table.get(2 * slot) == hash && matches.test(stored - 1)) {
+                table.put(2 * slot + 1, DELETED);
+                size--;
+                deleted++;
+                return stored - 1;
+            }
+        }
+    }
+
+    void forEach(LongConsumer action) {
+        for (int slot = 0; slot < capacity; slot++) {
+            long stored = table.get(2 * slot + 1);
+            if (stored != EMPTY && stored != DELETED) {
+                action.accept(stored - 1);
+            }
+        }
+    }
+
+    /**
+     * Replaces every address in place, e.g. after the records have been moved
+     */
+    void replaceAll(LongUnaryOperator function) {
+        for (int slot = 0; slot < capacity; slot++) {
+            long stored = table.get(2 * slot + 1);
+            if (stored != EMPTY && stored != DELETED) {
+                table.put(2 * slot + 1, function.applyAsLong(stored - 1) + 1);
+            }
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        LongBuffer old = table;
+        int oldCapacity = capacity;
+        allocate(newCapacity);
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+            long stored = old.get(2 * oldSlot + 1);
+            if (stored == EMPTY || stored == DELETED) {
+                continue;
+            }
+            long hash = old.get(2 * oldSlot);
+            int slot = (int) hash & mask;
+            while (table.get(2 * slot + 1) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table.put(2 * slot, hash).put(2 * slot + 1, stored);
+        }
+        deleted = 0;
+    }
+
+    private void allocate(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Off-heap index cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        // Direct buffers are zeroed, i.e. all slots start out empty
+        table = ByteBuffer.allocateDirect(newCapacity * 2 * Long.BYTES).asLongBuffer();
+        capacity = newCapacity;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2L * expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,324 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.utils.IdGenerator;
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.snapshot.ProductCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ProductRepository that keeps the catalog in direct memory instead of on the Java heap
+ * <p>
+ * Products are stored as length-prefixed {@link ProductCodec} records appended to direct
+ * {@link ByteBuffer} slabs, and located through an {@link OffHeapIndex} keyed by a 64-bit hash of
+ * the ID. The heap holds a few dozen objects regardless of catalog size, so the garbage collector
+ * neither traces nor copies the catalog. The price is that every read decodes a fresh product.
+ * <p>
+ * Replaced and deleted records stay in their slab as garbage until it outweighs the live records,
+ * at which point the live records are copied into new slabs. Reads share a read lock; writes,
+ * which are single-threaded anyway because they append to the same slab, take the write lock.
+ */
+public class OffHeapProductRepository implements ProductRepository {
+
+    static final int DEFAULT_SLAB_SIZE = 64 << 20;
+
+    private static final int MIN_COMPACTION_BYTES = 1 << 20;
+
+    private final int slabSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapIndex index;
+    private List<ByteBuffer> slabs = new ArrayList<>();
+    private long liveBytes;
+    private long garbageBytes;
+
+    // Reused by writers, which hold the write lock
+    private final ByteArrayOutputStream encodeBuffer = new ByteArrayOutputStream(1024);
+    private final DataOutputStream encodeOutput = new DataOutputStream(encodeBuffer);
+
+    public OffHeapProductRepository() {
+        this(List.of());
+    }
+
+    /**
+     * @param initialProducts the products to start with
+     */
+    public OffHeapProductRepository(Collection<Product> initialProducts) {
+        this(initialProducts, DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * @param initialProducts the products to start with
+     * @param slabSize the size in bytes of each direct buffer; larger records get a slab of their own
+     */
+    public OffHeapProductRepository(Collection<Product> initialProducts, int slabSize) {
+        this.slabSize = slabSize;
+        this.index = new OffHeapIndex(initialProducts.size());
+        for (Product product : initialProducts) {
+            store(product);
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            List<Product> products = new ArrayList<>(index.size());
+            index.forEach(address -> products.add(decode(address)));
+            return products;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            long address = index.get(hash(key), candidate -> hasId(candidate, key));
+            return address == OffHeapIndex.NOT_FOUND ? Optional.empty() : Optional.of(decode(address));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            List<Product> products = new ArrayList<>(ids.size());
+            for (String id : new LinkedHashSet<>(ids)) {
+                byte[] key = id.getBytes(StandardCharsets.UTF_8);
+                long address = index.get(hash(key), candidate -> hasId(candidate, key));
+                if (address != OffHeapIndex.NOT_FOUND) {
+                    products.add(decode(address));
+                }
+            }
+            return products;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Product save(Product product) {
+        return saveAll(List.of(product)).get(0);
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> saved = new ArrayList<>(products.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Product product : products) {
+            if (product.getId() == null) {
+                product.setId(IdGenerator.nextId());
+            }
+            if (product.getCreatedAt() == null) {
+                product.setCreatedAt(now);
+            }
+            product.setUpdatedAt(now);
+            saved.add(product);
+        }
+
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            saved.forEach(this::store);
+            compactIfWasteful();
+        } finally {
+            writeLock.unlock();
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            long removed = index.remove(hash(key), candidate -> hasId(candidate, key));
+            if (removed != OffHeapIndex.NOT_FOUND) {
+                int size = recordSize(removed);
+                liveBytes -= size;
+                garbageBytes += size;
+                compactIfWasteful();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            List<Product> products = new ArrayList<>();
+            index.forEach(address -> {
+                Product product = decode(address);
+                if (product.getCategories() != null && product.getCategories().contains(category)) {
+                    products.add(product);
+                }
+            });
+            return products;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of stored products
+     */
+    public int size() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return index.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of bytes of direct memory held by the slabs and the index
+     */
+    public long getOffHeapBytes() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            long bytes = index.memorySize();
+            for (ByteBuffer slab : slabs) {
+                bytes += slab.capacity();
+            }
+            return bytes;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of bytes taken by replaced and deleted records not yet compacted away
+     */
+    public long getGarbageBytes() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return garbageBytes;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void store(Product product) {
+        byte[] key = product.getId().getBytes(StandardCharsets.UTF_8);
+        long address = append(encode(product));
+        long previous = index.put(hash(key), address, candidate -> hasId(candidate, key));
+        liveBytes += recordSize(address);
+        if (previous != OffHeapIndex.NOT_FOUND) {
+            int size = recordSize(previous);
+            liveBytes -= size;
+            garbageBytes += size;
+        }
+    }
+
+    private byte[] encode(Product product) {
+        encodeBuffer.reset();
+        try {
+            ProductCodec.encode(product, encodeOutput);
+        } catch (IOException e) {
+            // Writing to a byte array cannot fail
+            throw new IllegalStateException(e);
+        }
+        return encodeBuffer.toByteArray();
+    }
+
+    /**
+     * Appends a record to the last slab, starting a new one if it does not fit
+     *
+     * @return the address of the record: the slab number in the high and the offset in the low 32 bits
+     */
+    private long append(byte[] encoded) {
+        int size = Integer.BYTES + encoded.length;
+        ByteBuffer slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+        if (slab == null || slab.remaining() < size) {
+            slab = ByteBuffer.allocateDirect(Math.max(slabSize, size));
+            slabs.add(slab);
+        }
+        long address = (long) (slabs.size() - 1) << 32 | slab.position();
+        slab.putInt(encoded.length).put(encoded);
+        return address;
+    }
+
+    private Product decode(long address) {
+        ByteBuffer slab = slabOf(address);
+        int offset = (int) address;
+        return ProductCodec.decode(slab.slice(offset + Integer.BYTES, slab.getInt(offset)));
+    }
+
+    /**
+     * Compares the ID at the start of the record, which {@link ProductCodec} writes as a
+     * length-prefixed UTF-8 string, without decoding the record
+     */
+    private boolean hasId(long address, byte[] key) {
+        ByteBuffer slab = slabOf(address);
+        int offset = (int) address + Integer.BYTES;
+        if (slab.getInt(offset) != key.length) {
+            return false;
+        }
+        return slab.slice(offset + Integer.BYTES, key.length).equals(ByteBuffer.wrap(key));
+    }
+
+    private int recordSize(long address) {
+        return Integer.BYTES + slabOf(address).getInt((int) address);
+    }
+
+    private ByteBuffer slabOf(long address) {
+        return slabs.get((int) (address >>> 32));
+    }
+
+    private void compactIfWasteful() {
+        if (garbageBytes < MIN_COMPACTION_BYTES || garbageBytes <= liveBytes) {
+            return;
+        }
+        List<ByteBuffer> oldSlabs = slabs;
+        slabs = new ArrayList<>();
+        index.replaceAll(address -> {
+            ByteBuffer slab = oldSlabs.get((int) (address >>> 32));
+            int offset = (int) address;
+            byte[] encoded = new byte[slab.getInt(offset)];
+            slab.get(offset + Integer.BYTES, encoded);
+            return append(encoded);
+        });
+        garbageBytes = 0;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-8 ID, finished with the MurmurHash3 mixer so that the low
+     * bits used to pick an index slot depend on every input byte
+     */
+    static long hash(byte[] key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Immutable map from product ID to product, implemented as a hash array mapped trie
+ * <p>
+ * Updates return a new map that shares every node off the path to the changed entry with
+ * the original, so a write copies at most a handful of small arrays regardless of catalog size.
+ * Lookups walk at most seven levels of 32-way nodes and do not allocate.
+ */
+public final class PersistentProductMap {
+
+    public static final PersistentProductMap EMPTY = new PersistentProductMap(BitmapNode.EMPTY, 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final Node root;
+    private final int size;
+
+    private PersistentProductMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @return the number of products in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks up a product
+     *
+     * @param id the product ID
+     * @return the product or null if not present
+     */
+    public Product get(String id) {
+        return root.find(id, hash(id), 0);
+    }
+
+    /**
+     * Adds or replaces the product stored under its ID
+     *
+     * @param product the product, which must have an ID
+     * @return the updated map; this map is not changed
+     */
+    public PersistentProductMap put(Product product) {
+        String id = product.getId();
+        int hash = hash(id);
+        boolean present = root.find(id, hash, 0) != null;
+        Node updated = root.put(id, hash, product, 0);
+        return updated == root ? this : new PersistentProductMap(updated, present ? size : size + 1);
+    }
+
+    /**
+     * Removes a product
+     *
+     * @param id the product ID
+     * @return the updated map; this map is not changed
+     */
+    public PersistentProductMap remove(String id) {
+        Node updated = root.remove(id, hash(id), 0);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentProductMap(updated == null ? BitmapNode.EMPTY : updated, size - 1);
+    }
+
+    /**
+     * Visits every product in trie order
+     *
+     * @param action the action to perform on each product
+     */
+    public void forEach(Consumer<Product> action) {
+        root.forEach(action);
+    }
+
+    private static int hash(String id) {
+        int h = id.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private interface Node {
+        Product find(String id, int hash, int shift);
+
+        Node put(String id, int hash, Product product, int shift);
+
+        /**
+         * @return the updated node, this node if the ID is absent, or null if the node became empty
+         */
+        Node remove(String id, int hash, int shift);
+
+        void forEach(Consumer<Product> action);
+    }
+
+    /**
+     * Node with up to 32 slots selected by five hash bits; each slot holds either an
+     * ID and its product, or null and a child node
+     */
+    private static final class BitmapNode implements Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @Override
+        public Product find(String id, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object key = slots[index];
+            Object value = slots[index + 1];
+            if (key == null) {
+                return ((Node) value).find(id, hash, shift + BITS);
+            }
+            return id.equals(key) ? (Product) value : null;
+        }
+
+        @Override
+        public Node put(String id, int hash, Product product, int shift) {
+            int bit = bit(hash, shift);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] inserted = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, inserted, 0, index);
+                inserted[index] = id;
+                inserted[index + 1] = product;
+                System.arraycopy(slots, index, inserted, index + 2, slots.length - index);
+                return new BitmapNode(bitmap | bit, inserted);
+            }
+
+            Object key = slots[index];
+            Object value = slots[index + 1];
+            if (key == null) {
+                Node child = ((Node) value).put(id, hash, product, shift + BITS);
+                return child == value ? this : with(index, null, child);
+            }
+            if (id.equals(key)) {
+                return value == product ? this : with(index, key, product);
+            }
+            return with(index, null, split((String) key, (Product) value, id, hash, product, shift + BITS));
+        }
+
+        @Override
+        public Node remove(String id, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object key = slots[index];
+            Object value = slots[index + 1];
+            if (key == null) {
+                Node child = ((Node) value).remove(id, hash, shift + BITS);
+                if (child == value) {
+                    return this;
+                }
+                return child == null ? without(index, bit) : with(index, null, child);
+            }
+            return id.equals(key) ? without(index, bit) : this;
+        }
+
+        @Override
+        public void forEach(Consumer<Product> action) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] == null) {
+                    ((Node) slots[i + 1]).forEach(action);
+                } else {
+                    action.accept((Product) slots[i + 1]);
+                }
+            }
+        }
+
+        private BitmapNode with(int index, Object key, Object value) {
+            Object[] copy = slots.clone();
+            copy[index] = key;
+            copy[index + 1] = value;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private BitmapNode without(int index, int bit) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] removed = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, removed, 0, index);
+            System.arraycopy(slots, index + 2, removed, index, slots.length - index - 2);
+            return new BitmapNode(bitmap & ~bit, removed);
+        }
+
+        private static Node split(String existingId, Product existing, String id, int hash, Product product,
+                                  int shift) {
+            int existingHash = hash(existingId);
+            if (existingHash == hash) {
+                return new CollisionNode(hash, new Object[]{existingId, existing, id, product});
+            }
+            return EMPTY.put(existingId, existingHash, existing, shift).put(id, hash, product, shift);
+        }
+    }
+
+    /**
+     * Leaf holding IDs whose hashes are identical in all 32 bits
+     */
+    private static final class CollisionNode implements Node {
+
+        private final int hash;
+        private final Object[] entries;
+
+        CollisionNode(int hash, Object[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        @Override
+        public Product find(String id, int hash, int shift) {
+            if (hash == this.hash) {
+                for (int i = 0; i < entries.length; i += 2) {
+                    if (id.equals(entries[i])) {
+                        return (Product) entries[i + 1];
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Node put(String id, int hash, Product product, int shift) {
+            if (hash != this.hash) {
+                // Push this node one level down next to the new entry
+                Node parent = new BitmapNode(bit(this.hash, shift), new Object[]{null, this});
+                return parent.put(id, hash, product, shift);
+            }
+            for (int i = 0; i < entries.length; i += 2) {
+                if (id.equals(entries[i])) {
+                    if (entries[i + 1] == product) {
+                        return this;
+                    }
+                    Object[] copy = entries.clone();
+                    copy[i + 1] = product;
+                    return new CollisionNode(hash, copy);
+                }
+            }
+            Object[] appended = Arrays.copyOf(entries, entries.length + 2);
+            appended[entries.length] = id;
+            appended[entries.length + 1] = product;
+            return new CollisionNode(hash, appended);
+        }
+
+        @Override
+        public Node remove(String id, int hash, int shift) {
+            if (hash != this.hash) {
+                return this;
+            }
+            for (int i = 0; i < entries.length; i += 2) {
+                if (id.equals(entries[i])) {
+                    if (entries.length == 2) {
+                        return null;
+                    }
+                    Object[] removed = new Object[entries.length - 2];
+                    System.arraycopy(entries, 0, removed, 0, i);
+                    System.arraycopy(entries, i + 2, removed, i, entries.length - i - 2);
+                    return new CollisionNode(hash, removed);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void forEach(Consumer<Product> action) {
+            for (int i = 0; i < entries.length; i += 2) {
+                action.accept((Product) entries[i + 1]);
+            }
+        }
+    }
+}
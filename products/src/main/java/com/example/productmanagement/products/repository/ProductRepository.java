@@ -1,9 +1,14 @@
 package com.example.productmanagement.products.repository;
 
 import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Repository interface for Product entities
@@ -24,6 +29,21 @@ public interface ProductRepository {
      */
     Optional<Product> findById(String id);
     
+    /**
+     * Find several products by their IDs at once. Implementations backed by a remote
+     * or sharded store should override this to fetch them in few, parallel round trips.
+     * 
+     * @param ids the product IDs; duplicates are ignored
+     * @return the products found, in the order of their IDs; unknown IDs are skipped
+     */
+    default List<Product> findAllById(Collection<String> ids) {
+        List<Product> products = new ArrayList<>(ids.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            findById(id).ifPresent(products::add);
+        }
+        return products;
+    }
+    
     /**
      * Save a product
      * 
@@ -32,6 +52,17 @@ public interface ProductRepository {
      */
     Product save(Product product);
     
+    /**
+     * Save several products at once. Implementations backed by a database
+     * should override this to write the products in batches.
+     * 
+     * @param products the products to save
+     * @return the saved products
+     */
+    default List<Product> saveAll(Collection<Product> products) {
+        return products.stream().map(this::save).toList();
+    }
+    
     /**
      * Delete a product by its ID
      * 
@@ -46,4 +77,28 @@ public interface ProductRepository {
      * @return a list of products in the category
      */
     List<Product> findByCategory(String category);
+    
+    /**
+     * Get the version of the catalog, for repositories that version it. The version
+     * changes whenever a product is saved or deleted, so values derived from
+     * {@link #findAll()} can be reused while it stays the same.
+     * 
+     * @return the current catalog version, or empty if the repository is not versioned
+     */
+    default OptionalLong catalogVersion() {
+        return OptionalLong.empty();
+    }
+    
+    /**
+     * Find the products saved or deleted since a change token, for repositories that
+     * track changes. The work done is proportional to the number of changes returned.
+     * 
+     * @param token the token returned with earlier changes, or null to get every product
+     * @param limit the most changes to return
+     * @return the changes, or empty if changes are not tracked or the token can no longer be
+     *         served, e.g. because a tombstone after it was dropped; the caller must then start over
+     */
+    default Optional<ProductChanges> findChangesSince(String token, int limit) {
+        return Optional.empty();
+    }
 }
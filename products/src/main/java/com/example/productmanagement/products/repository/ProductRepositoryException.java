@@ -0,0 +1,11 @@
+package com.example.productmanagement.products.repository;
+
+/**
+ * Unchecked exception thrown when a ProductRepository backend fails
+ */
+public class ProductRepositoryException extends RuntimeException {
+
+    public ProductRepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
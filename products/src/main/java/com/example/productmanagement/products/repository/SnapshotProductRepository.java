@@ -0,0 +1,108 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.utils.IdGenerator;
+import com.example.productmanagement.products.model.Product;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * In-memory implementation of ProductRepository that publishes immutable catalog versions
+ * <p>
+ * Writers build a new {@link CatalogVersion} that shares structure with the previous one and
+ * publish it with a single volatile write; {@link #saveAll(Collection)} publishes the whole batch
+ * as one version. Readers take the current version with a single volatile read, so every call
+ * sees one consistent point in time and never blocks. Lists returned by reads are unmodifiable
+ * and shared until the next write. Products are copied when saved, so callers may keep changing
+ * theirs; the products returned by reads and saves are shared and must not be modified.
+ */
+public class SnapshotProductRepository implements ProductRepository {
+
+    private final Object writeLock = new Object();
+    private volatile CatalogVersion current;
+
+    public SnapshotProductRepository(Collection<Product> initialProducts) {
+        this.current = new CatalogVersion(0, PersistentProductMap.EMPTY).with(initialProducts);
+    }
+
+    /**
+     * @return the catalog version visible to new reads
+     */
+    public CatalogVersion currentVersion() {
+        return current;
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return current.all();
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return Optional.ofNullable(current.get(id));
+    }
+
+    /**
+     * Looks all IDs up in the same catalog version
+     */
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        CatalogVersion version = current;
+        List<Product> products = new ArrayList<>(ids.size());
+        for (String id : new LinkedHashSet<>(ids)) {
+            Product product = version.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return saveAll(List.of(product)).get(0);
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Product> saved = new ArrayList<>(products.size());
+        for (Product product : products) {
+            saved.add(Product.builder()
+                    .id(product.getId() != null ? product.getId() : IdGenerator.nextId())
+                    .createdAt(product.getCreatedAt() != null ? product.getCreatedAt() : now)
+                    .updatedAt(now)
+                    .createdBy(product.getCreatedBy())
+                    .updatedBy(product.getUpdatedBy())
+                    .name(product.getName())
+                    .description(product.getDescription())
+                    .sku(product.getSku())
+                    .price(product.getPrice())
+                    .quantityInStock(product.getQuantityInStock())
+                    .categories(product.getCategories() != null ? new HashSet<>(product.getCategories()) : null)
+                    .status(product.getStatus())
+                    .build());
+        }
+        synchronized (writeLock) {
+            current = current.with(saved);
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        synchronized (writeLock) {
+            current = current.without(id);
+        }
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        return current.inCategory(category);
+    }
+
+    @Override
+    public OptionalLong catalogVersion() {
+        return OptionalLong.of(current.getNumber());
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.utils.IdGenerator;
+import com.example.productmanagement.products.model.Product;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * ProductRepository with a hot tier of product objects on the heap and a cold tier of
+ * encoded products in a local file
+ * <p>
+ * Discontinued products start in the cold tier. A background job demotes hot products that
+ * have not been read for a while: discontinued products after a short idle time, all others
+ * after a long one. Reading a cold product by ID promotes it back to the hot tier. The heap
+ * thus holds the active part of the catalog plus one file position per cold product.
+ * <p>
+ * {@link #findAll()} decodes the whole cold tier, {@link #findByCategory(String)} only the cold
+ * products of the category, found through the cold tier's category index. Like the in-memory
+ * repository, both are only weakly consistent with concurrent writes. They do find
+ * every product that moves between the tiers while they run, see {@link #scan(Predicate)}.
+ */
+public class TieredProductRepository implements ProductRepository, AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(TieredProductRepository.class.getName());
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Map<String, HotEntry> hot = new ConcurrentHashMap<>();
+    private final ColdProductStore cold;
+    private final long discontinuedIdleNanos;
+    private final long idleNanos;
+    // Serializes moves of the same product between the tiers
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    // The products demoted during each running scan
+    private final Set<Queue<Product>> scans = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder demotions = new LongAdder();
+    private ScheduledExecutorService demotionExecutor;
+
+    /**
+     * @param initialProducts the products to start with
+     * @param coldFile the file for the cold tier; it is truncated, and deleted on close
+     * @param discontinuedIdle how long a discontinued product stays hot after its last read
+     * @param idle how long any other product stays hot after its last read
+     */
+    public TieredProductRepository(Collection<Product> initialProducts, Path coldFile,
+                                   Duration discontinuedIdle, Duration idle) {
+        this.cold = new ColdProductStore(coldFile);
+        this.discontinuedIdleNanos = discontinuedIdle.toNanos();
+        this.idleNanos = idle.toNanos();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        long now = System.nanoTime();
+        for (Product product : initialProducts) {
+            if (product.getStatus() == Product.ProductStatus.DISCONTINUED) {
+                cold.put(product);
+            } else {
+                hot.put(product.getId(), new HotEntry(product, now));
+            }
+        }
+    }
+
+    /**
+     * Runs {@link #demote()} periodically on a background thread
+     *
+     * @param interval the delay between demotion passes
+     */
+    public synchronized void startDemotion(Duration interval) {
+        if (demotionExecutor != null) {
+            return;
+        }
+        demotionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-demotion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        demotionExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                int demoted = demote();
+                log.log(System.Logger.Level.DEBUG, "Demoted {0} products to the cold tier", demoted);
+            } catch (RuntimeException e) {
+                log.log(System.Logger.Level.WARNING, "Product demotion failed", e);
+            }
+        }, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Moves hot products that have been idle for too long to the cold tier
+     *
+     * @return the number of demoted products
+     */
+    public int demote() {
+        long now = System.nanoTime();
+        int demoted = 0;
+        for (HotEntry entry : hot.values()) {
+            if (!isIdle(entry, now)) {
+                continue;
+            }
+            String id = entry.product.getId();
+            synchronized (lockFor(id)) {
+                // Skip products that were replaced or read since the scan started
+                if (hot.get(id) == entry && isIdle(entry, now)) {
+                    cold.put(entry.product);
+                    scans.forEach(scan -> scan.add(entry.product));
+                    hot.remove(id);
+                    demoted++;
+                }
+            }
+        }
+        demotions.add(demoted);
+        return demoted;
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return scan(cold::forEach, product -> true);
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        HotEntry entry = hot.get(id);
+        if (entry != null) {
+            entry.lastRead = System.nanoTime();
+            return Optional.of(entry.product);
+        }
+        synchronized (lockFor(id)) {
+            entry = hot.get(id);
+            if (entry != null) {
+                return Optional.of(entry.product);
+            }
+            Product product = cold.get(id);
+            if (product == null) {
+                return Optional.empty();
+            }
+            hot.put(id, new HotEntry(product, System.nanoTime()));
+            cold.discard(id);
+            promotions.increment();
+            return Optional.of(product);
+        }
+    }
+
+    @Override
+    public Product save(Product product) {
+        if (product.getId() == null) {
+            product.setId(IdGenerator.nextId());
+        }
+        if (product.getCreatedAt() == null) {
+            product.setCreatedAt(LocalDateTime.now());
+        }
+        product.setUpdatedAt(LocalDateTime.now());
+
+        synchronized (lockFor(product.getId())) {
+            hot.put(product.getId(), new HotEntry(product, System.nanoTime()));
+            cold.discard(product.getId());
+        }
+        return product;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        synchronized (lockFor(id)) {
+            hot.remove(id);
+            cold.discard(id);
+        }
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        return scan(action -> cold.forEachInCategory(category, action),
+                product -> product.getCategories() != null && product.getCategories().contains(category));
+    }
+
+    /**
+     * @return the number of products in the hot tier
+     */
+    public int getHotSize() {
+        return hot.size();
+    }
+
+    /**
+     * @return the number of products in the cold tier
+     */
+    public int getColdSize() {
+        return cold.size();
+    }
+
+    /**
+     * @return the number of products moved from the cold to the hot tier
+     */
+    public long getPromotions() {
+        return promotions.sum();
+    }
+
+    /**
+     * @return the number of products moved from the hot to the cold tier
+     */
+    public long getDemotions() {
+        return demotions.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (demotionExecutor != null) {
+                demotionExecutor.shutdownNow();
+            }
+        }
+        cold.close();
+    }
+
+    /**
+     * Collects the matching products of both tiers
+     * <p>
+     * Promotions add a product to the hot tier before removing it from the cold one, so every
+     * product is in the cold tier when the cold pass starts or in the hot tier right after. Those
+     * in the cold tier are decoded even if promoted meanwhile, and those in the hot tier are
+     * found by the hot pass unless demoted before it gets to them, in which case the demotion
+     * hands them to the scan. A hot product that no longer matches still replaces the earlier
+     * state the cold pass found, so that it is filtered out.
+     *
+     * @param coldPass decodes at least the cold products that match
+     * @param filter the products to return
+     */
+    private List<Product> scan(Consumer<Consumer<Product>> coldPass, Predicate<Product> filter) {
+        Map<String, Product> products = new LinkedHashMap<>();
+        Queue<Product> demoted = new ConcurrentLinkedQueue<>();
+        scans.add(demoted);
+        try {
+            coldPass.accept(product -> products.put(product.getId(), product));
+            for (HotEntry entry : hot.values()) {
+                Product product = entry.product;
+                if (filter.test(product) || products.containsKey(product.getId())) {
+                    products.put(product.getId(), product);
+                }
+            }
+        } finally {
+            scans.remove(demoted);
+        }
+        demoted.forEach(product -> products.putIfAbsent(product.getId(), product));
+        List<Product> matching = new ArrayList<>(products.size());
+        for (Product product : products.values()) {
+            if (filter.test(product)) {
+                matching.add(product);
+            }
+        }
+        return matching;
+    }
+
+    private boolean isIdle(HotEntry entry, long now) {
+        long idle = now - entry.lastRead;
+        return entry.product.getStatus() == Product.ProductStatus.DISCONTINUED
+                ? idle >= discontinuedIdleNanos
+                : idle >= idleNanos;
+    }
+
+    private Object lockFor(String id) {
+        return locks[Math.floorMod(id.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static final class HotEntry {
+        final Product product;
+        volatile long lastRead;
+
+        HotEntry(Product product, long lastRead) {
+            this.product = product;
+            this.lastRead = lastRead;
+        }
+    }
+}
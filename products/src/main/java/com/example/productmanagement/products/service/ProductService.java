@@ -1,20 +1,56 @@
 package com.example.productmanagement.products.service;
 
+import com.example.productmanagement.products.access.AccessSampler;
+import com.example.productmanagement.products.access.HeavyHitter;
+import com.example.productmanagement.products.access.HotSet;
+import com.example.productmanagement.products.jfr.ServiceOperationEvent;
 import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+import com.example.productmanagement.products.model.ProductPatch;
 import com.example.productmanagement.products.repository.ProductRepository;
+import com.example.productmanagement.products.snapshot.ProductSnapshot;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Service for managing products
  */
-public class ProductService {
+public class ProductService implements AutoCloseable {
+    
+    private static final int LOCK_STRIPES = 64;
     
     private final ProductRepository productRepository;
+    // Samples the reads that found products, to find the hot products and categories, or null
+    private final AccessSampler accessSampler;
+    // Serializes read-modify-write cycles on the same product
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    // Temporary file with the encoded snapshot of a versioned catalog, reused until the catalog version changes
+    private volatile EncodedSnapshot encodedSnapshot;
+    // Serializes encoding and replacing the snapshot file
+    private final Object snapshotLock = new Object();
     
     public ProductService(ProductRepository productRepository) {
+        this(productRepository, null);
+    }
+    
+    /**
+     * @param productRepository the repository
+     * @param accessSampler the sampler to record product reads with, or null
+     */
+    public ProductService(ProductRepository productRepository, AccessSampler accessSampler) {
         this.productRepository = productRepository;
+        this.accessSampler = accessSampler;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
     }
     
     /**
@@ -23,7 +59,7 @@ public class ProductService {
      * @return a list of all products
      */
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return ServiceOperationEvent.record("getAllProducts", null, productRepository::findAll, List::size);
     }
     
     /**
@@ -33,7 +69,33 @@ public class ProductService {
      * @return an Optional containing the product if found
      */
     public Optional<Product> getProductById(String id) {
-        return productRepository.findById(id);
+        return ServiceOperationEvent.record("getProductById", id, () -> {
+            Optional<Product> product = productRepository.findById(id);
+            if (accessSampler != null && product.isPresent()) {
+                accessSampler.recordProduct(id);
+            }
+            return product;
+        }, product -> product.isPresent() ? 1 : 0);
+    }
+    
+    /**
+     * Get several products by ID with one repository call
+     * 
+     * @param ids the product IDs; blank and duplicate IDs are ignored
+     * @return the products found, in the order of their IDs
+     */
+    public List<Product> getProductsByIds(Collection<String> ids) {
+        return ServiceOperationEvent.record("getProductsByIds", null, () -> {
+            List<String> lookupIds = ids.stream()
+                    .filter(id -> id != null && !id.isBlank())
+                    .map(String::trim)
+                    .toList();
+            List<Product> products = lookupIds.isEmpty() ? List.of() : productRepository.findAllById(lookupIds);
+            if (accessSampler != null) {
+                products.forEach(product -> accessSampler.recordProduct(product.getId()));
+            }
+            return products;
+        }, List::size);
     }
     
     /**
@@ -43,9 +105,21 @@ public class ProductService {
      * @return the created product
      */
     public Product createProduct(Product product) {
-        // Ensure this is a new product without an ID
-        product.setId(null);
-        return productRepository.save(product);
+        ServiceOperationEvent event = ServiceOperationEvent.start();
+        Product created = null;
+        Throwable error = null;
+        try {
+            // Ensure this is a new product without an ID
+            product.setId(null);
+            created = productRepository.save(product);
+            return created;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            // The ID is only known once the product is saved
+            event.finish("createProduct", created == null ? null : created.getId(), created == null ? 0 : 1, error);
+        }
     }
     
     /**
@@ -56,13 +130,34 @@ public class ProductService {
      * @return the updated product or empty if not found
      */
     public Optional<Product> updateProduct(String id, Product product) {
-        return productRepository.findById(id)
-                .map(existingProduct -> {
-                    // Update the product data but keep the same ID
-                    product.setId(existingProduct.getId());
-                    product.setCreatedAt(existingProduct.getCreatedAt());
-                    return productRepository.save(product);
-                });
+        return ServiceOperationEvent.record("updateProduct", id, () -> {
+            synchronized (lockFor(id)) {
+                return productRepository.findById(id)
+                        .map(existingProduct -> {
+                            // Update the product data but keep the same ID
+                            product.setId(existingProduct.getId());
+                            product.setCreatedAt(existingProduct.getCreatedAt());
+                            return productRepository.save(product);
+                        });
+            }
+        }, updated -> updated.isPresent() ? 1 : 0);
+    }
+    
+    /**
+     * Partially update an existing product; the fields are changed together
+     * with respect to other updates of the same product
+     * 
+     * @param id the product ID
+     * @param patch the fields to change
+     * @return the updated product or empty if not found
+     */
+    public Optional<Product> patchProduct(String id, ProductPatch patch) {
+        return ServiceOperationEvent.record("patchProduct", id, () -> {
+            synchronized (lockFor(id)) {
+                return productRepository.findById(id)
+                        .map(existingProduct -> productRepository.save(patch.applyTo(existingProduct)));
+            }
+        }, patched -> patched.isPresent() ? 1 : 0);
     }
     
     /**
@@ -72,11 +167,15 @@ public class ProductService {
      * @return true if deleted, false if not found
      */
     public boolean deleteProduct(String id) {
-        if (productRepository.findById(id).isPresent()) {
-            productRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return ServiceOperationEvent.record("deleteProduct", id, () -> {
+            synchronized (lockFor(id)) {
+                if (productRepository.findById(id).isEmpty()) {
+                    return false;
+                }
+                productRepository.deleteById(id);
+                return true;
+            }
+        }, deleted -> deleted ? 1 : 0);
     }
     
     /**
@@ -86,6 +185,131 @@ public class ProductService {
      * @return a list of products in the category
      */
     public List<Product> getProductsByCategory(String category) {
-        return productRepository.findByCategory(category);
+        return ServiceOperationEvent.record("getProductsByCategory", category, () -> {
+            List<Product> products = productRepository.findByCategory(category);
+            if (accessSampler != null && !products.isEmpty()) {
+                accessSampler.recordCategory(category);
+            }
+            return products;
+        }, List::size);
+    }
+    
+    /**
+     * Get the products saved or deleted since a change token, for incremental sync
+     * 
+     * @param token the token of the previous sync, or null to start with every product
+     * @param limit the most changes to return
+     * @return the changes, or empty if the token has expired and the client must start over, or
+     *         if changes are not tracked
+     */
+    public Optional<ProductChanges> getChangesSince(String token, int limit) {
+        return ServiceOperationEvent.record("getChangesSince", token,
+                () -> productRepository.findChangesSince(token, limit),
+                changes -> changes
+                        .map(found -> found.getUpdated().size() + found.getDeleted().size())
+                        .orElse(0));
+    }
+    
+    /**
+     * Get the most frequently read products and categories
+     * 
+     * @return the hot set, empty if reads are not sampled
+     */
+    public HotSet getHotSet() {
+        return accessSampler == null ? HotSet.EMPTY : accessSampler.hotSet();
+    }
+    
+    /**
+     * Read the products and categories of a hot set once, so that the repository's caches and
+     * indexes hold them before regular traffic arrives, e.g. after a restart or on a standby
+     * that is about to take over
+     * 
+     * @param hotSet the hot set, e.g. saved before a restart or taken from another instance
+     * @return the number of hot products found
+     */
+    public int warmUp(HotSet hotSet) {
+        List<String> ids = hotSet.getProducts().stream().map(HeavyHitter::getKey).toList();
+        int found = ids.isEmpty() ? 0 : productRepository.findAllById(ids).size();
+        for (HeavyHitter category : hotSet.getCategories()) {
+            productRepository.findByCategory(category.getKey());
+        }
+        return found;
+    }
+    
+    /**
+     * Export the whole catalog as a binary snapshot. If the repository versions
+     * its catalog, the encoded snapshot is kept in a temporary file and streamed
+     * from there until the version changes, so the cache takes no heap.
+     * 
+     * @param out the stream to write the snapshot to
+     * @throws IOException if writing fails
+     */
+    public void exportSnapshot(OutputStream out) throws IOException {
+        while (true) {
+            // Read the version before the products: a concurrent write can then only make the cache look stale
+            OptionalLong version = productRepository.catalogVersion();
+            if (version.isEmpty()) {
+                ProductSnapshot.write(productRepository.findAll(), out);
+                return;
+            }
+            Path file = encodedSnapshot(version.getAsLong());
+            try {
+                Files.copy(file, out);
+                return;
+            } catch (NoSuchFileException e) {
+                // Replaced by the snapshot of a newer version before it was opened; nothing was written yet
+            }
+        }
+    }
+    
+    /**
+     * Deletes the cached snapshot file
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (snapshotLock) {
+            EncodedSnapshot snapshot = encodedSnapshot;
+            encodedSnapshot = null;
+            if (snapshot != null) {
+                Files.deleteIfExists(snapshot.file());
+            }
+        }
+    }
+    
+    /**
+     * @return the cached snapshot file of the given catalog version, encoding it if needed
+     */
+    Path encodedSnapshot(long catalogVersion) throws IOException {
+        // A caller that read an older version is served the newer snapshot rather than replacing it
+        EncodedSnapshot snapshot = encodedSnapshot;
+        if (snapshot != null && snapshot.catalogVersion() >= catalogVersion) {
+            return snapshot.file();
+        }
+        synchronized (snapshotLock) {
+            EncodedSnapshot previous = encodedSnapshot;
+            if (previous != null && previous.catalogVersion() >= catalogVersion) {
+                return previous.file();
+            }
+            Path file = Files.createTempFile("products-", ".snapshot");
+            try {
+                ProductSnapshot.write(productRepository.findAll(), file);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            encodedSnapshot = new EncodedSnapshot(catalogVersion, file);
+            // Exports still streaming the previous file keep reading it until they close it
+            if (previous != null) {
+                Files.deleteIfExists(previous.file());
+            }
+            return file;
+        }
+    }
+    
+    private Object lockFor(String id) {
+        return locks[Math.floorMod(id.hashCode(), LOCK_STRIPES)];
+    }
+    
+    private record EncodedSnapshot(long catalogVersion, Path file) {
     }
 }
@@ -0,0 +1,162 @@
+package com.example.productmanagement.products.snapshot;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Compact binary encoding of a single {@link Product}.
+ * <p>
+ * All numbers are big-endian so that records written through a {@link DataOutput}
+ * can be decoded straight from a (memory-mapped) {@link ByteBuffer}.
+ * Strings are stored as a length-prefixed UTF-8 sequence, with a length of -1 for null.
+ * Prices are stored as their currency code followed by the amount in minor units.
+ */
+public final class ProductCodec {
+
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final Product.ProductStatus[] STATUSES = Product.ProductStatus.values();
+
+    private ProductCodec() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Encodes a product
+     *
+     * @param product the product to encode
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    public static void encode(Product product, DataOutput out) throws IOException {
+        writeString(out, product.getId());
+        writeString(out, product.getName());
+        writeString(out, product.getDescription());
+        writeString(out, product.getSku());
+        writeMoney(out, product.getPrice());
+        out.writeInt(product.getQuantityInStock());
+        writeCategories(out, product.getCategories());
+        out.writeByte(product.getStatus() == null ? NULL_LENGTH : product.getStatus().ordinal());
+        writeTimestamp(out, product.getCreatedAt());
+        writeTimestamp(out, product.getUpdatedAt());
+        writeString(out, product.getCreatedBy());
+        writeString(out, product.getUpdatedBy());
+    }
+
+    /**
+     * Decodes a product starting at the current position of the buffer
+     *
+     * @param in the buffer to read from; its position is advanced past the record
+     * @return the decoded product
+     */
+    public static Product decode(ByteBuffer in) {
+        Product product = new Product();
+        product.setId(readString(in));
+        product.setName(readString(in));
+        product.setDescription(readString(in));
+        product.setSku(readString(in));
+        product.setPrice(readMoney(in));
+        product.setQuantityInStock(in.getInt());
+        product.setCategories(readCategories(in));
+        byte status = in.get();
+        product.setStatus(status == NULL_LENGTH ? null : STATUSES[status]);
+        product.setCreatedAt(readTimestamp(in));
+        product.setUpdatedAt(readTimestamp(in));
+        product.setCreatedBy(readString(in));
+        product.setUpdatedBy(readString(in));
+        return product;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (in.hasArray()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeMoney(DataOutput out, Money value) throws IOException {
+        if (value == null) {
+            writeString(out, null);
+            return;
+        }
+        writeString(out, value.getCurrency().getCurrencyCode());
+        out.writeLong(value.getMinorUnits());
+    }
+
+    private static Money readMoney(ByteBuffer in) {
+        String currency = readString(in);
+        if (currency == null) {
+            return null;
+        }
+        return Money.ofMinor(in.getLong(), Currency.getInstance(currency));
+    }
+
+    private static void writeCategories(DataOutput out, Set<String> categories) throws IOException {
+        if (categories == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(categories.size());
+        for (String category : categories) {
+            writeString(out, category);
+        }
+    }
+
+    private static Set<String> readCategories(ByteBuffer in) {
+        int size = in.getInt();
+        if (size == NULL_LENGTH) {
+            return null;
+        }
+        Set<String> categories = new HashSet<>(Math.max(4, size * 2));
+        for (int i = 0; i < size; i++) {
+            categories.add(readString(in));
+        }
+        return categories;
+    }
+
+    private static void writeTimestamp(DataOutput out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeLong(NULL_TIMESTAMP);
+            return;
+        }
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer in) {
+        long seconds = in.getLong();
+        if (seconds == NULL_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.productmanagement.products.snapshot;
+
+import com.example.productmanagement.products.model.Product;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Binary catalog snapshot used to bulk export and restore products.
+ * <p>
+ * Layout (all numbers big-endian):
+ * <pre>
+ * header   : magic (int), version (int)
+ * blocks   : up to {@link #BLOCK_SIZE} records encoded with {@link ProductCodec}
+ * index    : per block - offset (long), length (int), record count (int)
+ * trailer  : index offset (long), block count (int), magic (int)
+ * </pre>
+ * The index sits at the end of the file so a snapshot can be streamed to any
+ * {@link OutputStream} in one pass. Blocks are independent, which lets
+ * {@link #read(Path)} memory-map and decode them in parallel.
+ */
+public final class ProductSnapshot {
+
+    static final int MAGIC = 0x50534E50; // "PSNP"
+    static final int VERSION = 2;
+    static final int BLOCK_SIZE = 4096;
+
+    private static final int HEADER_LENGTH = 8;
+    private static final int INDEX_ENTRY_LENGTH = 16;
+    private static final int TRAILER_LENGTH = 16;
+
+    private ProductSnapshot() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Writes a snapshot of the given products
+     *
+     * @param products the products to export
+     * @param out the stream to write to; it is flushed but not closed
+     * @throws IOException if writing fails
+     */
+    public static void write(Collection<Product> products, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+
+        List<long[]> index = new ArrayList<>();
+        ByteArrayOutputStream block = new ByteArrayOutputStream(1 << 20);
+        DataOutputStream blockData = new DataOutputStream(block);
+        long offset = HEADER_LENGTH;
+        int recordsInBlock = 0;
+
+        for (Product product : products) {
+            ProductCodec.encode(product, blockData);
+            if (++recordsInBlock == BLOCK_SIZE) {
+                index.add(new long[]{offset, block.size(), recordsInBlock});
+                offset += block.size();
+                block.writeTo(data);
+                block.reset();
+                recordsInBlock = 0;
+            }
+        }
+        if (recordsInBlock > 0) {
+            index.add(new long[]{offset, block.size(), recordsInBlock});
+            offset += block.size();
+            block.writeTo(data);
+        }
+
+        for (long[] entry : index) {
+            data.writeLong(entry[0]);
+            data.writeInt((int) entry[1]);
+            data.writeInt((int) entry[2]);
+        }
+        data.writeLong(offset);
+        data.writeInt(index.size());
+        data.writeInt(MAGIC);
+        data.flush();
+    }
+
+    /**
+     * Writes a snapshot of the given products to a file, replacing any existing file
+     *
+     * @param products the products to export
+     * @param file the target file
+     * @throws IOException if writing fails
+     */
+    public static void write(Collection<Product> products, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(products, out);
+        }
+    }
+
+    /**
+     * Restores all products from a snapshot file.
+     * Blocks are memory-mapped and decoded in parallel.
+     *
+     * @param file the snapshot file
+     * @return the restored products, in export order
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static List<Product> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH + TRAILER_LENGTH) {
+                throw new IOException("Not a product snapshot: " + file);
+            }
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a product snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported product snapshot version " + version + ": " + file);
+            }
+
+            ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_LENGTH, TRAILER_LENGTH);
+            long indexOffset = trailer.getLong();
+            int blockCount = trailer.getInt();
+            if (trailer.getInt() != MAGIC
+                    || indexOffset + (long) blockCount * INDEX_ENTRY_LENGTH + TRAILER_LENGTH != size) {
+                throw new IOException("Corrupt product snapshot: " + file);
+            }
+
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset,
+                    (long) blockCount * INDEX_ENTRY_LENGTH);
+            long[] offsets = new long[blockCount];
+            int[] lengths = new int[blockCount];
+            int[] firstRecords = new int[blockCount];
+            int total = 0;
+            for (int i = 0; i < blockCount; i++) {
+                offsets[i] = index.getLong();
+                lengths[i] = index.getInt();
+                firstRecords[i] = total;
+                total += index.getInt();
+            }
+
+            Product[] products = new Product[total];
+            int recordCount = total;
+            try {
+                IntStream.range(0, blockCount).parallel().forEach(block -> {
+                    int end = block + 1 < blockCount ? firstRecords[block + 1] : recordCount;
+                    decodeBlock(channel, offsets[block], lengths[block], products, firstRecords[block], end);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return Arrays.asList(products);
+        }
+    }
+
+    private static void decodeBlock(FileChannel channel, long offset, int length,
+                                    Product[] target, int from, int to) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            for (int i = from; i < to; i++) {
+                target[i] = ProductCodec.decode(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.productmanagement.products.access;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessSamplerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordProduct_WithFullSampleRate_ShouldCountEveryRead() {
+        // Arrange
+        AccessSampler sampler = new AccessSampler(1.0, 10);
+
+        // Act
+        sampler.recordProduct("1");
+        sampler.recordProduct("1");
+        sampler.recordCategory("Books");
+
+        // Assert
+        assertThat(sampler.hotSet().getProducts()).containsExactly(new HeavyHitter("1", 2));
+        assertThat(sampler.hotSet().getCategories()).containsExactly(new HeavyHitter("Books", 1));
+    }
+
+    @Test
+    void recordProduct_WithZeroSampleRate_ShouldCountNothing() {
+        // Arrange
+        AccessSampler sampler = new AccessSampler(0, 10);
+
+        // Act
+        sampler.recordProduct("1");
+
+        // Assert
+        assertThat(sampler.hotSet()).isEqualTo(HotSet.EMPTY);
+    }
+
+    @Test
+    void recordProduct_WithPartialSampleRate_ShouldCountAboutThatShare() {
+        // Arrange
+        AccessSampler sampler = new AccessSampler(0.1, 10);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            sampler.recordProduct("1");
+        }
+
+        // Assert
+        assertThat(sampler.hotSet().getProducts().get(0).getCount()).isBetween(9_000L, 11_000L);
+    }
+
+    @Test
+    void constructor_WithInvalidSampleRate_ShouldThrow() {
+        assertThatThrownBy(() -> new AccessSampler(1.5, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void write_ShouldRoundTripThroughRead() throws Exception {
+        // Arrange
+        HotSet hotSet = new HotSet(List.of(new HeavyHitter("1", 42), new HeavyHitter("2", 7)),
+                List.of(new HeavyHitter("Home & Garden", 3)));
+        Path file = tempDir.resolve("hot-set.tsv");
+
+        // Act
+        AccessSampler.write(hotSet, file);
+        HotSet read = AccessSampler.read(file);
+
+        // Assert
+        assertThat(read).isEqualTo(hotSet);
+        assertThat(AccessSampler.read(tempDir.resolve("missing.tsv"))).isEqualTo(HotSet.EMPTY);
+    }
+
+    @Test
+    void write_WithSeparatorsInKeys_ShouldRoundTripThroughRead() throws Exception {
+        // Arrange
+        HotSet hotSet = new HotSet(List.of(new HeavyHitter("x\nproduct\t9\tinjected", 5),
+                new HeavyHitter("back\\slash\r", 2)), List.of(new HeavyHitter("Tab\tbed", 1)));
+        Path file = tempDir.resolve("hot-set.tsv");
+
+        // Act
+        AccessSampler.write(hotSet, file);
+        HotSet read = AccessSampler.read(file);
+
+        // Assert
+        assertThat(read).isEqualTo(hotSet);
+        assertThat(Files.readAllLines(file)).hasSize(3);
+    }
+
+    @Test
+    void read_WithMalformedLines_ShouldSkipThem() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("hot-set.tsv");
+        Files.writeString(file, """
+                product\t4\t1
+                foo\tbar\tbaz
+                product\tmany\t2
+                product\t3
+                category\t-1\tBooks
+                product\t2\tbad\\escape
+
+                category\t2\tGames
+                """);
+
+        // Act
+        HotSet read = AccessSampler.read(file);
+
+        // Assert
+        assertThat(read.getProducts()).containsExactly(new HeavyHitter("1", 4));
+        assertThat(read.getCategories()).containsExactly(new HeavyHitter("Games", 2));
+    }
+
+    @Test
+    void restore_ShouldSeedCounts() {
+        // Arrange
+        AccessSampler sampler = new AccessSampler(1.0, 10);
+
+        // Act
+        sampler.restore(new HotSet(List.of(new HeavyHitter("1", 42)), List.of()));
+        sampler.recordProduct("1");
+
+        // Assert
+        assertThat(sampler.hotSet().getProducts()).containsExactly(new HeavyHitter("1", 43));
+    }
+
+    @Test
+    void close_AfterStartMaintenance_ShouldSaveHotSet() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("hot-set.tsv");
+        AccessSampler sampler = new AccessSampler(1.0, 10);
+        sampler.startMaintenance(Duration.ofHours(1), file, Duration.ofHours(1));
+        sampler.recordProduct("1");
+
+        // Act
+        sampler.close();
+
+        // Assert
+        assertThat(Files.exists(file)).isTrue();
+        assertThat(AccessSampler.read(file).getProducts()).containsExactly(new HeavyHitter("1", 1));
+    }
+}
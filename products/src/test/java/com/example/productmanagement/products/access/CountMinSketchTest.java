@@ -0,0 +1,74 @@
+package com.example.productmanagement.products.access;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountMinSketchTest {
+
+    @Test
+    void increment_ShouldNeverUndercount() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            sketch.increment("key-" + (i % 200));
+        }
+        long hot = sketch.add("hot", 500);
+
+        // Assert
+        for (int i = 0; i < 200; i++) {
+            assertThat(sketch.estimate("key-" + i)).isGreaterThanOrEqualTo(5);
+        }
+        assertThat(hot).isGreaterThanOrEqualTo(500).isEqualTo(sketch.estimate("hot"));
+    }
+
+    @Test
+    void estimate_WithKeysOfEqualHashCode_ShouldNotShareCounters() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(4, 4096);
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        // Act
+        sketch.add("Aa", 100);
+
+        // Assert
+        assertThat(sketch.estimate("Aa")).isEqualTo(100);
+        assertThat(sketch.estimate("BB")).isZero();
+    }
+
+    @Test
+    void estimate_WithWideSketch_ShouldBeExactForFewKeys() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(4, 4096);
+
+        // Act
+        sketch.add("a", 3);
+        sketch.increment("b");
+
+        // Assert
+        assertThat(sketch.estimate("a")).isEqualTo(3);
+        assertThat(sketch.estimate("b")).isEqualTo(1);
+        assertThat(sketch.estimate("missing")).isZero();
+    }
+
+    @Test
+    void decay_ShouldHalveCounts() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(2, 1024);
+        sketch.add("a", 9);
+
+        // Act
+        sketch.decay();
+
+        // Assert
+        assertThat(sketch.estimate("a")).isEqualTo(4);
+    }
+
+    @Test
+    void constructor_WithTooManyRows_ShouldThrow() {
+        assertThatThrownBy(() -> new CountMinSketch(9, 1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
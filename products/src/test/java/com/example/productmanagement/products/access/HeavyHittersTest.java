@@ -0,0 +1,69 @@
+package com.example.productmanagement.products.access;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHittersTest {
+
+    @Test
+    void record_ShouldKeepMostFrequentKeys() {
+        // Arrange
+        HeavyHitters hitters = new HeavyHitters(3);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            hitters.record("cold-" + i);
+            if (i % 10 == 0) {
+                hitters.record("hot-" + (i % 30));
+            }
+        }
+
+        // Assert
+        assertThat(hitters.top()).extracting(HeavyHitter::getKey)
+                .containsExactlyInAnyOrder("hot-0", "hot-10", "hot-20");
+    }
+
+    @Test
+    void top_ShouldSortByCountDescending() {
+        // Arrange
+        HeavyHitters hitters = new HeavyHitters(10);
+
+        // Act
+        hitters.record("a");
+        hitters.record("b");
+        hitters.record("b");
+
+        // Assert
+        assertThat(hitters.top()).containsExactly(new HeavyHitter("b", 2), new HeavyHitter("a", 1));
+    }
+
+    @Test
+    void seed_ShouldRestoreCountsThatNewAccessesAddTo() {
+        // Arrange
+        HeavyHitters hitters = new HeavyHitters(10);
+
+        // Act
+        hitters.seed(List.of(new HeavyHitter("a", 100), new HeavyHitter("b", 50)));
+        hitters.record("b");
+
+        // Assert
+        assertThat(hitters.top()).containsExactly(new HeavyHitter("a", 100), new HeavyHitter("b", 51));
+    }
+
+    @Test
+    void decay_ShouldHalveCountsAndDropKeysThatReachZero() {
+        // Arrange
+        HeavyHitters hitters = new HeavyHitters(10);
+        hitters.seed(List.of(new HeavyHitter("a", 8)));
+        hitters.record("b");
+
+        // Act
+        hitters.decay();
+
+        // Assert
+        assertThat(hitters.top()).containsExactly(new HeavyHitter("a", 4));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.productmanagement.products.analytics;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.repository.MockProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnIndexingProductRepositoryTest {
+
+    private final CountDownLatch saveStored = new CountDownLatch(1);
+    private final CountDownLatch resumeSave = new CountDownLatch(1);
+    private MockProductRepository backend;
+    private ProductColumnStore columnStore;
+    private ColumnIndexingProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Holds a save named "slow" after storing it, until the test lets it return
+        backend = new MockProductRepository(List.of()) {
+            @Override
+            public Product save(Product product) {
+                Product saved = super.save(product);
+                if ("slow".equals(saved.getName())) {
+                    saveStored.countDown();
+                    try {
+                        resumeSave.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return saved;
+            }
+        };
+        columnStore = new ProductColumnStore();
+        repository = new ColumnIndexingProductRepository(backend, columnStore);
+    }
+
+    @Test
+    void saveAll_WithNewAndExistingProducts_ShouldIndexAll() {
+        // Arrange
+        repository.save(createTestProduct("1", "Book", 2));
+
+        // Act
+        repository.saveAll(List.of(createTestProduct("1", "Book", 3), createTestProduct(null, "Novel", 4)));
+
+        // Assert
+        assertThat(columnStore.size()).isEqualTo(2);
+        assertThat(columnStore.totalValueCents()).isEqualTo(100 * 3 + 100 * 4);
+    }
+
+    @Test
+    void deleteById_DuringSaveOfSameProduct_ShouldWaitForItsIndexing() throws Exception {
+        // Arrange
+        Thread save = new Thread(() -> repository.save(createTestProduct("1", "slow", 2)));
+        save.start();
+        saveStored.await();
+
+        // Act
+        Thread delete = new Thread(() -> repository.deleteById("1"));
+        delete.start();
+        delete.join(200);
+        resumeSave.countDown();
+        save.join();
+        delete.join();
+
+        // Assert
+        assertThat(backend.findById("1")).isEmpty();
+        assertThat(columnStore.size()).isZero();
+    }
+
+    @Test
+    void deleteById_DuringSaveOfNewProduct_ShouldNotLeaveItIndexed() throws Exception {
+        // Arrange
+        List<Product> saved = new ArrayList<>();
+        Thread save = new Thread(() -> saved.add(repository.save(createTestProduct(null, "slow", 2))));
+        save.start();
+        saveStored.await();
+
+        // Act
+        repository.deleteById(backend.findAll().get(0).getId());
+        resumeSave.countDown();
+        save.join();
+
+        // Assert
+        assertThat(saved).hasSize(1);
+        assertThat(columnStore.size()).isZero();
+    }
+
+    private Product createTestProduct(String id, String name, int quantity) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .price(Money.parse("1.00"))
+                .quantityInStock(quantity)
+                .categories(new HashSet<>(Set.of("Books")))
+                .status(Product.ProductStatus.ACTIVE)
+                .build();
+    }
+}
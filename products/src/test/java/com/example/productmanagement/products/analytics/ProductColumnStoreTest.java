@@ -0,0 +1,134 @@
+package com.example.productmanagement.products.analytics;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductColumnStoreTest {
+
+    private ProductColumnStore columnStore;
+
+    @BeforeEach
+    void setUp() {
+        columnStore = new ProductColumnStore();
+        columnStore.upsert(createTestProduct("1", "10.00", 3, Product.ProductStatus.ACTIVE, "Books"));
+        columnStore.upsert(createTestProduct("2", "2.50", 4, Product.ProductStatus.ACTIVE, "Books", "Toys"));
+        columnStore.upsert(createTestProduct("3", "99.99", 1, Product.ProductStatus.DISCONTINUED, "Toys"));
+    }
+
+    @Test
+    void totalValueCents_ShouldSumPriceTimesQuantity() {
+        // Act
+        long total = columnStore.totalValueCents();
+
+        // Assert
+        assertThat(total).isEqualTo(3000 + 1000 + 9999);
+    }
+
+    @Test
+    void totalValueCents_WithValueBeyondLongRange_ShouldThrow() {
+        // Arrange
+        columnStore.upsert(createTestProduct("4", "50000000000000000.00", 2, Product.ProductStatus.ACTIVE, "Toys"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> columnStore.totalValueCents()).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> columnStore.valuationByCategory()).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void valuationByCategory_ShouldAggregateEachCategory() {
+        // Act
+        List<CategoryValuation> valuations = columnStore.valuationByCategory();
+
+        // Assert
+        assertThat(valuations).containsExactly(
+                new CategoryValuation("Books", 2, 7, 4000),
+                new CategoryValuation("Toys", 2, 5, 10999));
+        assertThat(valuations.get(0).getValue()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void upsert_WithExistingId_ShouldReplaceRow() {
+        // Act
+        columnStore.upsert(createTestProduct("2", "1.00", 1, Product.ProductStatus.OUT_OF_STOCK, "Garden"));
+
+        // Assert
+        assertThat(columnStore.size()).isEqualTo(3);
+        assertThat(columnStore.valuationByCategory()).containsExactly(
+                new CategoryValuation("Books", 1, 3, 3000),
+                new CategoryValuation("Garden", 1, 1, 100),
+                new CategoryValuation("Toys", 1, 1, 9999));
+    }
+
+    @Test
+    void remove_ShouldMoveLastRowIntoHole() {
+        // Act
+        columnStore.remove("1");
+        columnStore.remove("missing");
+
+        // Assert
+        assertThat(columnStore.size()).isEqualTo(2);
+        assertThat(columnStore.totalValueCents()).isEqualTo(1000 + 9999);
+        assertThat(columnStore.valuationByCategory()).containsExactly(
+                new CategoryValuation("Books", 1, 4, 1000),
+                new CategoryValuation("Toys", 2, 5, 10999));
+    }
+
+    @Test
+    void upsert_BeyondInitialCapacity_ShouldGrowColumns() {
+        // Arrange
+        ProductColumnStore store = new ProductColumnStore();
+
+        // Act
+        for (int i = 0; i < 5000; i++) {
+            store.upsert(createTestProduct("id-" + i, "1.00", 1, Product.ProductStatus.ACTIVE, "Books"));
+        }
+
+        // Assert
+        assertThat(store.valuationByCategory()).containsExactly(new CategoryValuation("Books", 5000, 5000, 500000));
+    }
+
+    @Test
+    void countByStatus_ShouldIncludeAllStatuses() {
+        // Act
+        Map<Product.ProductStatus, Long> counts = columnStore.countByStatus();
+
+        // Assert
+        assertThat(counts).containsEntry(Product.ProductStatus.ACTIVE, 2L)
+                .containsEntry(Product.ProductStatus.DISCONTINUED, 1L)
+                .containsEntry(Product.ProductStatus.OUT_OF_STOCK, 0L);
+    }
+
+    @Test
+    void priceHistogram_ShouldCountOverflowInLastBucket() {
+        // Act
+        long[] histogram = columnStore.priceHistogram(500, 3);
+
+        // Assert
+        assertThat(histogram).containsExactly(1, 0, 2);
+    }
+
+    @Test
+    void priceHistogram_WithInvalidBuckets_ShouldThrow() {
+        assertThatThrownBy(() -> columnStore.priceHistogram(0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Product createTestProduct(String id, String price, int quantity, Product.ProductStatus status,
+                                      String... categories) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .price(Money.parse(price))
+                .quantityInStock(quantity)
+                .categories(new HashSet<>(Arrays.asList(categories)))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.productmanagement.products.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedLineReaderTest {
+
+    @Test
+    void readLine_ShouldSplitOnAnyLineBreak() throws IOException {
+        // Arrange
+        BoundedLineReader reader = new BoundedLineReader(new StringReader("a\nb\r\nc\rd\n\ne"), 10);
+
+        // Act
+        List<String> lines = readAll(reader);
+
+        // Assert
+        assertThat(lines).containsExactly("a", "b", "c", "d", "", "e");
+    }
+
+    @Test
+    void readLine_WithLongLine_ShouldSkipItAndFlagIt() throws IOException {
+        // Arrange
+        BoundedLineReader reader = new BoundedLineReader(new StringReader("12345\n123456\n1234"), 5);
+
+        // Act & Assert
+        assertThat(reader.readLine()).isEqualTo("12345");
+        assertThat(reader.lastLineTooLong()).isFalse();
+        assertThat(reader.readLine()).isEmpty();
+        assertThat(reader.lastLineTooLong()).isTrue();
+        assertThat(reader.readLine()).isEqualTo("1234");
+        assertThat(reader.lastLineTooLong()).isFalse();
+        assertThat(reader.readLine()).isNull();
+    }
+
+    private static List<String> readAll(BoundedLineReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lines.add(line);
+        }
+        return lines;
+    }
+}
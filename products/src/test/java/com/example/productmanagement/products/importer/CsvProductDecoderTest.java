@@ -0,0 +1,81 @@
+package com.example.productmanagement.products.importer;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvProductDecoderTest {
+
+    @Test
+    void decode_ShouldMapColumnsByHeader() {
+        // Arrange
+        CsvProductDecoder decoder = new CsvProductDecoder("\uFEFFid, price ,name,sku,status,quantityInStock,categories");
+
+        // Act
+        Product product = decoder.decode("p-1,12.50,Mug,SKU-1,out_of_stock,0,Kitchen|Gifts");
+
+        // Assert
+        assertThat(product.getId()).isEqualTo("p-1");
+        assertThat(product.getPrice()).isEqualTo(Money.parse("12.50"));
+        assertThat(product.getName()).isEqualTo("Mug");
+        assertThat(product.getSku()).isEqualTo("SKU-1");
+        assertThat(product.getStatus()).isEqualTo(Product.ProductStatus.OUT_OF_STOCK);
+        assertThat(product.getQuantityInStock()).isZero();
+        assertThat(product.getCategories()).containsExactly("Kitchen", "Gifts");
+    }
+
+    @Test
+    void decode_WithEmptyFields_ShouldLeavePropertiesUnset() {
+        // Arrange
+        CsvProductDecoder decoder = new CsvProductDecoder("name,sku,price,description,status");
+
+        // Act
+        Product product = decoder.decode("Mug,SKU-1,,,");
+
+        // Assert
+        assertThat(product.getPrice()).isNull();
+        assertThat(product.getDescription()).isNull();
+        assertThat(product.getStatus()).isNull();
+    }
+
+    @Test
+    void decode_WithInvalidValues_ShouldThrowException() {
+        // Arrange
+        CsvProductDecoder decoder = new CsvProductDecoder("name,sku,price,quantityInStock,status");
+
+        // Act & Assert
+        assertThatThrownBy(() -> decoder.decode("Mug,SKU-1,12.505,1,ACTIVE"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid price: 12.505");
+        assertThatThrownBy(() -> decoder.decode("Mug,SKU-1,12.50,many,ACTIVE"))
+                .hasMessage("Invalid quantityInStock: many");
+        assertThatThrownBy(() -> decoder.decode("Mug,SKU-1,12.50,1,SOLD"))
+                .hasMessage("Unknown status: SOLD");
+        assertThatThrownBy(() -> decoder.decode("Mug,SKU-1,12.50"))
+                .hasMessage("Expected 5 fields but found 3");
+    }
+
+    @Test
+    void constructor_WithInvalidHeader_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> new CsvProductDecoder("name,sku,price,colour"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Unknown CSV columns: [colour]");
+        assertThatThrownBy(() -> new CsvProductDecoder("name,sku,price,name"))
+                .hasMessageStartingWith("Repeated CSV columns");
+        assertThatThrownBy(() -> new CsvProductDecoder("name,description"))
+                .hasMessage("Missing CSV columns: [price, sku]");
+    }
+
+    @Test
+    void split_ShouldHandleQuotedFields() {
+        // Act & Assert
+        assertThat(CsvProductDecoder.split("a,\"b,c\",\"say \"\"hi\"\"\",,\"multi\nline\""))
+                .containsExactly("a", "b,c", "say \"hi\"", "", "multi\nline");
+        assertThat(CsvProductDecoder.isComplete("a,\"b")).isFalse();
+        assertThat(CsvProductDecoder.isComplete("a,\"b\"\"c\"")).isTrue();
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.productmanagement.products.importer;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.repository.MockProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductImporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void importProducts_WithNdjson_ShouldSaveValidProductsAndReportInvalidLines() throws IOException {
+        // Arrange
+        MockProductRepository repository = new MockProductRepository(List.of());
+        ProductImporter importer = new ProductImporter(repository, objectMapper, 2, 10, 10);
+        String input = """
+                {"name": " Laptop ", "sku": "SKU-1", "price": 999.90, "categories": ["Electronics", " "]}
+                {"name": "Broken",
+                {"name": "No SKU", "price": 10}
+
+                {"id": "p-5", "name": "Phone", "sku": "SKU-5", "price": "499.00", "status": "DISCONTINUED"}
+                {"name": "Cheap", "sku": "SKU-6", "price": -1}
+                """;
+
+        // Act
+        ImportResult result = importer.importProducts(utf8(input), ImportFormat.NDJSON, "importer", ImportListener.NONE);
+
+        // Assert
+        assertThat(result.getLines()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ImportError::getLine).containsExactly(2L, 3L, 6L);
+        assertThat(result.getErrors()).extracting(ImportError::getMessage)
+                .satisfiesExactly(
+                        message -> assertThat(message).startsWith("Invalid JSON"),
+                        message -> assertThat(message).isEqualTo("sku is required"),
+                        message -> assertThat(message).isEqualTo("price must not be negative"));
+
+        Product laptop = repository.findByCategory("Electronics").get(0);
+        assertThat(laptop.getName()).isEqualTo("Laptop");
+        assertThat(laptop.getCategories()).containsExactly("Electronics");
+        assertThat(laptop.getStatus()).isEqualTo(Product.ProductStatus.ACTIVE);
+        assertThat(laptop.getCreatedBy()).isEqualTo("importer");
+        assertThat(repository.findById("p-5")).map(Product::getStatus).contains(Product.ProductStatus.DISCONTINUED);
+    }
+
+    @Test
+    void importProducts_WithCsv_ShouldReadQuotedFieldsSpanningLines() throws IOException {
+        // Arrange
+        MockProductRepository repository = new MockProductRepository(List.of());
+        ProductImporter importer = new ProductImporter(repository, objectMapper, 2, 10, 10);
+        String input = """
+                sku,name,price,quantityInStock,categories,description
+                SKU-1,"Desk, oak",249.00,3,Office|Furniture,"Two lines
+                with a ""quoted"" word"
+                SKU-2,Chair,abc,1,Office,
+                SKU-3,Lamp,19.90,7,,
+                """;
+
+        // Act
+        ImportResult result = importer.importProducts(utf8(input), ImportFormat.CSV, "importer", ImportListener.NONE);
+
+        // Assert
+        assertThat(result.getLines()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).containsExactly(new ImportError(4, "Invalid price: abc"));
+        Product desk = repository.findByCategory("Furniture").get(0);
+        assertThat(desk.getName()).isEqualTo("Desk, oak");
+        assertThat(desk.getPrice()).isEqualTo(Money.parse("249.00"));
+        assertThat(desk.getDescription()).isEqualTo("Two lines\nwith a \"quoted\" word");
+        assertThat(desk.getCategories()).containsExactly("Office", "Furniture");
+    }
+
+    @Test
+    void importProducts_WithInvalidCsvHeader_ShouldThrowException() {
+        // Arrange
+        ProductImporter importer = new ProductImporter(new MockProductRepository(List.of()), objectMapper, 2, 10, 10);
+
+        // Act & Assert
+        assertThatThrownBy(() -> importer.importProducts(utf8("sku,name,colour\n"), ImportFormat.CSV, "importer",
+                ImportListener.NONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("colour");
+        assertThatThrownBy(() -> importer.importProducts(utf8(""), ImportFormat.CSV, "importer", ImportListener.NONE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void importProducts_WithManyRecords_ShouldSaveInBatchesInInputOrder() throws IOException {
+        // Arrange
+        RecordingRepository repository = new RecordingRepository();
+        ProductImporter importer = new ProductImporter(repository, objectMapper, 4, 1_000, 10);
+        List<ImportProgress> progress = new ArrayList<>();
+
+        // Act
+        ImportResult result = importer.importProducts(new GeneratedCsv(10_500), ImportFormat.CSV, "importer",
+                new ImportListener() {
+                    @Override
+                    public void onProgress(ImportProgress update) {
+                        progress.add(update);
+                    }
+                });
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(10_500);
+        assertThat(result.getFailed()).isZero();
+        assertThat(repository.batchSizes).hasSize(11).allMatch(size -> size <= 1_000);
+        assertThat(repository.skus).hasSize(10_500);
+        for (int i = 0; i < repository.skus.size(); i++) {
+            assertThat(repository.skus.get(i)).isEqualTo("SKU-" + i);
+        }
+        assertThat(progress).hasSize(11);
+        assertThat(progress.get(10)).isEqualTo(new ImportProgress(10_501, 10_500, 0));
+    }
+
+    @Test
+    void importProducts_WithSlowRepository_ShouldNotReadFarAheadOfWrites() throws IOException {
+        // Arrange
+        GeneratedCsv input = new GeneratedCsv(100_000);
+        AtomicLong maxLag = new AtomicLong();
+        RecordingRepository repository = new RecordingRepository() {
+            @Override
+            public List<Product> saveAll(Collection<Product> products) {
+                List<Product> saved = super.saveAll(products);
+                maxLag.accumulateAndGet(input.generated - skus.size(), Math::max);
+                return saved;
+            }
+        };
+        ProductImporter importer = new ProductImporter(repository, objectMapper, 2, 500, 10);
+
+        // Act
+        ImportResult result = importer.importProducts(input, ImportFormat.CSV, "importer", ImportListener.NONE);
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(100_000);
+        // Queued chunks, the batch being filled and the read buffers, whatever the input size
+        assertThat(maxLag.get()).isLessThan(10_000);
+    }
+
+    @Test
+    void importProducts_WhenWriterFails_ShouldStopImportThreads() throws InterruptedException {
+        // Arrange
+        ProductImporter importer = new ProductImporter(new RecordingRepository(), objectMapper, 2, 100, 10);
+        ImportListener failing = new ImportListener() {
+            @Override
+            public void onProgress(ImportProgress progress) {
+                throw new IllegalStateException("listener failed");
+            }
+        };
+
+        // Act & Assert
+        assertThatThrownBy(() -> importer.importProducts(new GeneratedCsv(100_000), ImportFormat.CSV, "importer",
+                failing))
+                .hasMessage("listener failed");
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (importThreadsAlive() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(importThreadsAlive()).isFalse();
+    }
+
+    @Test
+    void importProducts_WithLineWithoutLineBreak_ShouldReportItAndReadOn() throws IOException {
+        // Arrange
+        MockProductRepository repository = new MockProductRepository(List.of());
+        ProductImporter importer = new ProductImporter(repository, objectMapper, 2, 10, 10);
+        String valid = "{\"name\": \"Mug\", \"sku\": \"SKU-1\", \"price\": 5}\n";
+        InputStream input = new SequenceInputStream(new Filler(8L * ProductImporter.MAX_LINE_LENGTH),
+                utf8("\r\n" + valid));
+
+        // Act
+        ImportResult result = importer.importProducts(input, ImportFormat.NDJSON, "importer", ImportListener.NONE);
+
+        // Assert
+        assertThat(result.getLines()).isEqualTo(2);
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly(
+                new ImportError(1, "Line longer than " + ProductImporter.MAX_LINE_LENGTH + " characters"));
+        assertThat(repository.findAll()).extracting(Product::getSku).containsExactly("SKU-1");
+    }
+
+    @Test
+    void importProducts_WhenBatchIsRejected_ShouldSaveOneByOneAndReportRejectedProducts() throws IOException {
+        // Arrange
+        MockProductRepository repository = new MockProductRepository(List.of()) {
+            @Override
+            public Product save(Product product) {
+                if (product.getSku().equals("SKU-2")) {
+                    throw new IllegalStateException("duplicate SKU");
+                }
+                return super.save(product);
+            }
+        };
+        ProductImporter importer = new ProductImporter(repository, objectMapper, 1, 10, 10);
+        String input = """
+                sku,name,price
+                SKU-1,Desk,1
+                SKU-2,Chair,2
+                SKU-3,Lamp,3
+                """;
+
+        // Act
+        ImportResult result = importer.importProducts(utf8(input), ImportFormat.CSV, "importer", ImportListener.NONE);
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).containsExactly(new ImportError(3, "Could not save: duplicate SKU"));
+        assertThat(repository.findAll()).extracting(Product::getSku).containsExactlyInAnyOrder("SKU-1", "SKU-3");
+    }
+
+    @Test
+    void importProducts_WithManyErrors_ShouldKeepFirstErrorsAndPassAllToListener() throws IOException {
+        // Arrange
+        ProductImporter importer = new ProductImporter(new MockProductRepository(List.of()), objectMapper, 2, 10, 3);
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            input.append("{\"name\": \"Product ").append(i).append("\"}\n");
+        }
+        List<ImportError> reported = new ArrayList<>();
+
+        // Act
+        ImportResult result = importer.importProducts(utf8(input.toString()), ImportFormat.NDJSON, "importer",
+                new ImportListener() {
+                    @Override
+                    public void onError(ImportError error) {
+                        reported.add(error);
+                    }
+                });
+
+        // Assert
+        assertThat(result.getFailed()).isEqualTo(1_000);
+        assertThat(result.getErrors()).extracting(ImportError::getLine).containsExactly(1L, 2L, 3L);
+        assertThat(reported).hasSize(1_000);
+    }
+
+    private static boolean importThreadsAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().startsWith("product-import-") && thread.isAlive());
+    }
+
+    private static InputStream utf8(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Records the SKUs of the saved products in the order they were saved
+     */
+    private static class RecordingRepository extends MockProductRepository {
+
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<String> skus = new ArrayList<>();
+
+        RecordingRepository() {
+            super(List.of());
+        }
+
+        @Override
+        public List<Product> saveAll(Collection<Product> products) {
+            batchSizes.add(products.size());
+            products.forEach(product -> skus.add(product.getSku()));
+            return List.copyOf(products);
+        }
+    }
+
+    /**
+     * The given number of bytes without a line break, generated on the fly
+     */
+    private static class Filler extends InputStream {
+
+        private long remaining;
+
+        Filler(long bytes) {
+            this.remaining = bytes;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            return 'x';
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int read = (int) Math.min(length, remaining);
+            Arrays.fill(buffer, offset, offset + read, (byte) 'x');
+            remaining -= read;
+            return read;
+        }
+    }
+
+    /**
+     * CSV input generated on the fly, counting the records handed out so far
+     */
+    private static class GeneratedCsv extends InputStream {
+
+        private final int records;
+        private byte[] current = "sku,name,price,categories\n".getBytes(StandardCharsets.UTF_8);
+        private int position;
+        volatile long generated;
+
+        GeneratedCsv(int records) {
+            this.records = records;
+        }
+
+        @Override
+        public int read() {
+            if (position == current.length) {
+                if (generated == records) {
+                    return -1;
+                }
+                current = ("SKU-" + generated + ",Product " + generated + ",9.99,Category " + generated % 10 + "\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                position = 0;
+                generated++;
+            }
+            return current[position++];
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.productmanagement.products.jfr;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.repository.MockProductRepository;
+import com.example.productmanagement.products.repository.ProductRepositoryException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecordingProductRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void operations_ShouldEmitRepositoryEvents() throws Exception {
+        // Arrange
+        FlightRecordingProductRepository repository = new FlightRecordingProductRepository(
+                new MockProductRepository(List.of(Product.builder().id("1").name("Laptop").build())));
+        Path dump = tempDir.resolve("products.jfr");
+
+        // Act
+        try (ProductEventRecording recording = new ProductEventRecording(Duration.ZERO, Duration.ZERO,
+                Duration.ofMinutes(1), dump)) {
+            recording.start();
+            repository.findById("1");
+            repository.findById("missing");
+            repository.findAll();
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals(RepositoryOperationEvent.NAME))
+                .toList();
+
+        // Assert
+        assertThat(events).extracting(event -> event.getString("operation"))
+                .containsExactlyInAnyOrder("findById", "findById", "findAll");
+        assertThat(events).allSatisfy(event ->
+                assertThat(event.getString("repository")).isEqualTo("MockProductRepository"));
+        assertThat(events).filteredOn(event -> "missing".equals(event.getString("key")))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getInt("resultSize")).isZero());
+    }
+
+    @Test
+    void operations_WhenDelegateThrows_ShouldEmitEventWithError() throws Exception {
+        // Arrange
+        FlightRecordingProductRepository repository = new FlightRecordingProductRepository(
+                new MockProductRepository(List.of()) {
+                    @Override
+                    public Optional<Product> findById(String id) {
+                        throw new ProductRepositoryException("Backend unavailable", null);
+                    }
+                });
+        Path dump = tempDir.resolve("products.jfr");
+
+        // Act
+        try (ProductEventRecording recording = new ProductEventRecording(Duration.ZERO, Duration.ZERO,
+                Duration.ofMinutes(1), dump)) {
+            recording.start();
+            assertThatThrownBy(() -> repository.findById("1")).isInstanceOf(ProductRepositoryException.class);
+            repository.findAll();
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals(RepositoryOperationEvent.NAME))
+                .toList();
+
+        // Assert
+        assertThat(events).extracting(event -> event.getString("operation") + " " + event.getString("error"))
+                .containsExactlyInAnyOrder("findById " + ProductRepositoryException.class.getName(), "findAll null");
+    }
+
+    @Test
+    void operations_BelowThreshold_ShouldNotEmitEvents() throws Exception {
+        // Arrange
+        FlightRecordingProductRepository repository = new FlightRecordingProductRepository(
+                new MockProductRepository(List.of()));
+        Path dump = tempDir.resolve("products.jfr");
+
+        // Act
+        try (ProductEventRecording recording = new ProductEventRecording(Duration.ofHours(1), Duration.ofHours(1),
+                Duration.ofMinutes(1), dump)) {
+            recording.start();
+            repository.findById("missing");
+        }
+
+        // Assert
+        assertThat(RecordingFile.readAllEvents(dump))
+                .noneMatch(event -> event.getEventType().getName().equals(RepositoryOperationEvent.NAME));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.productmanagement.products.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldBeTrueForEveryPutKey() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, 1 << 20);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("product-" + i);
+        }
+
+        // Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("product-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void mightContain_ShouldRejectAbsentKeysAtAboutTheTargetRate() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01, 1 << 20);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("product-" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("missing-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertThat(falsePositives).isLessThan(2_000);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.02);
+        assertThat(filter.approximateKeyCount()).isBetween(9_500L, 10_500L);
+    }
+
+    @Test
+    void create_WithMemoryLimit_ShouldCapSize() {
+        // Act
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01, 4096);
+
+        // Assert
+        assertThat(filter.memorySize()).isEqualTo(4096);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ChangeTrackingProductRepositoryTest {
+
+    private MockProductRepository backend;
+    private ChangeTrackingProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        backend = spy(new MockProductRepository(List.of(
+                createTestProduct("2", "Phone", LocalDateTime.of(2024, 1, 2, 0, 0)),
+                createTestProduct("1", "Laptop", LocalDateTime.of(2024, 1, 1, 0, 0)))));
+        repository = new ChangeTrackingProductRepository(backend, Duration.ZERO);
+    }
+
+    @Test
+    void findChangesSince_WithoutToken_ShouldReturnAllProductsByUpdatedAt() {
+        // Act
+        ProductChanges changes = repository.findChangesSince(null, 100).orElseThrow();
+
+        // Assert
+        assertThat(changes.getUpdated()).extracting(Product::getId).containsExactly("1", "2");
+        assertThat(changes.getDeleted()).isEmpty();
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(repository.findChangesSince(changes.getToken(), 100))
+                .hasValueSatisfying(next -> assertThat(next.getUpdated()).isEmpty());
+    }
+
+    @Test
+    void findChangesSince_ShouldReturnOnlyLaterSavesAndDeletes() {
+        // Arrange
+        String token = repository.findChangesSince(null, 100).orElseThrow().getToken();
+        repository.save(createTestProduct(null, "Tablet", null));
+        Product laptop = repository.findById("1").orElseThrow();
+        laptop.setName("Office Laptop");
+        repository.save(laptop);
+        repository.deleteById("2");
+
+        // Act
+        ProductChanges changes = repository.findChangesSince(token, 100).orElseThrow();
+
+        // Assert
+        assertThat(changes.getUpdated()).extracting(Product::getName)
+                .containsExactlyInAnyOrder("Tablet", "Office Laptop");
+        assertThat(changes.getDeleted()).containsExactly("2");
+        assertThat(repository.size()).isEqualTo(3);
+    }
+
+    @Test
+    void findChangesSince_WithLimit_ShouldPageThroughChanges() {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            products.add(createTestProduct("id-" + i, "Product " + i, null));
+        }
+        String token = repository.findChangesSince(null, 100).orElseThrow().getToken();
+        repository.saveAll(products);
+
+        // Act
+        List<String> synced = new ArrayList<>();
+        int pages = 0;
+        ProductChanges page;
+        do {
+            page = repository.findChangesSince(token, 10).orElseThrow();
+            page.getUpdated().forEach(product -> synced.add(product.getId()));
+            token = page.getToken();
+            pages++;
+        } while (page.isHasMore());
+
+        // Assert
+        assertThat(synced).hasSize(25).doesNotHaveDuplicates();
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void findChangesSince_ShouldReadOnlyChangedProducts() {
+        // Arrange
+        String token = repository.findChangesSince(null, 100).orElseThrow().getToken();
+        repository.deleteById("1");
+        clearInvocations(backend);
+
+        // Act
+        repository.findChangesSince(token, 100);
+
+        // Assert
+        verify(backend).findAllById(List.of("1"));
+        verify(backend, never()).findAll();
+        verify(backend, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    void findChangesSince_WithForeignOrMalformedToken_ShouldBeEmpty() {
+        String notACursor = Base64.getUrlEncoder().encodeToString("0123abcd-1".getBytes(StandardCharsets.UTF_8));
+        assertThat(repository.findChangesSince(notACursor, 100)).isEmpty();
+        assertThat(repository.findChangesSince("garbage", 100)).isEmpty();
+        assertThatThrownBy(() -> repository.findChangesSince(null, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findChangesSince_WithTokenFromEarlierInstance_ShouldReturnLaterChanges() {
+        // Arrange
+        String token = repository.findChangesSince(null, 100).orElseThrow().getToken();
+        Product laptop = backend.findById("1").orElseThrow();
+        laptop.setName("Office Laptop");
+        backend.save(laptop);
+
+        // Act
+        ChangeTrackingProductRepository restarted = new ChangeTrackingProductRepository(backend, Duration.ZERO);
+        Optional<ProductChanges> changes = restarted.findChangesSince(token, 100);
+
+        // Assert
+        assertThat(changes).hasValueSatisfying(next ->
+                assertThat(next.getUpdated()).extracting(Product::getName).containsExactly("Office Laptop"));
+    }
+
+    @Test
+    void findChangesSince_WithinSafetyLag_ShouldHoldBackRecentChanges() {
+        // Arrange
+        ChangeTrackingProductRepository lagging = new ChangeTrackingProductRepository(backend, Duration.ofHours(1));
+        String token = lagging.findChangesSince(null, 100).orElseThrow().getToken();
+
+        // Act
+        lagging.save(createTestProduct(null, "Tablet", null));
+        ProductChanges changes = lagging.findChangesSince(token, 100).orElseThrow();
+
+        // Assert
+        assertThat(changes.getUpdated()).isEmpty();
+        assertThat(changes.getToken()).isEqualTo(token);
+    }
+
+    @Test
+    void purgeTombstones_ShouldExpireTokensFromBeforeThem() {
+        // Arrange
+        String oldToken = repository.findChangesSince(null, 100).orElseThrow().getToken();
+        repository.deleteById("2");
+        String currentToken = repository.findChangesSince(oldToken, 100).orElseThrow().getToken();
+
+        // Act
+        int purged = repository.purgeTombstones(LocalDateTime.now().plusSeconds(1));
+
+        // Assert
+        assertThat(purged).isEqualTo(1);
+        assertThat(repository.size()).isEqualTo(1);
+        assertThat(repository.findChangesSince(oldToken, 100)).isEmpty();
+        assertThat(repository.findChangesSince(currentToken, 100)).isPresent();
+        Optional<ProductChanges> resync = repository.findChangesSince(null, 100);
+        assertThat(resync).hasValueSatisfying(changes ->
+                assertThat(changes.getUpdated()).extracting(Product::getId).containsExactly("1"));
+    }
+
+    private Product createTestProduct(String id, String name, LocalDateTime updatedAt) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description("Test Description")
+                .sku("TEST-SKU-" + name)
+                .status(Product.ProductStatus.ACTIVE)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingProductRepositoryTest {
+
+    private static final int CALLERS = 16;
+
+    private SlowProductRepository backend;
+    private CoalescingProductRepository repository;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        backend = new SlowProductRepository();
+        backend.products.put("1", Product.builder().id("1").name("Product 1").categories(Set.of("Books")).build());
+        repository = new CoalescingProductRepository(backend);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void findById_WithConcurrentCallers_ShouldShareOneBackendCall() throws Exception {
+        // Act
+        List<Future<Optional<Product>>> results = submit(() -> repository.findById("1"));
+        awaitCoalesced(CALLERS - 1);
+        backend.release.countDown();
+
+        // Assert
+        for (Future<Optional<Product>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).map(Product::getName).contains("Product 1");
+        }
+        assertThat(backend.findByIdCalls.get()).isEqualTo(1);
+        assertThat(repository.getBackendCalls()).isEqualTo(1);
+        assertThat(repository.getCoalescedCalls()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void findByCategory_WithConcurrentCallers_ShouldReturnSeparateLists() throws Exception {
+        // Act
+        List<Future<List<Product>>> results = submit(() -> repository.findByCategory("Books"));
+        awaitCoalesced(CALLERS - 1);
+        backend.release.countDown();
+
+        // Assert
+        Set<List<Product>> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Future<List<Product>> result : results) {
+            List<Product> products = result.get(5, TimeUnit.SECONDS);
+            assertThat(products).extracting(Product::getId).containsExactly("1");
+            distinct.add(products);
+        }
+        assertThat(distinct).hasSize(CALLERS);
+        assertThat(backend.findByCategoryCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void save_WhileReadInFlight_ShouldStartNewBackendCallForLaterReaders() throws Exception {
+        // Arrange
+        Future<Optional<Product>> before = executor.submit(() -> repository.findById("1"));
+        awaitBackendCalls(1);
+
+        // Act
+        repository.save(Product.builder().id("1").name("Renamed").build());
+        Future<Optional<Product>> after = executor.submit(() -> repository.findById("1"));
+        awaitBackendCalls(2);
+        backend.release.countDown();
+
+        // Assert
+        assertThat(before.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(after.get(5, TimeUnit.SECONDS)).map(Product::getName).contains("Renamed");
+        assertThat(repository.getCoalescedCalls()).isZero();
+    }
+
+    @Test
+    void findById_WhenBackendFails_ShouldPropagateToAllCallers() throws Exception {
+        // Arrange
+        backend.failure = new IllegalStateException("backend down");
+
+        // Act
+        List<Future<Optional<Product>>> results = submit(() -> repository.findById("1"));
+        awaitCoalesced(CALLERS - 1);
+        backend.release.countDown();
+
+        // Assert
+        for (Future<Optional<Product>> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(backend.findByIdCalls.get()).isEqualTo(1);
+    }
+
+    private <T> List<Future<T>> submit(Callable<T> call) {
+        List<Future<T>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repository.getCoalescedCalls() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(repository.getCoalescedCalls()).isEqualTo(expected);
+    }
+
+    private void awaitBackendCalls(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repository.getBackendCalls() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(repository.getBackendCalls()).isEqualTo(expected);
+    }
+
+    /**
+     * Stand-in for a slow backend: reads block until {@link #release} is counted down
+     */
+    private static class SlowProductRepository implements ProductRepository {
+        final Map<String, Product> products = new ConcurrentHashMap<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger findByIdCalls = new AtomicInteger();
+        final AtomicInteger findByCategoryCalls = new AtomicInteger();
+        volatile RuntimeException failure;
+
+        @Override
+        public List<Product> findAll() {
+            return new ArrayList<>(products.values());
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            findByIdCalls.incrementAndGet();
+            Product product = products.get(id);
+            awaitRelease();
+            return Optional.ofNullable(product);
+        }
+
+        @Override
+        public Product save(Product product) {
+            products.put(product.getId(), product);
+            return product;
+        }
+
+        @Override
+        public void deleteById(String id) {
+            products.remove(id);
+        }
+
+        @Override
+        public List<Product> findByCategory(String category) {
+            findByCategoryCalls.incrementAndGet();
+            awaitRelease();
+            return products.values().stream()
+                    .filter(product -> product.getCategories() != null && product.getCategories().contains(category))
+                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        }
+
+        private void awaitRelease() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColdProductStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private ColdProductStore store;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("cold.bin");
+        store = new ColdProductStore(file);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void putAndGet_ShouldRoundTripProduct() {
+        // Arrange
+        Product product = createTestProduct("1", "Typewriter");
+
+        // Act
+        store.put(product);
+
+        // Assert
+        assertThat(store.get("1")).isEqualTo(product);
+        assertThat(store.get("missing")).isNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_WithExistingId_ShouldReplaceProduct() {
+        // Arrange
+        store.put(createTestProduct("1", "Old"));
+
+        // Act
+        store.put(createTestProduct("1", "New"));
+
+        // Assert
+        assertThat(store.get("1").getName()).isEqualTo("New");
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_ShouldReturnAndForgetProduct() {
+        // Arrange
+        store.put(createTestProduct("1", "Typewriter"));
+
+        // Act
+        Product removed = store.remove("1");
+
+        // Assert
+        assertThat(removed.getName()).isEqualTo("Typewriter");
+        assertThat(store.get("1")).isNull();
+        assertThat(store.remove("1")).isNull();
+    }
+
+    @Test
+    void discard_WithMostlyGarbage_ShouldCompactFileAndKeepLiveProducts() {
+        // Arrange
+        for (int i = 0; i < 20_000; i++) {
+            store.put(createTestProduct(Integer.toString(i), "Product " + i));
+        }
+        long fullSize = store.fileSize();
+
+        // Act
+        for (int i = 100; i < 20_000; i++) {
+            store.discard(Integer.toString(i));
+        }
+
+        // Assert
+        assertThat(store.fileSize()).isLessThan(fullSize / 2);
+        assertThat(store.size()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(store.get(Integer.toString(i)).getName()).isEqualTo("Product " + i);
+        }
+        List<Product> all = new ArrayList<>();
+        store.forEach(all::add);
+        assertThat(all).hasSize(100);
+    }
+
+    @Test
+    void forEach_WhenDiscardsDuringScan_ShouldDeferCompactionUntilScanEnds() {
+        // Arrange
+        for (int i = 0; i < 20_000; i++) {
+            store.put(createTestProduct(Integer.toString(i), "Product " + i));
+        }
+        long fullSize = store.fileSize();
+        List<Product> scanned = new ArrayList<>();
+        long[] sizeDuringScan = new long[1];
+
+        // Act
+        store.forEach(product -> {
+            if (scanned.isEmpty()) {
+                for (int i = 100; i < 20_000; i++) {
+                    store.discard(Integer.toString(i));
+                }
+                sizeDuringScan[0] = store.fileSize();
+            }
+            scanned.add(product);
+        });
+
+        // Assert
+        assertThat(scanned).hasSize(20_000);
+        assertThat(sizeDuringScan[0]).isEqualTo(fullSize);
+        assertThat(store.fileSize()).isLessThan(fullSize / 2);
+        assertThat(store.size()).isEqualTo(100);
+    }
+
+    @Test
+    void put_WithMostlyReplacedRecords_ShouldCompactFile() {
+        // Arrange
+        for (int i = 0; i < 10_000; i++) {
+            store.put(createTestProduct(Integer.toString(i), "Product " + i));
+        }
+        long fullSize = store.fileSize();
+
+        // Act
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10_000; i++) {
+                store.put(createTestProduct(Integer.toString(i), "Product " + i + " v" + round));
+            }
+        }
+
+        // Assert
+        assertThat(store.fileSize()).isLessThan(3 * fullSize);
+        assertThat(store.size()).isEqualTo(10_000);
+        assertThat(store.get("42").getName()).isEqualTo("Product 42 v4");
+    }
+
+    @Test
+    void forEachInCategory_ShouldDecodeOnlyProductsOfTheCategory() {
+        // Arrange
+        store.put(createTestProduct("1", "Stapler", "Office"));
+        store.put(createTestProduct("2", "Chair", "Office", "Furniture"));
+        store.put(createTestProduct("3", "Lamp", "Furniture"));
+        store.put(createTestProduct("3", "Lamp", "Lighting"));
+        store.put(createTestProduct("4", "Desk", "Furniture"));
+        store.discard("4");
+
+        // Act
+        List<Product> office = new ArrayList<>();
+        List<Product> furniture = new ArrayList<>();
+        List<Product> missing = new ArrayList<>();
+        store.forEachInCategory("Office", office::add);
+        store.forEachInCategory("Furniture", furniture::add);
+        store.forEachInCategory("Garden", missing::add);
+
+        // Assert
+        assertThat(office).extracting(Product::getId).containsExactlyInAnyOrder("1", "2");
+        assertThat(furniture).extracting(Product::getId).containsExactly("2");
+        assertThat(missing).isEmpty();
+    }
+
+    @Test
+    void get_FromInterruptedThread_ShouldLeaveStoreUsable() {
+        // Arrange
+        store.put(createTestProduct("1", "Typewriter"));
+
+        // Act
+        Thread.currentThread().interrupt();
+        Product read;
+        try {
+            read = store.get("1");
+        } finally {
+            Thread.interrupted();
+        }
+
+        // Assert
+        assertThat(read.getName()).isEqualTo("Typewriter");
+        store.put(createTestProduct("2", "Stapler"));
+        assertThat(store.get("2").getName()).isEqualTo("Stapler");
+    }
+
+    @Test
+    void close_ShouldDeleteFile() throws IOException {
+        // Arrange
+        store.put(createTestProduct("1", "Typewriter"));
+
+        // Act
+        store.close();
+
+        // Assert
+        assertThat(Files.exists(file)).isFalse();
+        store = new ColdProductStore(file);
+    }
+
+    private Product createTestProduct(String id, String name) {
+        return createTestProduct(id, name, "Office");
+    }
+
+    private Product createTestProduct(String id, String name, String... categories) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description("Test Description")
+                .price(Money.parse("12.50"))
+                .quantityInStock(0)
+                .categories(new HashSet<>(Set.of(categories)))
+                .status(Product.ProductStatus.DISCONTINUED)
+                .build();
+    }
+}
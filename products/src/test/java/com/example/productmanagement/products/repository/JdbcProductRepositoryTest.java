@@ -0,0 +1,310 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcProductRepositoryTest {
+
+    private JdbcConnectionPool dataSource;
+    private JdbcProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = JdbcConnectionPool.create(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        repository = new JdbcProductRepository(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.dispose();
+    }
+
+    @Test
+    void save_WithNewProduct_ShouldAssignIdAndRoundTrip() {
+        // Arrange
+        Product product = createTestProduct(null, "Laptop", "Electronics", "Computers");
+
+        // Act
+        Product saved = repository.save(product);
+        Optional<Product> found = repository.findById(saved.getId());
+
+        // Assert
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getCreatedAt()).isNotNull();
+        assertThat(found).isPresent();
+        assertThat(found.get().getName()).isEqualTo("Laptop");
+        assertThat(found.get().getPrice()).isEqualTo(Money.parse("99.90"));
+        assertThat(found.get().getStatus()).isEqualTo(Product.ProductStatus.ACTIVE);
+        assertThat(found.get().getCategories()).containsExactlyInAnyOrder("Electronics", "Computers");
+        assertThat(found.get().getCreatedAt()).isEqualTo(saved.getCreatedAt());
+    }
+
+    @Test
+    void save_WithExistingProduct_ShouldReplaceCategories() {
+        // Arrange
+        Product saved = repository.save(createTestProduct("1", "Laptop", "Electronics", "Computers"));
+        saved.setCategories(new HashSet<>(Set.of("Office")));
+        saved.setName("Office Laptop");
+
+        // Act
+        repository.save(saved);
+
+        // Assert
+        Product found = repository.findById("1").orElseThrow();
+        assertThat(found.getName()).isEqualTo("Office Laptop");
+        assertThat(found.getCategories()).containsExactly("Office");
+        assertThat(repository.findByCategory("Electronics")).isEmpty();
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void findByCategory_ShouldReturnOnlyMatchingProductsWithAllTheirCategories() {
+        // Arrange
+        repository.save(createTestProduct("1", "Laptop", "Electronics", "Computers"));
+        repository.save(createTestProduct("2", "Novel", "Books"));
+        repository.save(createTestProduct("3", "Phone", "Electronics"));
+
+        // Act
+        List<Product> electronics = repository.findByCategory("Electronics");
+
+        // Assert
+        assertThat(electronics).extracting(Product::getId).containsExactly("1", "3");
+        assertThat(electronics.get(0).getCategories()).containsExactlyInAnyOrder("Electronics", "Computers");
+        assertThat(repository.findByCategory("Unknown")).isEmpty();
+    }
+
+    @Test
+    void deleteById_ShouldRemoveProductAndCategoryLinks() {
+        // Arrange
+        repository.save(createTestProduct("1", "Laptop", "Electronics"));
+
+        // Act
+        repository.deleteById("1");
+
+        // Assert
+        assertThat(repository.findById("1")).isEmpty();
+        assertThat(repository.findByCategory("Electronics")).isEmpty();
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void saveAll_WithMoreThanOneBatch_ShouldPersistAllProducts() {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < JdbcProductRepository.BATCH_SIZE * 2 + 7; i++) {
+            products.add(createTestProduct(null, "Product " + i, "Category " + (i % 10)));
+        }
+
+        // Act
+        List<Product> saved = repository.saveAll(products);
+
+        // Assert
+        assertThat(saved).hasSize(products.size()).allSatisfy(product -> assertThat(product.getId()).isNotNull());
+        assertThat(repository.count()).isEqualTo(products.size());
+        assertThat(repository.findAll()).hasSize(products.size());
+        assertThat(repository.findByCategory("Category 3")).hasSize(101);
+    }
+
+    @Test
+    void findAllById_WithMoreThanOneChunk_ShouldReturnFoundProductsInRequestOrder() {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < JdbcProductRepository.LOOKUP_CHUNK_SIZE * 2 + 5; i++) {
+            products.add(createTestProduct("id-" + i, "Product " + i, "Category " + (i % 3)));
+        }
+        repository.saveAll(products);
+        List<String> ids = new ArrayList<>();
+        for (int i = products.size() - 1; i >= 0; i--) {
+            ids.add("id-" + i);
+        }
+        ids.add(1, "missing");
+        ids.add("id-0");
+
+        // Act
+        List<Product> found = repository.findAllById(ids);
+
+        // Assert
+        assertThat(found).hasSize(products.size());
+        assertThat(found.get(0).getId()).isEqualTo("id-" + (products.size() - 1));
+        assertThat(found.get(found.size() - 1).getId()).isEqualTo("id-0");
+        assertThat(found.get(0).getCategories()).containsExactly("Category " + ((products.size() - 1) % 3));
+        assertThat(repository.findAllById(List.of("missing"))).isEmpty();
+    }
+
+    @Test
+    void findAllById_WithConcurrentLookups_ShouldHoldAtMostTheLookupConnections() throws Exception {
+        // Arrange
+        List<String> ids = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < JdbcProductRepository.LOOKUP_CHUNK_SIZE * 10; i++) {
+            products.add(createTestProduct("id-" + i, "Product " + i, "Category " + (i % 3)));
+            ids.add("id-" + i);
+        }
+        repository.saveAll(products);
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        DataSource counting = (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    Object result = method.invoke(dataSource, args);
+                    if (!method.getName().equals("getConnection")) {
+                        return result;
+                    }
+                    maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                    Connection connection = (Connection) result;
+                    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                            (connectionProxy, connectionMethod, connectionArgs) -> {
+                                if (connectionMethod.getName().equals("close")) {
+                                    open.decrementAndGet();
+                                }
+                                return connectionMethod.invoke(connection, connectionArgs);
+                            });
+                });
+        JdbcProductRepository limited = new JdbcProductRepository(counting, 2);
+        maxOpen.set(0);
+        int callers = 4;
+
+        // Act
+        List<Future<List<Product>>> lookups = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers * 5; i++) {
+                lookups.add(executor.submit(() -> limited.findAllById(ids)));
+            }
+        }
+
+        // Assert
+        for (Future<List<Product>> lookup : lookups) {
+            assertThat(lookup.get()).hasSize(ids.size());
+        }
+        assertThat(maxOpen.get()).isLessThanOrEqualTo(callers + 2);
+        assertThat(open.get()).isZero();
+    }
+
+    @Test
+    void findChangesSince_WithoutChangeTracking_ShouldBeEmpty() {
+        // Arrange
+        repository.save(createTestProduct("1", "Laptop"));
+
+        // Act & Assert
+        assertThat(repository.findChangesSince(null, 100)).isEmpty();
+    }
+
+    @Test
+    void findChangesSince_WithTokenFromOtherRepository_ShouldReturnLaterSavesAndDeletes() {
+        // Arrange
+        repository.startChangeTracking(Duration.ZERO, Duration.ofDays(7), Duration.ofHours(1));
+        repository.saveAll(List.of(createTestProduct("1", "Laptop"), createTestProduct("2", "Phone")));
+        String token = repository.findChangesSince(null, 100).orElseThrow().getToken();
+        repository.save(createTestProduct("3", "Tablet"));
+        Product laptop = repository.findById("1").orElseThrow();
+        laptop.setName("Office Laptop");
+        repository.save(laptop);
+        repository.deleteById("2");
+
+        // Act
+        JdbcProductRepository restarted = new JdbcProductRepository(dataSource);
+        restarted.startChangeTracking(Duration.ZERO, Duration.ofDays(7), Duration.ofHours(1));
+        ProductChanges changes = restarted.findChangesSince(token, 100).orElseThrow();
+
+        // Assert
+        assertThat(changes.getUpdated()).extracting(Product::getName)
+                .containsExactlyInAnyOrder("Tablet", "Office Laptop");
+        assertThat(changes.getDeleted()).containsExactly("2");
+        assertThat(restarted.findChangesSince(changes.getToken(), 100)).hasValueSatisfying(next -> {
+            assertThat(next.getUpdated()).isEmpty();
+            assertThat(next.getDeleted()).isEmpty();
+        });
+    }
+
+    @Test
+    void findChangesSince_WithLimit_ShouldPageThroughChanges() {
+        // Arrange
+        repository.startChangeTracking(Duration.ZERO, Duration.ofDays(7), Duration.ofHours(1));
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            products.add(createTestProduct("id-" + i, "Product " + i));
+        }
+        repository.saveAll(products);
+
+        // Act
+        List<String> synced = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        ProductChanges page;
+        do {
+            page = repository.findChangesSince(token, 10).orElseThrow();
+            page.getUpdated().forEach(product -> synced.add(product.getId()));
+            token = page.getToken();
+            pages++;
+        } while (page.isHasMore());
+
+        // Assert
+        assertThat(synced).hasSize(25).doesNotHaveDuplicates();
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void purgeTombstones_ShouldExpireTokensFromBeforeThem() {
+        // Arrange
+        repository.startChangeTracking(Duration.ZERO, Duration.ofDays(7), Duration.ofHours(1));
+        repository.saveAll(List.of(createTestProduct("1", "Laptop"), createTestProduct("2", "Phone")));
+        String oldToken = repository.findChangesSince(null, 100).orElseThrow().getToken();
+        repository.deleteById("2");
+        String currentToken = repository.findChangesSince(oldToken, 100).orElseThrow().getToken();
+
+        // Act
+        int purged = repository.purgeTombstones(LocalDateTime.now().plusSeconds(1));
+
+        // Assert
+        assertThat(purged).isEqualTo(1);
+        assertThat(repository.findChangesSince(oldToken, 100)).isEmpty();
+        assertThat(repository.findChangesSince(currentToken, 100)).isPresent();
+        assertThat(repository.findChangesSince(null, 100)).hasValueSatisfying(changes ->
+                assertThat(changes.getUpdated()).extracting(Product::getId).containsExactly("1"));
+    }
+
+    @Test
+    void findAll_WithProductWithoutCategories_ShouldReturnEmptyCategories() {
+        // Arrange
+        repository.save(createTestProduct("1", "Uncategorized"));
+
+        // Act
+        List<Product> products = repository.findAll();
+
+        // Assert
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0).getCategories()).isEmpty();
+    }
+
+    private Product createTestProduct(String id, String name, String... categories) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description("Test Description")
+                .sku("TEST-SKU-" + name)
+                .price(Money.parse("99.90"))
+                .quantityInStock(10)
+                .categories(new HashSet<>(Arrays.asList(categories)))
+                .status(Product.ProductStatus.ACTIVE)
+                .createdBy("tester")
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NegativeLookupFilterTest {
+
+    @Test
+    void mightContain_ShouldCountRejectedAndPassedLookups() {
+        // Arrange
+        NegativeLookupFilter filter = new NegativeLookupFilter(0.01, 1 << 20);
+        filter.add("1");
+
+        // Act
+        boolean present = filter.mightContain("1");
+        boolean absent = filter.mightContain("missing");
+        filter.recordFalsePositives(1);
+
+        // Assert
+        assertThat(present).isTrue();
+        assertThat(absent).isFalse();
+        assertThat(filter.getPassed()).isEqualTo(1);
+        assertThat(filter.getRejected()).isEqualTo(1);
+        assertThat(filter.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void rebuild_ShouldDropDeletedIdsAndSizeForCatalog() {
+        // Arrange
+        NegativeLookupFilter filter = new NegativeLookupFilter(0.01, 1 << 20);
+        filter.add("deleted");
+        filter.recordDelete();
+        List<Product> products = products(5_000);
+
+        // Act
+        filter.rebuild(() -> products);
+
+        // Assert
+        assertThat(filter.mightContain("deleted")).isFalse();
+        assertThat(filter.mightContain("product-4999")).isTrue();
+        assertThat(filter.getExpectedFalsePositiveRate()).isLessThan(0.01);
+        assertThat(filter.getRebuilds()).isEqualTo(1);
+        assertThat(filter.needsRebuild()).isFalse();
+    }
+
+    @Test
+    void rebuild_ShouldKeepIdsSavedWhileReadingProducts() {
+        // Arrange
+        NegativeLookupFilter filter = new NegativeLookupFilter(0.01, 1 << 20);
+
+        // Act
+        filter.rebuild(() -> {
+            filter.add("saved-during-rebuild");
+            return products(10);
+        });
+
+        // Assert
+        assertThat(filter.mightContain("saved-during-rebuild")).isTrue();
+    }
+
+    @Test
+    void needsRebuild_AfterManyDeletesOrAdds_ShouldBeTrue() {
+        // Arrange
+        NegativeLookupFilter deleted = new NegativeLookupFilter(0.01, 1 << 20);
+        NegativeLookupFilter grown = new NegativeLookupFilter(0.01, 1 << 20);
+
+        // Act
+        for (int i = 0; i <= NegativeLookupFilter.MIN_EXPECTED_KEYS / 10; i++) {
+            deleted.recordDelete();
+        }
+        for (int i = 0; i < 2 * NegativeLookupFilter.MIN_EXPECTED_KEYS; i++) {
+            grown.add("product-" + i);
+        }
+
+        // Assert
+        assertThat(deleted.needsRebuild()).isTrue();
+        assertThat(grown.needsRebuild()).isTrue();
+    }
+
+    @Test
+    void constructor_WithInvalidFalsePositiveRate_ShouldThrow() {
+        assertThatThrownBy(() -> new NegativeLookupFilter(1, 1 << 20)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder().id("product-" + i).name("Product " + i).build());
+        }
+        return products;
+    }
+}
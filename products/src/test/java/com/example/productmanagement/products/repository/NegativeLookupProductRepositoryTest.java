@@ -0,0 +1,112 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NegativeLookupProductRepositoryTest {
+
+    private MockProductRepository backend;
+    private NegativeLookupFilter filter;
+    private NegativeLookupProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        backend = spy(new MockProductRepository(List.of(createTestProduct("1", "Laptop"))));
+        filter = new NegativeLookupFilter(0.01, 1 << 20);
+        repository = new NegativeLookupProductRepository(backend, filter);
+    }
+
+    @Test
+    void findById_WithUnknownId_ShouldNotReachBackend() {
+        // Act
+        boolean found = repository.findById("missing").isPresent();
+
+        // Assert
+        assertThat(found).isFalse();
+        verify(backend, never()).findById(any());
+        assertThat(filter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_WithExistingAndSavedIds_ShouldReachBackend() {
+        // Arrange
+        Product saved = repository.save(createTestProduct(null, "Phone"));
+
+        // Act & Assert
+        assertThat(repository.findById("1")).map(Product::getName).contains("Laptop");
+        assertThat(repository.findById(saved.getId())).map(Product::getName).contains("Phone");
+        assertThat(filter.getPassed()).isEqualTo(2);
+    }
+
+    @Test
+    void findAllById_ShouldPassOnlyCandidateIds() {
+        // Arrange
+        repository.saveAll(List.of(createTestProduct("2", "Phone")));
+
+        // Act
+        List<Product> products = repository.findAllById(List.of("2", "missing", "1"));
+
+        // Assert
+        assertThat(products).extracting(Product::getId).containsExactly("2", "1");
+        verify(backend).findAllById(Set.of("2", "1"));
+    }
+
+    @Test
+    void rebuildIfNeeded_AfterManyDeletes_ShouldForgetDeletedIds() {
+        // Arrange
+        for (int i = 0; i < NegativeLookupFilter.MIN_EXPECTED_KEYS; i++) {
+            repository.save(createTestProduct("id-" + i, "Product " + i));
+        }
+        for (int i = 0; i < NegativeLookupFilter.MIN_EXPECTED_KEYS / 2; i++) {
+            repository.deleteById("id-" + i);
+        }
+
+        // Act
+        boolean rebuilt = repository.rebuildIfNeeded();
+        clearInvocations(backend);
+        boolean found = repository.findById("id-0").isPresent();
+
+        // Assert
+        assertThat(rebuilt).isTrue();
+        assertThat(found).isFalse();
+        verify(backend, never()).findById("id-0");
+        assertThat(repository.findById("id-1023")).isPresent();
+        assertThat(repository.rebuildIfNeeded()).isFalse();
+    }
+
+    @Test
+    void findById_WhenDeletedButNotRebuilt_ShouldCountFalsePositive() {
+        // Arrange
+        repository.deleteById("1");
+
+        // Act
+        boolean found = repository.findById("1").isPresent();
+
+        // Assert
+        assertThat(found).isFalse();
+        assertThat(filter.getFalsePositives()).isEqualTo(1);
+    }
+
+    private Product createTestProduct(String id, String name) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description("Test Description")
+                .sku("TEST-SKU-" + name)
+                .price(Money.parse("99.90"))
+                .quantityInStock(10)
+                .categories(Set.of("Electronics"))
+                .status(Product.ProductStatus.ACTIVE)
+                .createdBy("tester")
+                .build();
+    }
+}
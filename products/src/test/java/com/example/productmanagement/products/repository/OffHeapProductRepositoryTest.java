@@ -0,0 +1,155 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapProductRepositoryTest {
+
+    @Test
+    void save_WithNewProduct_ShouldAssignIdAndRoundTrip() {
+        // Arrange
+        OffHeapProductRepository repository = new OffHeapProductRepository();
+        Product product = createTestProduct(null, "Laptop", "Electronics", "Computers");
+
+        // Act
+        Product saved = repository.save(product);
+        Optional<Product> found = repository.findById(saved.getId());
+
+        // Assert
+        assertThat(saved.getId()).isNotNull();
+        assertThat(found).isPresent();
+        assertThat(found.get()).isNotSameAs(saved).isEqualTo(saved);
+        assertThat(found.get().getCategories()).containsExactlyInAnyOrder("Electronics", "Computers");
+        assertThat(repository.findById("missing")).isEmpty();
+    }
+
+    @Test
+    void findAllById_ShouldReturnFoundProductsInRequestOrderOnce() {
+        // Arrange
+        OffHeapProductRepository repository = new OffHeapProductRepository(List.of(
+                createTestProduct("1", "Laptop", "Electronics"),
+                createTestProduct("2", "Phone", "Electronics")));
+
+        // Act
+        List<Product> products = repository.findAllById(List.of("2", "missing", "1", "2"));
+
+        // Assert
+        assertThat(products).extracting(Product::getName).containsExactly("Phone", "Laptop");
+    }
+
+    @Test
+    void save_WithExistingProduct_ShouldReplaceItAndCountGarbage() {
+        // Arrange
+        OffHeapProductRepository repository = new OffHeapProductRepository(
+                List.of(createTestProduct("1", "Laptop", "Electronics")));
+        Product update = createTestProduct("1", "Office Laptop", "Office");
+
+        // Act
+        repository.save(update);
+
+        // Assert
+        assertThat(repository.size()).isEqualTo(1);
+        assertThat(repository.findById("1")).map(Product::getName).contains("Office Laptop");
+        assertThat(repository.findByCategory("Electronics")).isEmpty();
+        assertThat(repository.findByCategory("Office")).extracting(Product::getId).containsExactly("1");
+        assertThat(repository.getGarbageBytes()).isPositive();
+    }
+
+    @Test
+    void deleteById_ShouldRemoveOnlyThatProduct() {
+        // Arrange
+        OffHeapProductRepository repository = new OffHeapProductRepository(List.of(
+                createTestProduct("1", "Laptop", "Electronics"),
+                createTestProduct("2", "Phone", "Electronics")));
+
+        // Act
+        repository.deleteById("1");
+        repository.deleteById("missing");
+
+        // Assert
+        assertThat(repository.findById("1")).isEmpty();
+        assertThat(repository.findAll()).extracting(Product::getId).containsExactly("2");
+        assertThat(repository.size()).isEqualTo(1);
+    }
+
+    @Test
+    void saveAll_WithManyProducts_ShouldGrowIndexAndSpanSlabs() {
+        // Arrange
+        OffHeapProductRepository repository = new OffHeapProductRepository(List.of(), 4096);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            products.add(createTestProduct("id-" + i, "Product " + i, "Category " + (i % 10)));
+        }
+
+        // Act
+        repository.saveAll(products);
+
+        // Assert
+        assertThat(repository.size()).isEqualTo(5_000);
+        assertThat(repository.getOffHeapBytes()).isGreaterThan(4096L * 100);
+        assertThat(repository.findById("id-0")).map(Product::getName).contains("Product 0");
+        assertThat(repository.findById("id-4999")).map(Product::getName).contains("Product 4999");
+        assertThat(repository.findByCategory("Category 3")).hasSize(500);
+    }
+
+    @Test
+    void save_WithRecordLargerThanSlab_ShouldStoreItInOwnSlab() {
+        // Arrange
+        OffHeapProductRepository repository = new OffHeapProductRepository(List.of(), 256);
+        Product product = createTestProduct("1", "Laptop", "Electronics");
+        product.setDescription("x".repeat(1000));
+
+        // Act
+        repository.save(product);
+        repository.save(createTestProduct("2", "Phone", "Electronics"));
+
+        // Assert
+        assertThat(repository.findById("1")).map(Product::getDescription).contains("x".repeat(1000));
+        assertThat(repository.findById("2")).map(Product::getName).contains("Phone");
+    }
+
+    @Test
+    void save_WhenGarbageOutweighsLiveRecords_ShouldCompact() {
+        // Arrange
+        OffHeapProductRepository repository = new OffHeapProductRepository(List.of(), 64 << 10);
+        for (int i = 0; i < 100; i++) {
+            repository.save(createTestProduct("id-" + i, "Product " + i, "Electronics"));
+        }
+
+        // Act
+        for (int round = 0; round < 1_000; round++) {
+            for (int i = 0; i < 10; i++) {
+                repository.save(createTestProduct("id-" + i, "Product " + i + " v" + round, "Office"));
+            }
+            repository.deleteById("id-" + (10 + round % 90));
+            repository.save(createTestProduct("id-" + (10 + round % 90), "Restored", "Electronics"));
+        }
+
+        // Assert
+        assertThat(repository.getGarbageBytes()).isLessThan(1 << 20);
+        assertThat(repository.getOffHeapBytes()).isLessThan(1_500_000);
+        assertThat(repository.size()).isEqualTo(100);
+        assertThat(repository.findById("id-3")).map(Product::getName).contains("Product 3 v999");
+        assertThat(repository.findByCategory("Office")).hasSize(10);
+        assertThat(repository.findAll()).hasSize(100);
+    }
+
+    private Product createTestProduct(String id, String name, String... categories) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description("Test Description")
+                .sku("TEST-SKU-" + name)
+                .price(Money.parse("99.90"))
+                .quantityInStock(10)
+                .categories(new HashSet<>(Arrays.asList(categories)))
+                .status(Product.ProductStatus.ACTIVE)
+                .createdBy("tester")
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentProductMapTest {
+
+    @Test
+    void putAndRemove_WithRandomOperations_ShouldMatchHashMap() {
+        // Arrange
+        Random random = new Random(7);
+        Map<String, Product> expected = new HashMap<>();
+        PersistentProductMap map = PersistentProductMap.EMPTY;
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            String id = "product-" + random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                expected.remove(id);
+                map = map.remove(id);
+            } else {
+                Product product = product(id, "Product " + i);
+                expected.put(id, product);
+                map = map.put(product);
+            }
+        }
+
+        // Assert
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (int i = 0; i < 5_000; i++) {
+            String id = "product-" + i;
+            assertThat(map.get(id)).isSameAs(expected.get(id));
+        }
+        List<Product> visited = new ArrayList<>();
+        map.forEach(visited::add);
+        assertThat(visited).containsExactlyInAnyOrderElementsOf(expected.values());
+    }
+
+    @Test
+    void put_ShouldLeavePreviousVersionUnchanged() {
+        // Arrange
+        PersistentProductMap before = PersistentProductMap.EMPTY.put(product("1", "Old"));
+
+        // Act
+        PersistentProductMap after = before.put(product("1", "New")).put(product("2", "Added")).remove("1");
+
+        // Assert
+        assertThat(before.size()).isEqualTo(1);
+        assertThat(before.get("1").getName()).isEqualTo("Old");
+        assertThat(before.get("2")).isNull();
+        assertThat(after.size()).isEqualTo(1);
+        assertThat(after.get("1")).isNull();
+        assertThat(after.get("2").getName()).isEqualTo("Added");
+    }
+
+    @Test
+    void putAndRemove_WithCollidingHashes_ShouldKeepEntriesApart() {
+        // Arrange - "Aa" and "BB" have the same String hash code
+        PersistentProductMap map = PersistentProductMap.EMPTY
+                .put(product("Aa", "First"))
+                .put(product("BB", "Second"))
+                .put(product("AaAa", "Third"));
+
+        // Act
+        PersistentProductMap removed = map.remove("Aa");
+
+        // Assert
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get("Aa").getName()).isEqualTo("First");
+        assertThat(map.get("BB").getName()).isEqualTo("Second");
+        assertThat(removed.size()).isEqualTo(2);
+        assertThat(removed.get("Aa")).isNull();
+        assertThat(removed.get("BB").getName()).isEqualTo("Second");
+        assertThat(removed.remove("BB").remove("AaAa").size()).isZero();
+    }
+
+    @Test
+    void remove_WithAbsentId_ShouldReturnSameMap() {
+        // Arrange
+        PersistentProductMap map = PersistentProductMap.EMPTY.put(product("1", "Product"));
+
+        // Act & Assert
+        assertThat(map.remove("missing")).isSameAs(map);
+    }
+
+    private static Product product(String id, String name) {
+        return Product.builder().id(id).name(name).build();
+    }
+}
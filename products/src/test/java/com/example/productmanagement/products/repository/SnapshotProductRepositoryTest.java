@@ -0,0 +1,122 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotProductRepositoryTest {
+
+    private SnapshotProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SnapshotProductRepository(List.of(
+                createTestProduct("1", "Laptop", "Electronics"),
+                createTestProduct("2", "Novel", "Books")));
+    }
+
+    @Test
+    void save_ShouldPublishNewVersionAndKeepOldVersionIntact() {
+        // Arrange
+        CatalogVersion before = repository.currentVersion();
+
+        // Act
+        Product saved = repository.save(createTestProduct(null, "Phone", "Electronics"));
+
+        // Assert
+        assertThat(saved.getId()).isNotNull();
+        assertThat(repository.catalogVersion()).hasValue(before.getNumber() + 1);
+        assertThat(repository.findById(saved.getId())).contains(saved);
+        assertThat(before.get(saved.getId())).isNull();
+        assertThat(before.all()).hasSize(2);
+        assertThat(before.inCategory("Electronics")).extracting(Product::getId).containsExactly("1");
+        assertThat(repository.findByCategory("Electronics")).hasSize(2);
+    }
+
+    @Test
+    void save_ShouldStoreCopyOfProduct() {
+        // Arrange
+        Product product = createTestProduct(null, "Phone", "Electronics");
+
+        // Act
+        Product saved = repository.save(product);
+        product.setName("Changed");
+        product.getCategories().add("Books");
+
+        // Assert
+        assertThat(product.getId()).isNull();
+        assertThat(product.getUpdatedAt()).isNull();
+        assertThat(saved.getUpdatedAt()).isNotNull();
+        assertThat(repository.findById(saved.getId())).hasValueSatisfying(stored -> {
+            assertThat(stored.getName()).isEqualTo("Phone");
+            assertThat(stored.getCategories()).containsExactly("Electronics");
+        });
+        assertThat(repository.findByCategory("Books")).extracting(Product::getId).containsExactly("2");
+    }
+
+    @Test
+    void saveAll_ShouldPublishBatchAsOneVersion() {
+        // Arrange
+        long before = repository.currentVersion().getNumber();
+
+        // Act
+        repository.saveAll(List.of(
+                createTestProduct("3", "Lamp", "Home"),
+                createTestProduct("4", "Chair", "Home")));
+
+        // Assert
+        assertThat(repository.currentVersion().getNumber()).isEqualTo(before + 1);
+        assertThat(repository.findByCategory("Home")).extracting(Product::getId).containsExactlyInAnyOrder("3", "4");
+    }
+
+    @Test
+    void findAllById_ShouldReturnFoundProductsInRequestOrderOnce() {
+        // Act
+        List<Product> products = repository.findAllById(List.of("2", "missing", "1", "2"));
+
+        // Assert
+        assertThat(products).extracting(Product::getId).containsExactly("2", "1");
+    }
+
+    @Test
+    void findAll_WithoutChanges_ShouldReturnSameUnmodifiableList() {
+        // Act
+        List<Product> first = repository.findAll();
+        List<Product> second = repository.findAll();
+
+        // Assert
+        assertThat(second).isSameAs(first).hasSize(2);
+        assertThatThrownBy(() -> first.add(createTestProduct("5", "Extra")))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void deleteById_ShouldRemoveProductFromNewVersionOnly() {
+        // Arrange
+        CatalogVersion before = repository.currentVersion();
+
+        // Act
+        repository.deleteById("1");
+        repository.deleteById("missing");
+
+        // Assert
+        assertThat(repository.findById("1")).isEmpty();
+        assertThat(repository.findByCategory("Electronics")).isEmpty();
+        assertThat(repository.currentVersion().getNumber()).isEqualTo(before.getNumber() + 1);
+        assertThat(before.get("1")).isNotNull();
+    }
+
+    private Product createTestProduct(String id, String name, String... categories) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .categories(new HashSet<>(Arrays.asList(categories)))
+                .status(Product.ProductStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.productmanagement.products.repository;
+
+import com.example.productmanagement.products.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TieredProductRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TieredProductRepository repository;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void constructor_ShouldPlaceDiscontinuedProductsInColdTier() {
+        // Act
+        repository = create(Duration.ZERO, Duration.ofHours(1));
+
+        // Assert
+        assertThat(repository.getHotSize()).isEqualTo(2);
+        assertThat(repository.getColdSize()).isEqualTo(1);
+        assertThat(repository.findAll()).extracting(Product::getId).containsExactlyInAnyOrder("1", "2", "3");
+        assertThat(repository.findByCategory("Office")).extracting(Product::getId).containsExactlyInAnyOrder("1", "3");
+    }
+
+    @Test
+    void findById_WithColdProduct_ShouldPromoteIt() {
+        // Arrange
+        repository = create(Duration.ofHours(1), Duration.ofHours(1));
+
+        // Act
+        Optional<Product> found = repository.findById("3");
+
+        // Assert
+        assertThat(found).map(Product::getName).contains("Typewriter");
+        assertThat(repository.getColdSize()).isZero();
+        assertThat(repository.getHotSize()).isEqualTo(3);
+        assertThat(repository.getPromotions()).isEqualTo(1);
+        assertThat(repository.findById("missing")).isEmpty();
+    }
+
+    @Test
+    void demote_ShouldMoveIdleDiscontinuedProductsOnly() {
+        // Arrange
+        repository = create(Duration.ZERO, Duration.ofHours(1));
+        repository.findById("3");
+        repository.save(product("4", "Fax", Product.ProductStatus.DISCONTINUED, "Office"));
+
+        // Act
+        int demoted = repository.demote();
+
+        // Assert
+        assertThat(demoted).isEqualTo(2);
+        assertThat(repository.getColdSize()).isEqualTo(2);
+        assertThat(repository.getHotSize()).isEqualTo(2);
+        assertThat(repository.findById("4")).map(Product::getName).contains("Fax");
+    }
+
+    @Test
+    void demote_WithIdleActiveProducts_ShouldMoveThemAfterIdleTime() {
+        // Arrange
+        repository = create(Duration.ZERO, Duration.ZERO);
+
+        // Act
+        repository.demote();
+
+        // Assert
+        assertThat(repository.getHotSize()).isZero();
+        assertThat(repository.getColdSize()).isEqualTo(3);
+        assertThat(repository.getDemotions()).isEqualTo(2);
+    }
+
+    @Test
+    void saveAndDelete_ShouldReplaceOrRemoveColdCopies() {
+        // Arrange
+        repository = create(Duration.ofHours(1), Duration.ofHours(1));
+
+        // Act
+        repository.save(product("3", "Restored Typewriter", Product.ProductStatus.ACTIVE, "Office"));
+        repository.deleteById("1");
+
+        // Assert
+        assertThat(repository.getColdSize()).isZero();
+        assertThat(repository.findById("3")).map(Product::getName).contains("Restored Typewriter");
+        assertThat(repository.findById("1")).isEmpty();
+        assertThat(repository.findAll()).hasSize(2);
+    }
+
+    @Test
+    void findByCategory_WithColdProductsOfOtherCategories_ShouldFindOnlyTheCategory() {
+        // Arrange
+        repository = create(Duration.ZERO, Duration.ZERO);
+        repository.demote();
+        repository.save(product("1", "Stapler", Product.ProductStatus.ACTIVE, "Stationery"));
+
+        // Act
+        List<Product> office = repository.findByCategory("Office");
+        List<Product> electronics = repository.findByCategory("Electronics");
+
+        // Assert
+        assertThat(office).extracting(Product::getId).containsExactly("3");
+        assertThat(electronics).extracting(Product::getId).containsExactly("2");
+        assertThat(repository.getColdSize()).isEqualTo(2);
+    }
+
+    @Test
+    void findAll_WhileProductsMoveBetweenTiers_ShouldFindEveryProduct() throws InterruptedException {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            products.add(product(Integer.toString(i), "Product " + i, Product.ProductStatus.ACTIVE, "Office"));
+        }
+        repository = new TieredProductRepository(products, tempDir.resolve("cold.bin"), Duration.ZERO, Duration.ZERO);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread mover = new Thread(() -> {
+            while (running.get()) {
+                repository.demote();
+                products.forEach(product -> repository.findById(product.getId()));
+            }
+        });
+        mover.start();
+
+        // Act
+        List<Integer> sizes = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                sizes.add(repository.findAll().size());
+                sizes.add(repository.findByCategory("Office").size());
+            }
+        } finally {
+            running.set(false);
+            mover.join();
+        }
+
+        // Assert
+        assertThat(repository.getPromotions()).isPositive();
+        assertThat(sizes).containsOnly(500);
+    }
+
+    private TieredProductRepository create(Duration discontinuedIdle, Duration idle) {
+        return new TieredProductRepository(List.of(
+                product("1", "Stapler", Product.ProductStatus.ACTIVE, "Office"),
+                product("2", "Laptop", Product.ProductStatus.ACTIVE, "Electronics"),
+                product("3", "Typewriter", Product.ProductStatus.DISCONTINUED, "Office")),
+                tempDir.resolve("cold.bin"), discontinuedIdle, idle);
+    }
+
+    private static Product product(String id, String name, Product.ProductStatus status, String category) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .status(status)
+                .categories(new HashSet<>(Set.of(category)))
+                .build();
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.productmanagement.products.service;
 
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.access.AccessSampler;
+import com.example.productmanagement.products.access.HeavyHitter;
+import com.example.productmanagement.products.access.HotSet;
 import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.model.ProductChanges;
+import com.example.productmanagement.products.model.ProductPatch;
 import com.example.productmanagement.products.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -29,6 +37,11 @@ class ProductServiceTest {
         productService = new ProductService(productRepository);
     }
 
+    @AfterEach
+    void tearDown() throws Exception {
+        productService.close();
+    }
+
     @Test
     void getAllProducts_ShouldReturnAllProducts() {
         // Arrange
@@ -76,6 +89,30 @@ class ProductServiceTest {
         verify(productRepository).findById(id);
     }
 
+    @Test
+    void getProductsByIds_ShouldIgnoreBlankIdsAndCallRepositoryOnce() {
+        // Arrange
+        Product product = createTestProduct("1", "Product 1");
+        when(productRepository.findAllById(List.of("1", "2"))).thenReturn(List.of(product));
+
+        // Act
+        List<Product> result = productService.getProductsByIds(Arrays.asList("1", " ", null, " 2"));
+
+        // Assert
+        assertThat(result).containsExactly(product);
+        verify(productRepository).findAllById(List.of("1", "2"));
+    }
+
+    @Test
+    void getProductsByIds_WithOnlyBlankIds_ShouldNotCallRepository() {
+        // Act
+        List<Product> result = productService.getProductsByIds(List.of("", " "));
+
+        // Assert
+        assertThat(result).isEmpty();
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     void createProduct_ShouldSaveProductWithNewId() {
         // Arrange
@@ -139,6 +176,48 @@ class ProductServiceTest {
         verify(productRepository, never()).save(any());
     }
 
+    @Test
+    void patchProduct_WithExistingId_ShouldChangeOnlySuppliedFields() {
+        // Arrange
+        String id = "existing-id";
+        Product existingProduct = createTestProduct(id, "Old Name");
+        ProductPatch patch = ProductPatch.builder()
+                .price(Money.parse("49.99"))
+                .status(Product.ProductStatus.DISCONTINUED)
+                .build();
+        
+        when(productRepository.findById(id)).thenReturn(Optional.of(existingProduct));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Optional<Product> result = productService.patchProduct(id, patch);
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(id);
+        assertThat(result.get().getName()).isEqualTo("Old Name");
+        assertThat(result.get().getDescription()).isEqualTo(existingProduct.getDescription());
+        assertThat(result.get().getCategories()).isEqualTo(existingProduct.getCategories());
+        assertThat(result.get().getPrice()).isEqualTo(Money.parse("49.99"));
+        assertThat(result.get().getStatus()).isEqualTo(Product.ProductStatus.DISCONTINUED);
+        // The stored instance is replaced, not modified in place
+        assertThat(existingProduct.getStatus()).isEqualTo(Product.ProductStatus.ACTIVE);
+    }
+
+    @Test
+    void patchProduct_WithNonExistingId_ShouldReturnEmpty() {
+        // Arrange
+        String id = "non-existing-id";
+        when(productRepository.findById(id)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<Product> result = productService.patchProduct(id, ProductPatch.builder().name("New").build());
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(productRepository, never()).save(any());
+    }
+
     @Test
     void deleteProduct_WithExistingId_ShouldDeleteAndReturnTrue() {
         // Arrange
@@ -190,6 +269,162 @@ class ProductServiceTest {
         verify(productRepository).findByCategory(category);
     }
 
+    @Test
+    void exportSnapshot_WithUnchangedCatalogVersion_ShouldReuseEncodedSnapshot() throws Exception {
+        // Arrange
+        when(productRepository.catalogVersion()).thenReturn(OptionalLong.of(3));
+        when(productRepository.findAll()).thenReturn(List.of(createTestProduct("1", "Product 1")));
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        // Act
+        productService.exportSnapshot(first);
+        productService.exportSnapshot(second);
+
+        // Assert
+        assertThat(second.toByteArray()).isEqualTo(first.toByteArray()).isNotEmpty();
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    void exportSnapshot_WithChangedCatalogVersion_ShouldEncodeAgain() throws Exception {
+        // Arrange
+        when(productRepository.catalogVersion()).thenReturn(OptionalLong.of(3), OptionalLong.of(4));
+        when(productRepository.findAll())
+                .thenReturn(List.of(createTestProduct("1", "Product 1")))
+                .thenReturn(List.of(createTestProduct("1", "Product 1"), createTestProduct("2", "Product 2")));
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        // Act
+        productService.exportSnapshot(first);
+        productService.exportSnapshot(second);
+
+        // Assert
+        assertThat(second.size()).isGreaterThan(first.size());
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    void exportSnapshot_WithChangedCatalogVersion_ShouldReplaceSnapshotFile() throws Exception {
+        // Arrange
+        when(productRepository.catalogVersion()).thenReturn(OptionalLong.of(3), OptionalLong.of(4));
+        when(productRepository.findAll()).thenReturn(List.of(createTestProduct("1", "Product 1")));
+        productService.exportSnapshot(new ByteArrayOutputStream());
+        Path first = productService.encodedSnapshot(3);
+
+        // Act
+        productService.exportSnapshot(new ByteArrayOutputStream());
+
+        // Assert
+        Path second = productService.encodedSnapshot(4);
+        assertThat(first).doesNotExist();
+        assertThat(second).isNotEqualTo(first).isNotEmptyFile();
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    void exportSnapshot_WithOlderCatalogVersion_ShouldKeepNewerSnapshot() throws Exception {
+        // Arrange
+        when(productRepository.catalogVersion()).thenReturn(OptionalLong.of(4), OptionalLong.of(3));
+        when(productRepository.findAll()).thenReturn(List.of(createTestProduct("1", "Product 1")));
+        ByteArrayOutputStream newer = new ByteArrayOutputStream();
+        ByteArrayOutputStream older = new ByteArrayOutputStream();
+        productService.exportSnapshot(newer);
+        Path file = productService.encodedSnapshot(4);
+
+        // Act
+        productService.exportSnapshot(older);
+
+        // Assert
+        assertThat(older.toByteArray()).isEqualTo(newer.toByteArray());
+        assertThat(file).isNotEmptyFile();
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    void close_ShouldDeleteSnapshotFile() throws Exception {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(createTestProduct("1", "Product 1")));
+        Path file = productService.encodedSnapshot(3);
+
+        // Act
+        productService.close();
+
+        // Assert
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void getProductById_WithAccessSampler_ShouldRecordHotProducts() {
+        // Arrange
+        ProductService sampledService = new ProductService(productRepository, new AccessSampler(1.0, 10));
+        when(productRepository.findById("1")).thenReturn(Optional.of(createTestProduct("1", "Product 1")));
+        when(productRepository.findById("2")).thenReturn(Optional.of(createTestProduct("2", "Product 2")));
+        when(productRepository.findByCategory("Books")).thenReturn(List.of(createTestProduct("1", "Product 1")));
+
+        // Act
+        sampledService.getProductById("1");
+        sampledService.getProductById("2");
+        sampledService.getProductById("2");
+        sampledService.getProductsByCategory("Books");
+        HotSet hotSet = sampledService.getHotSet();
+
+        // Assert
+        assertThat(hotSet.getProducts()).containsExactly(new HeavyHitter("2", 2), new HeavyHitter("1", 1));
+        assertThat(hotSet.getCategories()).containsExactly(new HeavyHitter("Books", 1));
+        assertThat(productService.getHotSet()).isEqualTo(HotSet.EMPTY);
+    }
+
+    @Test
+    void getProductsByIds_WithAccessSampler_ShouldRecordOnlyProductsFound() {
+        // Arrange
+        ProductService sampledService = new ProductService(productRepository, new AccessSampler(1.0, 10));
+        when(productRepository.findAllById(List.of("1", "x\nproduct\t9\tinjected")))
+                .thenReturn(List.of(createTestProduct("1", "Product 1")));
+        when(productRepository.findById("missing")).thenReturn(Optional.empty());
+        when(productRepository.findByCategory("Nothing")).thenReturn(List.of());
+
+        // Act
+        sampledService.getProductsByIds(List.of("1", "x\nproduct\t9\tinjected"));
+        sampledService.getProductById("missing");
+        sampledService.getProductsByCategory("Nothing");
+        HotSet hotSet = sampledService.getHotSet();
+
+        // Assert
+        assertThat(hotSet.getProducts()).containsExactly(new HeavyHitter("1", 1));
+        assertThat(hotSet.getCategories()).isEmpty();
+    }
+
+    @Test
+    void warmUp_ShouldReadHotProductsAndCategories() {
+        // Arrange
+        HotSet hotSet = new HotSet(List.of(new HeavyHitter("1", 5), new HeavyHitter("missing", 3)),
+                List.of(new HeavyHitter("Books", 2)));
+        when(productRepository.findAllById(List.of("1", "missing")))
+                .thenReturn(List.of(createTestProduct("1", "Product 1")));
+
+        // Act
+        int found = productService.warmUp(hotSet);
+
+        // Assert
+        assertThat(found).isEqualTo(1);
+        verify(productRepository).findByCategory("Books");
+    }
+
+    @Test
+    void getChangesSince_ShouldReturnRepositoryChanges() {
+        // Arrange
+        ProductChanges changes = new ProductChanges(List.of(createTestProduct("1", "Product 1")), List.of(), "e-2", false);
+        when(productRepository.findChangesSince("e-1", 100)).thenReturn(Optional.of(changes));
+
+        // Act
+        Optional<ProductChanges> result = productService.getChangesSince("e-1", 100);
+
+        // Assert
+        assertThat(result).contains(changes);
+    }
+
     private Product createTestProduct(String id, String name) {
         Set<String> categories = new HashSet<>();
         categories.add("Electronics");
@@ -199,7 +434,7 @@ class ProductServiceTest {
                 .name(name)
                 .description("Test Description")
                 .sku("TEST-SKU-" + (id != null ? id : "new"))
-                .price(new BigDecimal("99.99"))
+                .price(Money.parse("99.99"))
                 .quantityInStock(10)
                 .categories(categories)
                 .status(Product.ProductStatus.ACTIVE)
@@ -0,0 +1,113 @@
+package com.example.productmanagement.products.snapshot;
+
+import com.example.productmanagement.common.model.Money;
+import com.example.productmanagement.products.model.Product;
+import com.example.productmanagement.products.repository.MockProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeAndRead_WithManyBlocks_ShouldRoundTripAllProducts() throws IOException {
+        // Arrange
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ProductSnapshot.BLOCK_SIZE * 3 + 17; i++) {
+            products.add(createTestProduct("id-" + i, "Product " + i));
+        }
+        Path file = tempDir.resolve("products.snapshot");
+
+        // Act
+        ProductSnapshot.write(products, file);
+        List<Product> restored = ProductSnapshot.read(file);
+
+        // Assert
+        assertThat(restored).containsExactlyElementsOf(products);
+    }
+
+    @Test
+    void writeAndRead_WithNullFields_ShouldPreserveNulls() throws IOException {
+        // Arrange
+        Product product = new Product();
+        product.setId("sparse");
+        Path file = tempDir.resolve("sparse.snapshot");
+
+        // Act
+        ProductSnapshot.write(List.of(product), file);
+        List<Product> restored = ProductSnapshot.read(file);
+
+        // Assert
+        assertThat(restored).containsExactly(product);
+    }
+
+    @Test
+    void writeAndRead_WithEmptyCatalog_ShouldReturnEmptyList() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("empty.snapshot");
+
+        // Act
+        ProductSnapshot.write(List.of(), file);
+
+        // Assert
+        assertThat(ProductSnapshot.read(file)).isEmpty();
+    }
+
+    @Test
+    void restoredProducts_ShouldPopulateRepository() throws IOException {
+        // Arrange
+        MockProductRepository source = new MockProductRepository();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProductSnapshot.write(source.findAll(), out);
+        Path file = Files.write(tempDir.resolve("mock.snapshot"), out.toByteArray());
+
+        // Act
+        MockProductRepository restored = new MockProductRepository(ProductSnapshot.read(file));
+
+        // Assert
+        assertThat(restored.findAll()).containsExactlyInAnyOrderElementsOf(source.findAll());
+    }
+
+    @Test
+    void read_WithInvalidFile_ShouldThrow() throws IOException {
+        // Arrange
+        Path file = Files.write(tempDir.resolve("garbage.snapshot"), new byte[64]);
+
+        // Act & Assert
+        assertThatThrownBy(() -> ProductSnapshot.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a product snapshot");
+    }
+
+    private Product createTestProduct(String id, String name) {
+        Set<String> categories = new HashSet<>();
+        categories.add("Electronics");
+        categories.add("Ünïcode ✓");
+
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description("Test Description")
+                .sku("TEST-SKU-" + id)
+                .price(Money.parse("99.90"))
+                .quantityInStock(10)
+                .categories(categories)
+                .status(Product.ProductStatus.ACTIVE)
+                .createdAt(LocalDateTime.now().minusDays(1))
+                .updatedAt(LocalDateTime.now())
+                .createdBy("tester")
+                .build();
+    }
+}